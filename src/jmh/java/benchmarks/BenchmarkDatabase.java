@@ -0,0 +1,196 @@
+package benchmarks;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Embedded H2 database (MySQL mode) holding a synthetic dataset of the
+ * requested size. The database file lives under target/jmh-db/ and is
+ * reused by later forks and runs with the same parameters, so the
+ * (slow) seeding happens once per dataset size.
+ *
+ * Override the size with e.g. {@code -p employees=10000 -p payrollRows=500000}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    @Param("100000")
+    public int employees;
+
+    @Param("5000000")
+    public int payrollRows;
+
+    /** Payroll runs back from here, so every seeded month is closed. */
+    static final LocalDate LAST_PAY_DATE = LocalDate.of(2024, 12, 27);
+
+    static final String[] FIRST = {
+        "John", "Emily", "Carlos", "Aisha", "Michael", "Sofia", "David", "Priya",
+        "James", "Olivia", "Wei", "Fatima", "Daniel", "Grace", "Mateo", "Hannah"
+    };
+    static final String[] LAST = {
+        "Smith", "Johnson", "Martinez", "Ali", "Brown", "Garcia", "Lee", "Patel",
+        "Wilson", "Davis", "Chen", "Khan", "Taylor", "Nguyen", "Lopez", "Anderson"
+    };
+    private static final int STATES = 5, CITIES = 5, DIVISIONS = 5, JOB_TITLES = 8;
+    private static final int BATCH = 10_000;
+
+    @Setup(Level.Trial)
+    public void open() throws Throwable {
+        String file = new File("target/jmh-db/employees-" + employees + "-" + payrollRows)
+            .getAbsolutePath();
+        // Must be set before anything touches Database
+        System.setProperty("DB_URL", "jdbc:h2:file:" + file
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+        System.setProperty("DB_USER", "sa");
+        System.setProperty("DB_PASS", "");
+        // getEmployee times the query, not EmployeeCache, unless asked for
+        // with -jvmArgsAppend -DEMPLOYEE_CACHE_SIZE=...
+        if (System.getProperty("EMPLOYEE_CACHE_SIZE") == null) {
+            System.setProperty("EMPLOYEE_CACHE_SIZE", "0");
+        }
+
+        long start = System.nanoTime();
+        try (Connection conn = (Connection) Dao.GET_CONNECTION.invokeExact()) {
+            if (isSeeded(conn)) {
+                // An existing file may predate newer migrations
+                if ((List<?>) Dao.MIGRATE.invokeExact() == null) {
+                    throw new IllegalStateException("Benchmark schema migration failed");
+                }
+                return;
+            }
+            System.out.println("Seeding " + employees + " employees / " + payrollRows
+                               + " payroll rows into " + file + " ...");
+            try (Statement st = conn.createStatement()) {
+                st.execute("DROP ALL OBJECTS");
+            }
+            Dao.RUN_SCRIPT.invokeExact(conn, "/db/schema.sql");
+            seed(conn);
+        }
+        List<?> applied = (List<?>) Dao.MIGRATE.invokeExact();
+        int groups = (int) Dao.REBUILD_ROLLUP.invokeExact();
+        if (applied == null || groups < 0) throw new IllegalStateException("Benchmark schema setup failed");
+        System.out.printf("Seeded in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Throwable {
+        System.out.print((String) Dao.STATEMENT_REPORT.invokeExact());
+        Dao.SHUTDOWN.invokeExact();
+    }
+
+    /** A random existing empid. */
+    int randomEmpId(Random rnd) {
+        return 1 + rnd.nextInt(employees);
+    }
+
+    private boolean isSeeded(Connection conn) {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(
+                 "SELECT (SELECT COUNT(*) FROM employees), (SELECT COUNT(*) FROM payroll), " +
+                 "(SELECT COUNT(*) FROM schema_migrations)")) {
+            return rs.next() && rs.getInt(1) == employees && rs.getInt(2) == payrollRows
+                && rs.getInt(3) > 0;
+        } catch (SQLException e) {
+            return false;  // no schema yet
+        }
+    }
+
+    private void seed(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        Random rnd = new Random(42);
+        try (Statement st = conn.createStatement()) {
+            for (int i = 1; i <= STATES; i++)
+                st.addBatch("INSERT INTO state VALUES (" + i + ", 'State " + i + "')");
+            for (int i = 1; i <= CITIES; i++)
+                st.addBatch("INSERT INTO city VALUES (" + i + ", 'City " + i + "')");
+            for (int i = 1; i <= DIVISIONS; i++)
+                st.addBatch("INSERT INTO division VALUES (" + i + ", 'Division " + i + "')");
+            for (int i = 1; i <= JOB_TITLES; i++)
+                st.addBatch("INSERT INTO job_titles VALUES (" + i + ", 'Job Title " + i + "')");
+            st.executeBatch();
+        }
+
+        try (PreparedStatement emp = conn.prepareStatement(
+                 "INSERT INTO employees (empid,Fname,Lname,email,phone_number,gender,race," +
+                 "SSN,DOB,HireDate,Salary) VALUES (?,?,?,?,?,?,?,?,?,?,?)");
+             PreparedStatement addr = conn.prepareStatement(
+                 "INSERT INTO address (empid,street,city_id,state_id,zip) VALUES (?,?,?,?,?)");
+             PreparedStatement job = conn.prepareStatement(
+                 "INSERT INTO employee_job_titles (empid,job_title_id) VALUES (?,?)");
+             PreparedStatement div = conn.prepareStatement(
+                 "INSERT INTO employee_division (empid,div_ID) VALUES (?,?)")) {
+            for (int id = 1; id <= employees; id++) {
+                String fn = FIRST[rnd.nextInt(FIRST.length)];
+                String ln = LAST[rnd.nextInt(LAST.length)];
+                emp.setInt(1, id);
+                emp.setString(2, fn);
+                emp.setString(3, ln);
+                emp.setString(4, fn.toLowerCase() + "." + ln.toLowerCase() + id + "@example.com");
+                emp.setString(5, String.format("555-%03d-%04d", id / 10_000 % 1000, id % 10_000));
+                emp.setString(6, rnd.nextBoolean() ? "M" : "F");
+                emp.setString(7, "Other");
+                emp.setString(8, String.format("%03d-%02d-%04d", id / 1_000_000 % 1000,
+                                               id / 10_000 % 100, id % 10_000));
+                emp.setDate(9, Date.valueOf(LocalDate.of(1960, 1, 1).plusDays(rnd.nextInt(15_000))));
+                emp.setDate(10, Date.valueOf(LocalDate.of(2000, 1, 1).plusDays(rnd.nextInt(8_000))));
+                emp.setDouble(11, 40_000 + rnd.nextInt(120_000));
+                emp.addBatch();
+                addr.setInt(1, id);
+                addr.setString(2, id + " Main St");
+                addr.setInt(3, 1 + rnd.nextInt(CITIES));
+                addr.setInt(4, 1 + rnd.nextInt(STATES));
+                addr.setString(5, String.format("%05d", id % 100_000));
+                addr.addBatch();
+                job.setInt(1, id);
+                job.setInt(2, 1 + rnd.nextInt(JOB_TITLES));
+                job.addBatch();
+                div.setInt(1, id);
+                div.setInt(2, 1 + rnd.nextInt(DIVISIONS));
+                div.addBatch();
+                if (id % BATCH == 0 || id == employees) {
+                    emp.executeBatch();
+                    addr.executeBatch();
+                    job.executeBatch();
+                    div.executeBatch();
+                    conn.commit();
+                }
+            }
+        }
+
+        // Spread payroll evenly: the first (payrollRows % employees) employees get one extra
+        try (PreparedStatement pay = conn.prepareStatement(
+                 "INSERT INTO payroll (empid,pay_date,earnings) VALUES (?,?,?)")) {
+            int perEmp = payrollRows / employees, extra = payrollRows % employees, pending = 0;
+            for (int id = 1; id <= employees; id++) {
+                int n = perEmp + (id <= extra ? 1 : 0);
+                for (int k = 0; k < n; k++) {
+                    pay.setInt(1, id);
+                    pay.setDate(2, Date.valueOf(LAST_PAY_DATE.minusWeeks(2L * k)));
+                    pay.setDouble(3, 1_500 + rnd.nextInt(5_000));
+                    pay.addBatch();
+                    if (++pending == BATCH) {
+                        pay.executeBatch();
+                        conn.commit();
+                        pending = 0;
+                    }
+                }
+            }
+            pay.executeBatch();
+            conn.commit();
+        }
+        conn.setAutoCommit(true);
+    }
+}
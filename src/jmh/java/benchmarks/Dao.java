@@ -0,0 +1,75 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import model.Employee;
+
+/**
+ * Handles on the application classes, which live in the unnamed package and
+ * so cannot be imported from here (JMH needs benchmarks in a named package).
+ * The handles are static final and called with invokeExact, so the JIT
+ * inlines them like a direct call.
+ */
+final class Dao {
+    static final MethodHandle GET_EMPLOYEE =
+        find("EmployeeDAO", "getEmployee", Employee.class, int.class);
+    static final MethodHandle SEARCH_BY_NAME =
+        find("EmployeeDAO", "searchByName", List.class, String.class);
+    static final MethodHandle PAY_HISTORY =
+        find("EmployeeDAO", "getPayStatementHistory", List.class, int.class);
+    static final MethodHandle TOTAL_BY_JOB_TITLE =
+        find("EmployeeDAO", "getTotalPayByJobTitle", Map.class, int.class, int.class);
+    static final MethodHandle TOTAL_BY_DIVISION =
+        find("EmployeeDAO", "getTotalPayByDivision", Map.class, int.class, int.class);
+    static final MethodHandle UPDATE_SALARIES =
+        find("EmployeeDAO", "updateSalariesInRange", int.class, double.class, double.class, double.class);
+
+    static final MethodHandle GET_CONNECTION =
+        find("Database", "getConnection", Connection.class);
+    static final MethodHandle SHUTDOWN =
+        find("Database", "shutdown", void.class);
+    static final MethodHandle STATEMENT_REPORT =
+        find("StatementRegistry", "report", String.class);
+    static final MethodHandle RUN_SCRIPT =
+        find("SchemaMigrations", "runScript", void.class, Connection.class, String.class);
+    static final MethodHandle MIGRATE =
+        find("SchemaMigrations", "migrate", List.class);
+    static final MethodHandle REBUILD_ROLLUP =
+        find("PayrollRollup", "rebuildAll", int.class);
+
+    /** EmployeeDAO's private SELECT, so mapping is measured on the real column set. */
+    static String baseQuery() {
+        return daoQuery("BASE_QUERY");
+    }
+
+    /** EmployeeDAO's private list-screen SELECT (EmployeeSummary columns). */
+    static String summaryQuery() {
+        return daoQuery("SUMMARY_QUERY");
+    }
+
+    private static String daoQuery(String field) {
+        try {
+            Class<?> dao = Class.forName("EmployeeDAO");
+            return (String) MethodHandles.privateLookupIn(dao, MethodHandles.lookup())
+                .findStaticGetter(dao, field, String.class)
+                .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("EmployeeDAO." + field + " not found", e);
+        }
+    }
+
+    private static MethodHandle find(String cls, String name, Class<?> ret, Class<?>... params) {
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                Class.forName(cls), name, MethodType.methodType(ret, params));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Dao() {}
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end latency of the EmployeeDAO calls the UIs make, including the
+ * connection pool and JDBC round trip, against {@link BenchmarkDatabase}
+ * (every benchmark takes it as a parameter so the database is set up).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Salary updates are normally paced (SalaryAdjustmentJob); measure them flat out
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-DSALARY_JOB_MAX_ROWS_PER_SEC=0" })
+@State(Scope.Thread)
+public class EmployeeDaoBenchmark {
+    /** Fixed seed so every run asks for the same sequence of employees. */
+    private final Random rnd = new Random(7);
+
+    @Benchmark
+    public Employee getEmployee(BenchmarkDatabase db) throws Throwable {
+        return (Employee) Dao.GET_EMPLOYEE.invokeExact(db.randomEmpId(rnd));
+    }
+
+    /** Matches roughly 1/16 of employees (one last name). */
+    @Benchmark
+    public List<?> searchByName(BenchmarkDatabase db) throws Throwable {
+        return (List) Dao.SEARCH_BY_NAME.invokeExact("Nguyen");
+    }
+
+    /** One employee's full history (payrollRows / employees statements). */
+    @Benchmark
+    public List<?> getPayStatementHistory(BenchmarkDatabase db) throws Throwable {
+        return (List) Dao.PAY_HISTORY.invokeExact(db.randomEmpId(rnd));
+    }
+
+    @Benchmark
+    public Map<?, ?> totalPayByJobTitle(BenchmarkDatabase db) throws Throwable {
+        return (Map) Dao.TOTAL_BY_JOB_TITLE.invokeExact(2024, 6);
+    }
+
+    @Benchmark
+    public Map<?, ?> totalPayByDivision(BenchmarkDatabase db) throws Throwable {
+        return (Map) Dao.TOTAL_BY_DIVISION.invokeExact(2024, 6);
+    }
+
+    /**
+     * A 0% raise over a narrow salary band: the same rows are located and
+     * rewritten every time, but the dataset does not drift between runs.
+     * Includes the job bookkeeping of a chunked SalaryAdjustmentJob.
+     */
+    @Benchmark
+    public int updateSalariesInRange(BenchmarkDatabase db) throws Throwable {
+        return (int) Dao.UPDATE_SALARIES.invokeExact(50_000.0, 50_500.0, 0.0);
+    }
+}
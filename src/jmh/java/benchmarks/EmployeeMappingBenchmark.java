@@ -0,0 +1,95 @@
+package benchmarks;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import model.Employee;
+import model.EmployeeRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of mapping rows alone: EmployeeDAO's BASE_QUERY (and SUMMARY_QUERY)
+ * is run once into a scrollable result (held in memory by embedded H2),
+ * which is then rewound and mapped repeatedly without re-running the query.
+ *
+ * fromResultSet resolves column labels on every row, as the DAO did before
+ * {@link EmployeeRowMapper}; rowMapper resolves them once per pass; summary
+ * maps the narrower list-screen projection. Run with {@code -prof gc} to
+ * compare allocation per row (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class EmployeeMappingBenchmark {
+    static final int ROWS = 1_000;
+
+    private Connection conn;
+    private ResultSet rows;
+    private ResultSet summaryRows;
+
+    @Setup(Level.Trial)
+    public void load(BenchmarkDatabase db) throws Throwable {
+        conn = (Connection) Dao.GET_CONNECTION.invokeExact();
+        Statement st = conn.createStatement(
+            ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        rows = st.executeQuery(Dao.baseQuery() + " ORDER BY e.empid LIMIT " + ROWS);
+        Statement summaries = conn.createStatement(
+            ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        summaryRows = summaries.executeQuery(Dao.summaryQuery() + " ORDER BY e.empid LIMIT " + ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        rows.getStatement().close();
+        summaryRows.getStatement().close();
+        conn.close();
+    }
+
+    /** Reported per row. */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void fromResultSet(Blackhole bh) throws SQLException {
+        rows.beforeFirst();
+        while (rows.next()) {
+            bh.consume(Employee.fromResultSet(rows));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowMapper(Blackhole bh) throws SQLException {
+        rows.beforeFirst();
+        EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rows);
+        while (rows.next()) {
+            bh.consume(mapper.map(rows));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void summary(Blackhole bh) throws SQLException {
+        summaryRows.beforeFirst();
+        EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(summaryRows);
+        while (summaryRows.next()) {
+            bh.consume(mapper.mapSummary(summaryRows));
+        }
+    }
+}
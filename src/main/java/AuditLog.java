@@ -0,0 +1,381 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change log of every employee write made through the DAO: who (the user
+ * last signed in via {@link EmployeeDAO#authenticateUser}), when, which
+ * field, and its value before and after. SSNs are masked to their last
+ * four digits before they are stored.
+ *
+ * Writes only hand an event to a bounded in-memory ring buffer
+ * (AUDIT_BUFFER_SIZE); a background thread drains it and batch-inserts
+ * into audit_log, AUDIT_BATCH_SIZE rows per transaction. Events the
+ * database cannot take are appended to AUDIT_SPILL_FILE instead: those
+ * arriving while the buffer is full, and batches that failed every
+ * attempt. The writer loads the file into audit_log after its next
+ * successful insert, in this run or the next. Events are lost only if the
+ * spill file cannot be written either, which is reported on stderr.
+ * Events still buffered at exit are written by {@link Database#shutdown()}.
+ * AUDIT_ENABLED=false turns it all off.
+ */
+public class AuditLog {
+    private static final boolean ENABLED =
+        !"false".equalsIgnoreCase(Database.getConfig("AUDIT_ENABLED", "true"));
+    private static final int BUFFER_SIZE =
+        (int) Math.max(1, Database.getConfigLong("AUDIT_BUFFER_SIZE", 10_000));
+    private static final int BATCH_SIZE =
+        (int) Math.max(1, Database.getConfigLong("AUDIT_BATCH_SIZE", 500));
+    /** Attempts per batch before its events go to the spill file. */
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final Path SPILL_FILE =
+        Paths.get(Database.getConfig("AUDIT_SPILL_FILE", "logs/audit-spill.tsv"));
+    /** The spill file while its events are being loaded. */
+    private static final Path REPLAY_FILE = Paths.get(SPILL_FILE + ".replay");
+    /** Width of audit_log.old_value / new_value. */
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_log(occurred_at, actor_role, actor_id, action, empid, field, old_value, new_value) " +
+        "VALUES (?,?,?,?,?,?,?,?)";
+    private static final String HISTORY_SQL =
+        "SELECT occurred_at, actor_role, actor_id, action, empid, field, old_value, new_value " +
+        "FROM audit_log WHERE empid = ? ORDER BY occurred_at DESC, audit_id DESC LIMIT ?";
+
+    /** One audited change. */
+    public static final class Event {
+        public final long occurredAt;
+        public final String actorRole;
+        public final int actorId;
+        /** INSERT, UPDATE, DELETE or BULK_SALARY. */
+        public final String action;
+        public final int empId;
+        /** Column name, or null for a whole-row action (DELETE). */
+        public final String field;
+        /** Null if unknown (the caller didn't load the row) or not applicable. */
+        public final String oldValue;
+        public final String newValue;
+
+        Event(long occurredAt, String actorRole, int actorId, String action,
+              int empId, String field, String oldValue, String newValue) {
+            this.occurredAt = occurredAt;
+            this.actorRole  = actorRole;
+            this.actorId    = actorId;
+            this.action     = action;
+            this.empId      = empId;
+            this.field      = field;
+            this.oldValue   = oldValue;
+            this.newValue   = newValue;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%tF %<tT %s#%d %s emp %d%s", occurredAt, actorRole, actorId, action, empId,
+                field == null ? "" : " " + field + ": " + oldValue + " -> " + newValue);
+        }
+    }
+
+    private static final BlockingQueue<Event> BUFFER = new ArrayBlockingQueue<>(BUFFER_SIZE);
+    /** Events handed over so far; compared with {@link #processed} by flush(). */
+    private static final AtomicLong RECORDED = new AtomicLong();
+    private static final Object LOCK = new Object();
+    /** Events written (or spilled) so far. Guarded by LOCK. */
+    private static long processed;
+    private static volatile Thread writer;
+    /** Guards the spill file. */
+    private static final Object SPILL_LOCK = new Object();
+    /** Set while the spill file (or an unfinished replay) may hold events. */
+    private static volatile boolean spilled = Files.exists(SPILL_FILE) || Files.exists(REPLAY_FILE);
+
+    /** Who changes are attributed to. */
+    private static final class Actor {
+        static final Actor SYSTEM = new Actor("system", 0);
+
+        final String role;
+        final int id;
+
+        Actor(String role, int id) {
+            this.role = role;
+            this.id   = id;
+        }
+    }
+
+    /** The user signed in through authenticateUser; SYSTEM before anyone has, or after a failed attempt. */
+    private static volatile Actor actor = Actor.SYSTEM;
+
+    // ── Recording ─────────────────────────────────────────────────────────────
+
+    /** False when AUDIT_ENABLED=false, so callers can skip gathering old values. */
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /** Attribute subsequent changes to this user (e.g. "admin", 0 or "employee", empid). */
+    public static void setActor(String role, int id) {
+        actor = new Actor(role, id);
+    }
+
+    /** Attribute subsequent changes to "system" again, e.g. after a failed sign-in. */
+    public static void clearActor() {
+        actor = Actor.SYSTEM;
+    }
+
+    /** Log a change to one field; {@code oldValue} may be null if not known. */
+    public static void record(String action, int empId, String field, Object oldValue, Object newValue) {
+        if (!ENABLED) return;
+        Actor a = actor;
+        Event e = new Event(System.currentTimeMillis(), a.role, a.id,
+                            action, empId, field, text(field, oldValue), text(field, newValue));
+        startWriter();
+        RECORDED.incrementAndGet();
+        if (!BUFFER.offer(e)) {
+            // Writer is behind: park it on disk rather than wait or lose it
+            spill(List.of(e));
+            done(1);
+        }
+    }
+
+    /** Log a newly inserted employee: their name, SSN and starting salary. */
+    public static void recordInsert(int empId, String fname, String lname, String ssn, double salary) {
+        record("INSERT", empId, "name", null, fname + " " + lname);
+        record("INSERT", empId, "SSN", null, ssn);
+        record("INSERT", empId, "Salary", null, salary);
+    }
+
+    /**
+     * Wait until every event recorded before this call has been written.
+     * @return false if that did not happen within {@code timeoutMs}
+     */
+    public static boolean flush(long timeoutMs) {
+        long target = RECORDED.get();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (LOCK) {
+            while (processed < target) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) return false;
+                try {
+                    LOCK.wait(left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Stored changes to one employee, newest first (recent events may still be buffered). */
+    public static List<Event> history(int empId, int limit) {
+        List<Event> events = new ArrayList<>();
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(HISTORY_SQL)) {
+            ps.setInt(1, empId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    events.add(new Event(rs.getTimestamp("occurred_at").getTime(),
+                        rs.getString("actor_role"), rs.getInt("actor_id"), rs.getString("action"),
+                        rs.getInt("empid"), rs.getString("field"),
+                        rs.getString("old_value"), rs.getString("new_value")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading audit log: " + e.getMessage());
+        }
+        return events;
+    }
+
+    /** Stored form of a value: SSNs masked, long text truncated. */
+    private static String text(String field, Object value) {
+        if (value == null) return null;
+        String s = String.valueOf(value);
+        if ("SSN".equalsIgnoreCase(field)) return maskSsn(s);
+        return s.length() > MAX_VALUE_LENGTH ? s.substring(0, MAX_VALUE_LENGTH) : s;
+    }
+
+    /** "123-45-6789" -> "***-**-6789". */
+    static String maskSsn(String ssn) {
+        StringBuilder last4 = new StringBuilder(4);
+        for (int i = ssn.length() - 1; i >= 0 && last4.length() < 4; i--) {
+            if (Character.isDigit(ssn.charAt(i))) last4.insert(0, ssn.charAt(i));
+        }
+        return "***-**-" + last4;
+    }
+
+    // ── Background writer ─────────────────────────────────────────────────────
+
+    private static void startWriter() {
+        if (writer != null) return;
+        synchronized (LOCK) {
+            if (writer != null) return;
+            Thread t = new Thread(AuditLog::drain, "audit-writer");
+            t.setDaemon(true);
+            t.start();
+            writer = t;
+        }
+    }
+
+    private static void drain() {
+        List<Event> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(BUFFER.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            BUFFER.drainTo(batch, BATCH_SIZE - 1);
+            boolean written = writeWithRetry(batch);
+            if (!written) spill(batch);
+            done(batch.size());
+            batch.clear();
+            if (written && spilled) replaySpill();
+        }
+    }
+
+    private static void done(int n) {
+        synchronized (LOCK) {
+            processed += n;
+            LOCK.notifyAll();
+        }
+    }
+
+    /** Writer thread only: it backs off between attempts. */
+    private static boolean writeWithRetry(List<Event> events) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(events);
+                return true;
+            } catch (SQLException e) {
+                if (attempt == WRITE_ATTEMPTS) {
+                    System.err.println("Error writing audit log, spilling " + events.size()
+                                       + " events to " + SPILL_FILE + ": " + e.getMessage());
+                    return false;
+                }
+            }
+            try {
+                Thread.sleep(1000L * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    // ── Spill file ────────────────────────────────────────────────────────────
+
+    /** Append {@code events} to the spill file, one tab-separated line each. */
+    private static void spill(List<Event> events) {
+        synchronized (SPILL_LOCK) {
+            try {
+                Path dir = SPILL_FILE.toAbsolutePath().getParent();
+                if (dir != null) Files.createDirectories(dir);
+                try (BufferedWriter out = Files.newBufferedWriter(SPILL_FILE, StandardCharsets.UTF_8,
+                         StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (Event e : events) {
+                        out.write(e.occurredAt + "\t" + escape(e.actorRole) + "\t" + e.actorId + "\t"
+                                  + escape(e.action) + "\t" + e.empId + "\t" + escape(e.field) + "\t"
+                                  + escape(e.oldValue) + "\t" + escape(e.newValue));
+                        out.newLine();
+                    }
+                }
+                spilled = true;
+            } catch (IOException e) {
+                System.err.println("Error writing audit spill file, " + events.size()
+                                   + " events lost: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Load spilled events into audit_log. The file is first renamed so new
+     * spills start a fresh one; if loading fails the renamed file is kept
+     * and tried again after the next successful write.
+     */
+    private static void replaySpill() {
+        try {
+            synchronized (SPILL_LOCK) {
+                if (!Files.exists(REPLAY_FILE)) {
+                    if (!Files.exists(SPILL_FILE)) {
+                        spilled = false;
+                        return;
+                    }
+                    Files.move(SPILL_FILE, REPLAY_FILE);
+                }
+            }
+            List<Event> events = new ArrayList<>();
+            for (String line : Files.readAllLines(REPLAY_FILE, StandardCharsets.UTF_8)) {
+                if (line.isEmpty()) continue;
+                String[] f = line.split("\t", -1);
+                events.add(new Event(Long.parseLong(f[0]), unescape(f[1]), Integer.parseInt(f[2]),
+                    unescape(f[3]), Integer.parseInt(f[4]), unescape(f[5]), unescape(f[6]), unescape(f[7])));
+            }
+            write(events);
+            Files.delete(REPLAY_FILE);
+            synchronized (SPILL_LOCK) {
+                spilled = Files.exists(SPILL_FILE);
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            System.err.println("Error loading audit spill file " + REPLAY_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /** A field of a spill line: null as \N; backslash, tab and line breaks escaped. */
+    private static String escape(String s) {
+        if (s == null) return "\\N";
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String s) {
+        if ("\\N".equals(s)) return null;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 == s.length()) {
+                sb.append(c);
+                continue;
+            }
+            char n = s.charAt(++i);
+            sb.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+        }
+        return sb.toString();
+    }
+
+    /** Insert {@code events} in one transaction. */
+    private static void write(List<Event> events) throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+                for (Event e : events) {
+                    ps.setTimestamp(1, new Timestamp(e.occurredAt));
+                    ps.setString(2, e.actorRole);
+                    ps.setInt(3, e.actorId);
+                    ps.setString(4, e.action);
+                    ps.setInt(5, e.empId);
+                    ps.setString(6, e.field);
+                    ps.setString(7, e.oldValue);
+                    ps.setString(8, e.newValue);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * Small bounded JDBC connection pool used by {@link Database}.
+ *
+ * Physical connections are handed out wrapped in a proxy whose close()
+ * returns them to the pool. A background housekeeper keeps the pool at its
+ * minimum size, evicts idle and expired connections, and reports borrowed
+ * connections held longer than the leak-detection threshold. Each physical
+ * connection keeps its prepared statements open in a {@link StatementCache}.
+ */
+public class ConnectionPool {
+    /** Tunables read from .env by {@link Database}. */
+    public static class Settings {
+        int  minSize              = 2;
+        int  maxSize              = 10;
+        long idleTimeoutMs        = 10 * 60_000L;
+        long maxLifetimeMs        = 30 * 60_000L;
+        long acquireTimeoutMs     = 30_000L;
+        long leakThresholdMs      = 0L;          // 0 = leak detection off
+        long validationIntervalMs = 5_000L;      // skip isValid() if used more recently
+        long housekeepingMs       = 30_000L;
+        int  statementCacheSize   = 64;          // per connection; 0 = off
+    }
+
+    /** A physical connection plus the bookkeeping the pool needs. */
+    private static class PooledConnection {
+        final Connection raw;
+        final long createdAt = System.currentTimeMillis();
+        long lastUsedAt = createdAt;
+        long borrowedAt;
+        Throwable borrowSite;  // only captured when leak detection is on
+        boolean leakReported;
+        final StatementCache statements;  // null when statement caching is off
+
+        PooledConnection(Connection raw, Settings cfg, StatementCache.Stats stats) {
+            this.raw = raw;
+            this.statements = cfg.statementCacheSize > 0
+                ? new StatementCache(cfg.statementCacheSize, stats) : null;
+        }
+    }
+
+    private final DataSource source;
+    private final Settings cfg;
+
+    /** Permits bound the number of connections that exist at once. */
+    private final Semaphore permits;
+    /** Idle connections, most recently returned first. Guarded by itself. */
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    /** Connections currently handed out, keyed by the physical connection. */
+    private final Map<Connection, PooledConnection> borrowed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+    private final StatementCache.Stats statementStats = new StatementCache.Stats();
+    private volatile boolean closed;
+
+    /** A pool of connections opened by {@code source}. */
+    public ConnectionPool(DataSource source, Settings cfg) {
+        if (cfg.minSize < 0 || cfg.maxSize < 1 || cfg.minSize > cfg.maxSize) {
+            throw new IllegalArgumentException(
+                "Invalid pool size: min=" + cfg.minSize + " max=" + cfg.maxSize);
+        }
+        this.source = source;
+        this.cfg    = cfg;
+        this.permits = new Semaphore(cfg.maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(
+            this::housekeep, 0, cfg.housekeepingMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the acquire timeout for one to free up.
+     * The caller must close() it to hand it back.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        try {
+            if (!permits.tryAcquire(cfg.acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Timed out after " + cfg.acquireTimeoutMs + "ms waiting for a connection ("
+                    + borrowed.size() + " in use, max " + cfg.maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = pollIdle()) != null) {
+                if (isUsable(pc)) break;
+                closeQuietly(pc);
+            }
+            if (pc == null) {
+                pc = newConnection();
+            }
+            pc.borrowedAt   = System.currentTimeMillis();
+            pc.borrowSite   = cfg.leakThresholdMs > 0 ? new Throwable("Connection borrowed here") : null;
+            pc.leakReported = false;
+            borrowed.put(pc.raw, pc);
+            return wrap(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Number of connections currently handed out. */
+    public int activeCount() {
+        return borrowed.size();
+    }
+
+    /** Number of connections sitting idle in the pool. */
+    public int idleCount() {
+        synchronized (idle) { return idle.size(); }
+    }
+
+    /** Prepared-statement cache hits and misses across all connections. */
+    public StatementCache.Stats statementCacheStats() {
+        return statementStats;
+    }
+
+    /** Close every idle connection and refuse further borrows. */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            idle.forEach(ConnectionPool::closeQuietly);
+            idle.clear();
+        }
+    }
+
+    // ── Borrow / return ───────────────────────────────────────────────────────
+
+    private PooledConnection newConnection() throws SQLException {
+        return new PooledConnection(source.getConnection(), cfg, statementStats);
+    }
+
+    private PooledConnection pollIdle() {
+        synchronized (idle) { return idle.pollFirst(); }
+    }
+
+    /** Cheap checks first; only round-trip to the server if the connection sat idle a while. */
+    private boolean isUsable(PooledConnection pc) {
+        long now = System.currentTimeMillis();
+        if (now - pc.createdAt >= cfg.maxLifetimeMs) return false;
+        try {
+            if (pc.raw.isClosed()) return false;
+            if (now - pc.lastUsedAt < cfg.validationIntervalMs) return true;
+            return pc.raw.isValid(5);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** Called when the application closes its proxy. */
+    private void release(PooledConnection pc) {
+        if (borrowed.remove(pc.raw) == null) return;  // double close
+        try {
+            if (pc.statements != null) pc.statements.releaseAll();
+            boolean reusable = !closed
+                && System.currentTimeMillis() - pc.createdAt < cfg.maxLifetimeMs
+                && resetState(pc.raw);
+            if (reusable) {
+                pc.lastUsedAt = System.currentTimeMillis();
+                pc.borrowSite = null;
+                synchronized (idle) { idle.addFirst(pc); }
+            } else {
+                closeQuietly(pc);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Undo anything a DAO method may have left behind (e.g. an open transaction). */
+    private static boolean resetState(Connection c) {
+        try {
+            if (c.isClosed()) return false;
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            if (c.isReadOnly()) c.setReadOnly(false);
+            c.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection wrap(PooledConnection pc) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean released;
+
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                switch (m.getName()) {
+                    case "close" -> {
+                        if (!released) {
+                            released = true;
+                            release(pc);
+                        }
+                        return null;
+                    }
+                    case "isClosed" -> {
+                        return released || pc.raw.isClosed();
+                    }
+                    case "unwrap" -> {
+                        if (((Class<?>) args[0]).isInstance(pc.raw)) return pc.raw;
+                    }
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    case "toString" -> {
+                        return "Pooled[" + pc.raw + "]";
+                    }
+                    default -> { }
+                }
+                if (released) throw new SQLException("Connection has been returned to the pool");
+                Object result;
+                if (pc.statements != null && StatementCache.handles(m, args)) {
+                    result = pc.statements.prepare(pc.raw, m, args, (Connection) proxy);
+                } else {
+                    try {
+                        result = m.invoke(pc.raw, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+                if (SlowQueryLog.ENABLED && result instanceof Statement) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String
+                               ? (String) args[0] : null;
+                    return SlowQueryLog.wrap((Statement) result, sql, pc.raw);
+                }
+                return result;
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[]{ Connection.class }, handler);
+    }
+
+    // ── Housekeeping ──────────────────────────────────────────────────────────
+
+    private void housekeep() {
+        try {
+            evictIdle();
+            reportLeaks();
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool housekeeping error: " + e.getMessage());
+        }
+    }
+
+    /** Drop connections that idled past the timeout (down to min) or outlived max lifetime. */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.descendingIterator();  // oldest first
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                boolean expired  = now - pc.createdAt >= cfg.maxLifetimeMs;
+                boolean idledOut = now - pc.lastUsedAt >= cfg.idleTimeoutMs
+                                   && idle.size() + borrowed.size() > cfg.minSize;
+                if (expired || idledOut) {
+                    it.remove();
+                    closeQuietly(pc);
+                }
+            }
+        }
+    }
+
+    private void reportLeaks() {
+        if (cfg.leakThresholdMs <= 0) return;
+        long now = System.currentTimeMillis();
+        for (PooledConnection pc : borrowed.values()) {
+            if (!pc.leakReported && now - pc.borrowedAt >= cfg.leakThresholdMs) {
+                pc.leakReported = true;
+                System.err.println("Possible connection leak: held for "
+                    + (now - pc.borrowedAt) + "ms");
+                if (pc.borrowSite != null) pc.borrowSite.printStackTrace();
+            }
+        }
+    }
+
+    /** Top the pool up to minSize; failures are left for the next borrow to report. */
+    private void fillToMinimum() {
+        while (!closed && idleCount() + activeCount() < cfg.minSize && permits.tryAcquire()) {
+            try {
+                PooledConnection pc = newConnection();
+                synchronized (idle) { idle.addLast(pc); }
+            } catch (SQLException e) {
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private static void closeQuietly(PooledConnection pc) {
+        try { pc.raw.close(); }
+        catch (SQLException ignored) {}
+    }
+}
@@ -0,0 +1,44 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated thread pool for running EmployeeDAO calls off the caller's
+ * thread (in particular the JavaFX Application Thread).
+ *
+ * Sized to the connection pool (DB_POOL_MAX_SIZE) so queued work waits
+ * here rather than on a connection. Threads are daemons so a pending
+ * query never keeps the JVM alive after the window closes.
+ */
+public class DaoExecutor {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+        (int) Math.max(1, Database.getConfigLong("DB_POOL_MAX_SIZE", 10)),
+        new ThreadFactory() {
+            private final AtomicInteger n = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "dao-worker-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+    /** @return the shared executor, e.g. for javafx.concurrent.Task. */
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    /** Run {@code work} on a DAO worker thread. */
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, EXECUTOR);
+    }
+
+    /** Stop accepting work and interrupt running tasks. */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+}
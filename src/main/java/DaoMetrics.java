@@ -0,0 +1,340 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Per-operation counters and latency histograms for EmployeeDAO.
+ *
+ * Each DAO method times itself with a {@link Timer} from {@link #start},
+ * which records the call, its latency, the rows it returned and any
+ * failure. The latency is split into waiting for a pooled connection
+ * (reported by Database.getConnection), running the statement (up to
+ * {@link Timer#executed()}) and reading the rows after that.
+ *
+ * Off unless METRICS_ENABLED=true; while off, start() hands out one shared
+ * timer that does nothing. When on, each operation is registered as an MXBean
+ * named {@code penicillin:type=DaoMetrics,name=<operation>}, and if
+ * METRICS_CSV names a file, each operation called in the last
+ * METRICS_LOG_INTERVAL_MS (default 1 minute) gets a line appended to it
+ * with that interval's figures.
+ */
+public class DaoMetrics {
+    static final boolean ENABLED =
+        "true".equalsIgnoreCase(Database.getConfig("METRICS_ENABLED", "false"));
+    private static final String CSV_FILE = Database.getConfig("METRICS_CSV", null);
+    private static final long LOG_INTERVAL_MS =
+        Math.max(1000, Database.getConfigLong("METRICS_LOG_INTERVAL_MS", 60_000L));
+
+    private static final String CSV_HEADER = "time,operation,calls,errors,rows,"
+        + "mean_ms,p50_ms,p99_ms,max_ms,connection_wait_ms,query_ms,mapping_ms";
+
+    private static final Map<String, Operation> OPERATIONS = new ConcurrentHashMap<>();
+    /** Innermost open timer per thread, so getConnection can charge its wait to it. */
+    private static final ThreadLocal<Timer> CURRENT = new ThreadLocal<>();
+    private static final Timer NOOP = new Timer(null);
+
+    static {
+        if (ENABLED && CSV_FILE != null) {
+            ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-csv");
+                t.setDaemon(true);
+                return t;
+            });
+            dumper.scheduleAtFixedRate(DaoMetrics::writeCsv,
+                LOG_INTERVAL_MS, LOG_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Start timing one call of {@code operation}; close the timer when the
+     * call ends (try-with-resources). Calls may nest.
+     */
+    public static Timer start(String operation) {
+        if (!ENABLED) return NOOP;
+        Timer t = new Timer(operation(operation));
+        t.outer = CURRENT.get();
+        CURRENT.set(t);
+        return t;
+    }
+
+    /**
+     * Record a wait for a pooled connection, as its own "getConnection"
+     * operation and against the DAO call that asked for it.
+     */
+    static void connectionAcquired(long waitNanos, boolean ok) {
+        Operation op = operation("getConnection");
+        op.record(waitNanos, waitNanos, 0, 0);
+        if (!ok) op.errors.increment();
+        Timer current = CURRENT.get();
+        if (current != null) current.waitNanos += waitNanos;
+    }
+
+    /** Every operation called so far, by name. */
+    public static Map<String, OperationMXBean> operations() {
+        return new HashMap<>(OPERATIONS);
+    }
+
+    /** One line per operation called so far, slowest p99 first. */
+    public static String report() {
+        StringBuilder sb = new StringBuilder(String.format("%-28s %8s %6s %9s %9s %9s %9s %9s%n",
+            "DAO operation", "calls", "errors", "rows", "p50 ms", "p99 ms", "max ms", "wait ms"));
+        List<Operation> ops = new ArrayList<>(OPERATIONS.values());
+        ops.sort((a, b) -> Double.compare(b.getP99Millis(), a.getP99Millis()));
+        for (Operation op : ops) {
+            sb.append(String.format("%-28s %8d %6d %9d %9.3f %9.3f %9.3f %9.3f%n",
+                op.name, op.getCalls(), op.getErrors(), op.getRows(), op.getP50Millis(),
+                op.getP99Millis(), op.getMaxMillis(), op.getMeanConnectionWaitMillis()));
+        }
+        return sb.toString();
+    }
+
+    private static Operation operation(String name) {
+        Operation op = OPERATIONS.get(name);
+        if (op != null) return op;
+        return OPERATIONS.computeIfAbsent(name, n -> {
+            Operation created = new Operation(n);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(created,
+                    new ObjectName("penicillin:type=DaoMetrics,name=" + ObjectName.quote(n)));
+            } catch (JMException e) {
+                System.err.println("Could not register metrics MBean for " + n + ": " + e.getMessage());
+            }
+            return created;
+        });
+    }
+
+    // ── CSV dump ─────────────────────────────────────────────────────────────
+
+    /** Totals at the previous dump, per operation, to report each interval on its own. */
+    private static final Map<String, Snapshot> LAST_DUMP = new HashMap<>();
+
+    private static synchronized void writeCsv() {
+        File file = new File(CSV_FILE);
+        boolean header = !file.exists() || file.length() == 0;
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, true))) {
+            if (header) out.println(CSV_HEADER);
+            String now = Instant.now().toString();
+            for (Operation op : OPERATIONS.values()) {
+                Snapshot total = op.snapshot();
+                Snapshot interval = total.minus(LAST_DUMP.get(op.name));
+                LAST_DUMP.put(op.name, total);
+                if (interval.calls == 0 && interval.errors == 0) continue;
+                out.printf("%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    now, op.name, interval.calls, interval.errors, interval.rows,
+                    interval.mean(interval.totalNanos), interval.percentile(0.50),
+                    interval.percentile(0.99), interval.maxBucketMillis(),
+                    interval.mean(interval.waitNanos), interval.mean(interval.queryNanos),
+                    interval.mean(interval.mapNanos));
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing metrics to " + CSV_FILE + ": " + e.getMessage());
+        }
+    }
+
+    // ── Types ────────────────────────────────────────────────────────────────
+
+    /** What JMX shows for one operation; times are since startup. */
+    public interface OperationMXBean {
+        long getCalls();
+        long getErrors();
+        long getRows();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP99Millis();
+        double getMaxMillis();
+        double getMeanConnectionWaitMillis();
+        double getMeanQueryMillis();
+        double getMeanMappingMillis();
+    }
+
+    /**
+     * One call being timed. {@link #rows} and {@link #failed} count
+     * straight away, so they may be called after close (e.g. from the
+     * catch block of the try that closed it).
+     */
+    public static final class Timer implements AutoCloseable {
+        private final Operation op;
+        private final long start;
+        private long executedAt;
+        private long waitNanos;
+        private Timer outer;
+        private boolean closed;
+
+        private Timer(Operation op) {
+            this.op = op;
+            this.start = op == null ? 0 : System.nanoTime();
+        }
+
+        /** The statement has run; the time from here to close is row mapping. */
+        public void executed() {
+            if (op != null && executedAt == 0) executedAt = System.nanoTime();
+        }
+
+        /** Count {@code n} rows returned (or written). */
+        public void rows(long n) {
+            if (op != null) op.rows.add(n);
+        }
+
+        /** Count this call as failed. */
+        public void failed() {
+            if (op != null) op.errors.increment();
+        }
+
+        @Override
+        public void close() {
+            if (op == null || closed) return;
+            closed = true;
+            long end = System.nanoTime();
+            long mapped = executedAt == 0 ? 0 : end - executedAt;
+            long queried = Math.max(0, (executedAt == 0 ? end : executedAt) - start - waitNanos);
+            op.record(end - start, waitNanos, queried, mapped);
+            if (CURRENT.get() == this) {
+                if (outer == null) CURRENT.remove();
+                else CURRENT.set(outer);
+            }
+        }
+    }
+
+    /** Counters and a latency histogram for one named operation. */
+    private static final class Operation implements OperationMXBean {
+        final String name;
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAdder queryNanos = new LongAdder();
+        final LongAdder mapNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final AtomicLongArray buckets = new AtomicLongArray(Histogram.BUCKETS);
+
+        Operation(String name) { this.name = name; }
+
+        void record(long nanos, long wait, long query, long map) {
+            calls.increment();
+            totalNanos.add(nanos);
+            waitNanos.add(wait);
+            queryNanos.add(query);
+            mapNanos.add(map);
+            maxNanos.accumulate(nanos);
+            buckets.incrementAndGet(Histogram.bucket(nanos));
+        }
+
+        Snapshot snapshot() {
+            long[] counts = new long[Histogram.BUCKETS];
+            for (int i = 0; i < counts.length; i++) counts[i] = buckets.get(i);
+            return new Snapshot(calls.sum(), errors.sum(), rows.sum(), totalNanos.sum(),
+                waitNanos.sum(), queryNanos.sum(), mapNanos.sum(), counts);
+        }
+
+        @Override public long getCalls()  { return calls.sum(); }
+        @Override public long getErrors() { return errors.sum(); }
+        @Override public long getRows()   { return rows.sum(); }
+        @Override public double getMeanMillis() { return mean(totalNanos); }
+        // Capped at the true maximum, which a bucket's upper bound may exceed
+        @Override public double getP50Millis()  { return Math.min(snapshot().percentile(0.50), getMaxMillis()); }
+        @Override public double getP99Millis()  { return Math.min(snapshot().percentile(0.99), getMaxMillis()); }
+        @Override public double getMaxMillis()  { return maxNanos.get() / 1e6; }
+        @Override public double getMeanConnectionWaitMillis() { return mean(waitNanos); }
+        @Override public double getMeanQueryMillis()   { return mean(queryNanos); }
+        @Override public double getMeanMappingMillis() { return mean(mapNanos); }
+
+        private double mean(LongAdder nanos) {
+            long n = calls.sum();
+            return n == 0 ? 0 : nanos.sum() / 1e6 / n;
+        }
+    }
+
+    /** An operation's totals at one moment; subtract two for an interval. */
+    private static final class Snapshot {
+        final long calls, errors, rows, totalNanos, waitNanos, queryNanos, mapNanos;
+        final long[] counts;
+
+        Snapshot(long calls, long errors, long rows, long totalNanos,
+                 long waitNanos, long queryNanos, long mapNanos, long[] counts) {
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.totalNanos = totalNanos;
+            this.waitNanos = waitNanos;
+            this.queryNanos = queryNanos;
+            this.mapNanos = mapNanos;
+            this.counts = counts;
+        }
+
+        Snapshot minus(Snapshot earlier) {
+            if (earlier == null) return this;
+            long[] diff = new long[counts.length];
+            for (int i = 0; i < diff.length; i++) diff[i] = counts[i] - earlier.counts[i];
+            return new Snapshot(calls - earlier.calls, errors - earlier.errors, rows - earlier.rows,
+                totalNanos - earlier.totalNanos, waitNanos - earlier.waitNanos,
+                queryNanos - earlier.queryNanos, mapNanos - earlier.mapNanos, diff);
+        }
+
+        /** {@code nanos} per call, in milliseconds. */
+        double mean(long nanos) {
+            return calls == 0 ? 0 : nanos / 1e6 / calls;
+        }
+
+        /** Upper bound of the bucket holding quantile {@code q}, in milliseconds. */
+        double percentile(double q) {
+            long total = 0;
+            for (long c : counts) total += c;
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(q * total), seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Histogram.upperBound(i) / 1e6;
+            }
+            return Histogram.upperBound(counts.length - 1) / 1e6;
+        }
+
+        double maxBucketMillis() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) return Histogram.upperBound(i) / 1e6;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Log-linear buckets over nanoseconds: eight per power of two, so a
+     * reported percentile is at most 12.5% above the true value.
+     */
+    static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+        static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+        static int bucket(long nanos) {
+            if (nanos < SUB) return (int) Math.max(0, nanos);
+            int exp = 63 - Long.numberOfLeadingZeros(nanos);
+            int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB - 1);
+            return ((exp - SUB_BITS + 1) << SUB_BITS) + sub;
+        }
+
+        /** Largest value that falls in bucket {@code i}. */
+        static long upperBound(int i) {
+            if (i < SUB) return i;
+            int shift = (i >> SUB_BITS) - 1;
+            long sub = i & (SUB - 1);
+            return ((SUB + sub + 1) << shift) - 1;
+        }
+    }
+}
@@ -0,0 +1,597 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic employees and payroll at production scale, for reproducing
+ * how searches, pay history and the monthly reports behave on a big
+ * dataset.
+ *
+ * Names, cities, job titles and races are drawn from weighted tables
+ * (common names and big cities come up more often); each job title
+ * belongs to a division and has its own salary band, and hires skew
+ * recent. Every employee is paid monthly, on the last day of the month,
+ * from hire date (or the start of the period) through the last complete
+ * month, at their salary less 3% per year back.
+ *
+ * Rows go either straight into the configured database, as batched
+ * INSERTs committed every {@link #CHUNK} employees and appended after the
+ * highest existing empid, or to tab-separated files plus a load.sql of
+ * LOAD DATA statements for an empty database. The same seed gives the
+ * same data.
+ *
+ * Usage: {@code java DataGenerator <employees> <years> [--seed N] [--out DIR]}
+ */
+public class DataGenerator {
+    /** Employees (with their address, job, division and payroll rows) per transaction. */
+    static final int CHUNK = 1000;
+
+    private final int employees;
+    private final int years;
+    private final long seed;
+    /** Last month paid. */
+    private final YearMonth through;
+
+    public DataGenerator(int employees, int years, long seed) {
+        this(employees, years, seed, YearMonth.now().minusMonths(1));
+    }
+
+    public DataGenerator(int employees, int years, long seed, YearMonth through) {
+        if (employees < 1) throw new IllegalArgumentException("employees must be positive");
+        if (years < 0) throw new IllegalArgumentException("years must not be negative");
+        this.employees = employees;
+        this.years = years;
+        this.seed = seed;
+        this.through = through;
+    }
+
+    // ── Distributions ─────────────────────────────────────────────────────────
+
+    /** Values picked in proportion to their weights. */
+    static final class Weighted<T> {
+        private final List<T> values = new ArrayList<>();
+        private double[] cumulative = new double[8];
+        private double total;
+
+        Weighted<T> add(T value, double weight) {
+            if (values.size() == cumulative.length) cumulative = Arrays.copyOf(cumulative, values.size() * 2);
+            total += weight;
+            cumulative[values.size()] = total;
+            values.add(value);
+            return this;
+        }
+
+        T pick(Random rnd) {
+            double r = rnd.nextDouble() * total;
+            int i = Arrays.binarySearch(cumulative, 0, values.size(), r);
+            return values.get(i >= 0 ? Math.min(i + 1, values.size() - 1) : -i - 1);
+        }
+
+        List<T> values() { return values; }
+    }
+
+    private static final class Place {
+        final String city, state, areaCode, zipPrefix;
+        Place(String city, String state, String areaCode, String zipPrefix) {
+            this.city = city; this.state = state; this.areaCode = areaCode; this.zipPrefix = zipPrefix;
+        }
+    }
+
+    private static final class Job {
+        final String title, division;
+        final int minSalary, maxSalary;
+        Job(String title, String division, int minSalary, int maxSalary) {
+            this.title = title; this.division = division;
+            this.minSalary = minSalary; this.maxSalary = maxSalary;
+        }
+    }
+
+    // Roughly by US frequency; {name, weight}
+    private static final Weighted<String> MALE = weighted(
+        "James", 33, "Robert", 32, "John", 32, "Michael", 43, "David", 36, "William", 25,
+        "Richard", 17, "Joseph", 17, "Thomas", 16, "Christopher", 20, "Daniel", 19, "Matthew", 15,
+        "Anthony", 13, "Mark", 12, "Carlos", 8, "Luis", 7, "Wei", 5, "Ahmed", 4, "Liam", 9, "Noah", 9,
+        "Ethan", 8, "Lucas", 7, "Oliver", 7, "Mateo", 5);
+    private static final Weighted<String> FEMALE = weighted(
+        "Mary", 30, "Patricia", 16, "Jennifer", 26, "Linda", 16, "Elizabeth", 16, "Barbara", 14,
+        "Susan", 13, "Jessica", 18, "Sarah", 17, "Karen", 12, "Emily", 14, "Ashley", 13, "Maria", 11,
+        "Sofia", 8, "Olivia", 10, "Emma", 10, "Ava", 8, "Isabella", 8, "Mia", 7, "Grace", 6,
+        "Aisha", 4, "Priya", 4, "Mei", 4, "Fatima", 3);
+    private static final Weighted<String> SURNAMES = weighted(
+        "Smith", 24, "Johnson", 19, "Williams", 16, "Brown", 14, "Jones", 14, "Garcia", 12,
+        "Miller", 12, "Davis", 11, "Rodriguez", 11, "Martinez", 11, "Hernandez", 10, "Lopez", 9,
+        "Gonzalez", 9, "Wilson", 8, "Anderson", 8, "Thomas", 8, "Taylor", 8, "Moore", 7,
+        "Jackson", 7, "Martin", 7, "Lee", 7, "Perez", 6, "Thompson", 6, "White", 6, "Harris", 6,
+        "Clark", 5, "Lewis", 5, "Robinson", 5, "Walker", 5, "Nguyen", 5, "Kim", 4, "Patel", 4,
+        "Chen", 4, "Wright", 4, "Scott", 4, "Adams", 4, "Campbell", 3, "Parker", 3, "Evans", 3,
+        "Turner", 3, "Brooks", 2, "Bennett", 2, "Ali", 2, "Khan", 2);
+    private static final Weighted<String> RACES = weighted(
+        "White", 58, "Hispanic", 19, "Black", 12, "Asian", 7, "Other", 4);
+
+    // Weighted by population
+    private static final Weighted<Place> PLACES = new Weighted<Place>()
+        .add(new Place("New York",      "New York",     "212", "100"), 84)
+        .add(new Place("Los Angeles",   "California",   "213", "900"), 39)
+        .add(new Place("Chicago",       "Illinois",     "312", "606"), 27)
+        .add(new Place("Houston",       "Texas",        "713", "770"), 23)
+        .add(new Place("Phoenix",       "Arizona",      "602", "850"), 16)
+        .add(new Place("Philadelphia",  "Pennsylvania", "215", "191"), 16)
+        .add(new Place("San Antonio",   "Texas",        "210", "782"), 15)
+        .add(new Place("San Diego",     "California",   "619", "921"), 14)
+        .add(new Place("Dallas",        "Texas",        "214", "752"), 13)
+        .add(new Place("Austin",        "Texas",        "512", "787"), 10)
+        .add(new Place("Jacksonville",  "Florida",      "904", "322"), 10)
+        .add(new Place("San Francisco", "California",   "415", "941"),  8)
+        .add(new Place("Columbus",      "Ohio",         "614", "432"),  9)
+        .add(new Place("Seattle",       "Washington",   "206", "981"),  8)
+        .add(new Place("Denver",        "Colorado",     "303", "802"),  7)
+        .add(new Place("Boston",        "Massachusetts","617", "021"),  7)
+        .add(new Place("Atlanta",       "Georgia",      "404", "303"),  5)
+        .add(new Place("Miami",         "Florida",      "305", "331"),  5);
+
+    // Headcount weights; titles and divisions include the README's
+    private static final Weighted<Job> JOBS = new Weighted<Job>()
+        .add(new Job("Software Engineer",    "Engineering",      90_000, 170_000), 18)
+        .add(new Job("QA Engineer",          "Engineering",      65_000, 110_000),  6)
+        .add(new Job("Data Scientist",       "Engineering",     100_000, 165_000),  4)
+        .add(new Job("Product Manager",      "Engineering",     105_000, 175_000),  4)
+        .add(new Job("Sales Representative", "Sales",            45_000,  95_000), 20)
+        .add(new Job("Account Manager",      "Sales",            60_000, 120_000),  8)
+        .add(new Job("HR Manager",           "Human Resources",  75_000, 125_000),  2)
+        .add(new Job("HR Specialist",        "Human Resources",  50_000,  80_000),  4)
+        .add(new Job("Marketing Specialist", "Marketing",        55_000,  95_000),  8)
+        .add(new Job("Marketing Manager",    "Marketing",        85_000, 140_000),  2)
+        .add(new Job("Financial Analyst",    "Finance",          65_000, 115_000),  6)
+        .add(new Job("Accountant",           "Finance",          55_000,  90_000),  5)
+        .add(new Job("Support Specialist",   "Operations",       40_000,  65_000), 10)
+        .add(new Job("Operations Manager",   "Operations",       80_000, 130_000),  3);
+
+    private static final String[] STREETS = {
+        "Main", "Oak", "Maple", "Cedar", "Park", "Elm", "Washington", "Lake", "Hill", "Sunset",
+        "Lincoln", "Pine", "Ridge", "Church", "Madison", "River", "Highland", "Broadway"
+    };
+    private static final String[] STREET_TYPES = { "St", "Ave", "Rd", "Blvd", "Dr", "Ln" };
+
+    private static Weighted<String> weighted(Object... nameWeight) {
+        Weighted<String> w = new Weighted<>();
+        for (int i = 0; i < nameWeight.length; i += 2) {
+            w.add((String) nameWeight[i], ((Number) nameWeight[i + 1]).doubleValue());
+        }
+        return w;
+    }
+
+    // ── Generation ────────────────────────────────────────────────────────────
+
+    /** One generated employee with everything stored about them. */
+    static final class Person {
+        int empid, cityId, stateId, jobTitleId, divisionId;
+        String fname, lname, email, phone, gender, race, ssn, street, zip;
+        LocalDate dob, hireDate;
+        double salary;
+    }
+
+    /** Where generated rows go. */
+    interface Sink extends AutoCloseable {
+        /** Ids for {@code names} in a reference table, adding any that are missing. */
+        int[] ids(String table, String idColumn, String nameColumn, List<String> names)
+            throws IOException, SQLException;
+        /** First empid to use. */
+        int firstEmpid() throws IOException, SQLException;
+        void employee(Person p) throws IOException, SQLException;
+        void payroll(int empid, LocalDate payDate, double earnings) throws IOException, SQLException;
+        /** Called after every {@link #CHUNK} employees and at the end. */
+        void endChunk() throws IOException, SQLException;
+        @Override void close() throws IOException, SQLException;
+    }
+
+    /** Counts of what was generated. */
+    public static final class Summary {
+        int employees;
+        long payrollRows;
+        int firstEmpid;
+        long millis;
+
+        public int getEmployees() { return employees; }
+        public long getPayrollRows() { return payrollRows; }
+        public int getFirstEmpid() { return firstEmpid; }
+
+        @Override
+        public String toString() {
+            return String.format("Generated %d employees (empid %d-%d) and %d payroll rows in %.1f s",
+                employees, firstEmpid, firstEmpid + employees - 1, payrollRows, millis / 1000.0);
+        }
+    }
+
+    /** Generate everything into {@code sink}, closing it. */
+    Summary generate(Sink sink) throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        Summary summary = new Summary();
+        Random rnd = new Random(seed);
+        try (sink) {
+            Map<Place, int[]> placeIds = new HashMap<>();
+            List<String> stateNames = new ArrayList<>(), cityNames = new ArrayList<>();
+            for (Place p : PLACES.values()) {
+                if (!stateNames.contains(p.state)) stateNames.add(p.state);
+                cityNames.add(p.city);
+            }
+            int[] stateIds = sink.ids("state", "state_id", "name_of_state", stateNames);
+            int[] cityIds = sink.ids("city", "city_id", "name_of_city", cityNames);
+            for (int i = 0; i < PLACES.values().size(); i++) {
+                Place p = PLACES.values().get(i);
+                placeIds.put(p, new int[]{ cityIds[i], stateIds[stateNames.indexOf(p.state)] });
+            }
+            Map<Job, int[]> jobIds = new HashMap<>();
+            List<String> titles = new ArrayList<>(), divisions = new ArrayList<>();
+            for (Job j : JOBS.values()) {
+                titles.add(j.title);
+                if (!divisions.contains(j.division)) divisions.add(j.division);
+            }
+            int[] titleIds = sink.ids("job_titles", "job_title_id", "job_title", titles);
+            int[] divisionIds = sink.ids("division", "ID", "Name", divisions);
+            for (int i = 0; i < JOBS.values().size(); i++) {
+                Job j = JOBS.values().get(i);
+                jobIds.put(j, new int[]{ titleIds[i], divisionIds[divisions.indexOf(j.division)] });
+            }
+
+            LocalDate today = through.plusMonths(1).atDay(1);
+            YearMonth firstMonth = through.minusMonths(12L * years - 1);
+            summary.firstEmpid = sink.firstEmpid();
+            for (int n = 0; n < employees; n++) {
+                Person p = person(rnd, summary.firstEmpid + n, today, placeIds, jobIds);
+                sink.employee(p);
+                YearMonth month = YearMonth.from(p.hireDate);
+                if (month.isBefore(firstMonth)) month = firstMonth;
+                for (; years > 0 && !month.isAfter(through); month = month.plusMonths(1)) {
+                    double yearsBack = (through.getYear() - month.getYear())
+                                     + (through.getMonthValue() - month.getMonthValue()) / 12.0;
+                    double monthly = p.salary / 12 / Math.pow(1.03, yearsBack);
+                    sink.payroll(p.empid, month.atEndOfMonth(), Math.round(monthly * 100) / 100.0);
+                    summary.payrollRows++;
+                }
+                summary.employees++;
+                if (summary.employees % CHUNK == 0) sink.endChunk();
+                if (employees >= 100_000 && summary.employees % (employees / 10) == 0) {
+                    System.out.println("  " + summary.employees + " / " + employees + " employees");
+                }
+            }
+            sink.endChunk();
+        }
+        summary.millis = System.currentTimeMillis() - start;
+        return summary;
+    }
+
+    private static Person person(Random rnd, int empid, LocalDate today,
+                                 Map<Place, int[]> placeIds, Map<Job, int[]> jobIds) {
+        Person p = new Person();
+        p.empid  = empid;
+        p.gender = rnd.nextBoolean() ? "M" : "F";
+        p.fname  = ("M".equals(p.gender) ? MALE : FEMALE).pick(rnd);
+        p.lname  = SURNAMES.pick(rnd);
+        p.race   = RACES.pick(rnd);
+        p.email  = (p.fname + "." + p.lname + empid + "@example.com").toLowerCase();
+
+        Place place = PLACES.pick(rnd);
+        p.cityId  = placeIds.get(place)[0];
+        p.stateId = placeIds.get(place)[1];
+        p.phone   = String.format("%s-555-%04d", place.areaCode, rnd.nextInt(10_000));
+        p.street  = (1 + rnd.nextInt(9_999)) + " " + STREETS[rnd.nextInt(STREETS.length)] + " "
+                  + STREET_TYPES[rnd.nextInt(STREET_TYPES.length)];
+        p.zip     = place.zipPrefix + String.format("%02d", rnd.nextInt(100));
+
+        // Odd multiplier mod 10^9 (not divisible by 2 or 5) is a permutation: distinct per empid
+        long ssn = empid * 387_420_489L % 1_000_000_000L;
+        p.ssn = String.format("%03d-%02d-%04d", ssn / 1_000_000, ssn / 10_000 % 100, ssn % 10_000);
+
+        // Most hires in the last few years, some going back 30
+        double tenure = 30 * Math.pow(rnd.nextDouble(), 2.5);
+        p.hireDate = today.minusDays(1 + (long) (tenure * 365));
+        p.dob = p.hireDate.minusYears(21 + rnd.nextInt(35)).minusDays(rnd.nextInt(365));
+
+        Job job = JOBS.pick(rnd);
+        p.jobTitleId = jobIds.get(job)[0];
+        p.divisionId = jobIds.get(job)[1];
+        double band = Math.min(1, rnd.nextDouble() * 0.7 + tenure / 30);
+        p.salary = Math.round((job.minSalary + band * (job.maxSalary - job.minSalary)) / 500) * 500.0;
+        return p;
+    }
+
+    // ── Database ──────────────────────────────────────────────────────────────
+
+    /** Insert into the configured database, after its highest empid. */
+    public Summary load() throws IOException, SQLException {
+        Connection conn = Database.getConnection();
+        DatabaseSink sink;
+        try {
+            sink = new DatabaseSink(conn);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return generate(sink);
+    }
+
+    private static final class DatabaseSink implements Sink {
+        private final Connection conn;
+        private final PreparedStatement emp, addr, job, div, pay;
+        private int pending;
+
+        DatabaseSink(Connection conn) throws SQLException {
+            this.conn = conn;
+            conn.setAutoCommit(false);
+            emp  = conn.prepareStatement(
+                "INSERT INTO employees (empid, Fname, Lname, email, phone_number, gender, race, " +
+                "SSN, DOB, HireDate, Salary) VALUES (?,?,?,?,?,?,?,?,?,?,?)");
+            addr = conn.prepareStatement(
+                "INSERT INTO address (empid, street, city_id, state_id, zip) VALUES (?,?,?,?,?)");
+            job  = conn.prepareStatement(
+                "INSERT INTO employee_job_titles (empid, job_title_id) VALUES (?,?)");
+            div  = conn.prepareStatement(
+                "INSERT INTO employee_division (empid, div_ID) VALUES (?,?)");
+            pay  = conn.prepareStatement(
+                "INSERT INTO payroll (empid, pay_date, earnings) VALUES (?,?,?)");
+        }
+
+        @Override
+        public int[] ids(String table, String idColumn, String nameColumn, List<String> names)
+                throws SQLException {
+            Map<String, Integer> existing = new HashMap<>();
+            String select = "SELECT " + idColumn + ", " + nameColumn + " FROM " + table;
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(select)) {
+                while (rs.next()) existing.putIfAbsent(rs.getString(2), rs.getInt(1));
+            }
+            int[] ids = new int[names.size()];
+            try (PreparedStatement ins = conn.prepareStatement(
+                     "INSERT INTO " + table + " (" + nameColumn + ") VALUES (?)",
+                     Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < names.size(); i++) {
+                    Integer id = existing.get(names.get(i));
+                    if (id == null) {
+                        ins.setString(1, names.get(i));
+                        ins.executeUpdate();
+                        try (ResultSet keys = ins.getGeneratedKeys()) {
+                            keys.next();
+                            id = keys.getInt(1);
+                        }
+                    }
+                    ids[i] = id;
+                }
+            }
+            conn.commit();
+            return ids;
+        }
+
+        @Override
+        public int firstEmpid() throws SQLException {
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(empid), 0) + 1 FROM employees")) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+
+        @Override
+        public void employee(Person p) throws SQLException {
+            emp.setInt(1, p.empid);
+            emp.setString(2, p.fname);
+            emp.setString(3, p.lname);
+            emp.setString(4, p.email);
+            emp.setString(5, p.phone);
+            emp.setString(6, p.gender);
+            emp.setString(7, p.race);
+            emp.setString(8, p.ssn);
+            emp.setDate(9, Date.valueOf(p.dob));
+            emp.setDate(10, Date.valueOf(p.hireDate));
+            emp.setDouble(11, p.salary);
+            emp.addBatch();
+            addr.setInt(1, p.empid);
+            addr.setString(2, p.street);
+            addr.setInt(3, p.cityId);
+            addr.setInt(4, p.stateId);
+            addr.setString(5, p.zip);
+            addr.addBatch();
+            job.setInt(1, p.empid);
+            job.setInt(2, p.jobTitleId);
+            job.addBatch();
+            div.setInt(1, p.empid);
+            div.setInt(2, p.divisionId);
+            div.addBatch();
+        }
+
+        @Override
+        public void payroll(int empid, LocalDate payDate, double earnings) throws SQLException {
+            pay.setInt(1, empid);
+            pay.setDate(2, Date.valueOf(payDate));
+            pay.setDouble(3, earnings);
+            pay.addBatch();
+            // Keep a chunk of long-tenured employees from building a huge batch
+            if (++pending == 10_000) flush();
+        }
+
+        @Override
+        public void endChunk() throws SQLException {
+            flush();
+            conn.commit();
+        }
+
+        /** Send the batches, employees before the rows referencing them. */
+        private void flush() throws SQLException {
+            emp.executeBatch();
+            addr.executeBatch();
+            job.executeBatch();
+            div.executeBatch();
+            pay.executeBatch();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                conn.rollback();  // only uncommitted work from a failed chunk
+                conn.setAutoCommit(true);
+                for (PreparedStatement ps : List.of(emp, addr, job, div, pay)) ps.close();
+            } finally {
+                conn.close();
+            }
+        }
+    }
+
+    // ── Files ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Write one tab-separated file per table into {@code dir}, plus load.sql
+     * with the LOAD DATA LOCAL INFILE statements that load them, in order,
+     * into an empty database with the README schema.
+     */
+    public Summary writeFiles(Path dir) throws IOException, SQLException {
+        Files.createDirectories(dir);
+        return generate(new FileSink(dir));
+    }
+
+    private static final class FileSink implements Sink {
+        /** Table -> columns, in load order. */
+        private static final Map<String, String> TABLES = new LinkedHashMap<>();
+        static {
+            TABLES.put("state", "state_id, name_of_state");
+            TABLES.put("city", "city_id, name_of_city");
+            TABLES.put("job_titles", "job_title_id, job_title");
+            TABLES.put("division", "ID, Name");
+            TABLES.put("employees", "empid, Fname, Lname, email, phone_number, gender, race, "
+                                    + "SSN, DOB, HireDate, Salary");
+            TABLES.put("address", "empid, street, city_id, state_id, zip");
+            TABLES.put("employee_job_titles", "empid, job_title_id");
+            TABLES.put("employee_division", "empid, div_ID");
+            TABLES.put("payroll", "empid, pay_date, earnings");
+        }
+
+        private final Path dir;
+        private final Map<String, BufferedWriter> out = new HashMap<>();
+
+        FileSink(Path dir) throws IOException {
+            this.dir = dir;
+            for (String table : TABLES.keySet()) {
+                out.put(table, Files.newBufferedWriter(dir.resolve(table + ".tsv"), StandardCharsets.UTF_8));
+            }
+        }
+
+        private void row(String table, Object... values) throws IOException {
+            BufferedWriter w = out.get(table);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) w.write('\t');
+                w.write(String.valueOf(values[i]));
+            }
+            w.write('\n');
+        }
+
+        @Override
+        public int[] ids(String table, String idColumn, String nameColumn, List<String> names)
+                throws IOException {
+            int[] ids = new int[names.size()];
+            for (int i = 0; i < names.size(); i++) {
+                ids[i] = i + 1;
+                row(table, ids[i], names.get(i));
+            }
+            return ids;
+        }
+
+        @Override
+        public int firstEmpid() { return 1; }
+
+        @Override
+        public void employee(Person p) throws IOException {
+            row("employees", p.empid, p.fname, p.lname, p.email, p.phone, p.gender, p.race,
+                p.ssn, p.dob, p.hireDate, p.salary);
+            row("address", p.empid, p.street, p.cityId, p.stateId, p.zip);
+            row("employee_job_titles", p.empid, p.jobTitleId);
+            row("employee_division", p.empid, p.divisionId);
+        }
+
+        @Override
+        public void payroll(int empid, LocalDate payDate, double earnings) throws IOException {
+            row("payroll", empid, payDate, earnings);
+        }
+
+        @Override
+        public void endChunk() { }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedWriter w : out.values()) w.close();
+            try (PrintWriter w = new PrintWriter(
+                     Files.newBufferedWriter(dir.resolve("load.sql"), StandardCharsets.UTF_8))) {
+                w.println("-- Generated by DataGenerator. Load into an empty database with the README schema:");
+                w.println("--   mysql --local-infile=1 employeeData < load.sql");
+                w.println("-- then run SchemaMigrations and PayrollRollup.");
+                for (Map.Entry<String, String> t : TABLES.entrySet()) {
+                    String file = dir.resolve(t.getKey() + ".tsv").toAbsolutePath().toString().replace('\\', '/');
+                    w.println("LOAD DATA LOCAL INFILE '" + file + "' INTO TABLE " + t.getKey()
+                              + " (" + t.getValue() + ");");
+                }
+            }
+        }
+    }
+
+    // ── CLI ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Generate into the configured database (then bring its schema and
+     * payroll rollup up to date), or with {@code --out DIR} into files.
+     */
+    public static void main(String[] args) {
+        Integer employees = null, years = null;
+        long seed = 42;
+        Path out = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--out"  -> out = Paths.get(args[++i]);
+                    default -> {
+                        if (employees == null) employees = Integer.parseInt(args[i]);
+                        else if (years == null) years = Integer.parseInt(args[i]);
+                        else throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            employees = null;
+        }
+        if (employees == null || years == null) {
+            System.out.println("Usage: java DataGenerator <employees> <years> [--seed N] [--out DIR]");
+            System.out.println("  Appends to the database in .env, or with --out writes LOAD DATA files.");
+            return;
+        }
+
+        try {
+            DataGenerator gen = new DataGenerator(employees, years, seed);
+            if (out != null) {
+                System.out.println(gen.writeFiles(out));
+                System.out.println("Load with " + out.resolve("load.sql"));
+                return;
+            }
+            List<String> applied = SchemaMigrations.migrate();
+            if (applied == null) return;
+            applied.forEach(s -> System.out.println("Applied migration " + s));
+            System.out.println(gen.load());
+            int groups = PayrollRollup.rebuildAll();
+            System.out.println(groups < 0 ? "Rollup rebuild failed." : "Rebuilt " + groups + " rollup group(s).");
+        } catch (Exception e) {
+            System.err.println("Generation failed: " + e.getMessage());
+        } finally {
+            Database.shutdown();
+        }
+    }
+}
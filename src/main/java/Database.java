@@ -1,15 +1,27 @@
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.sql.*;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
 
 /**
  * Database utility: loads config from .env, optionally dynamically loads
  * the MySQL driver JAR if present, otherwise falls back to the driver on
- * the classpath.
+ * the classpath. Connections are served from a bounded {@link ConnectionPool}.
+ *
+ * Any key can also be given as a system property ({@code -DDB_NAME=...}),
+ * which wins over .env; DB_URL replaces the generated MySQL URL entirely
+ * (e.g. an embedded database for benchmarks). The pool opens its physical
+ * connections through a {@link DataSource}: DriverManager on that URL by
+ * default, the class named by DB_DATASOURCE if set, or whatever was
+ * passed to {@link #setDataSource}.
  */
 public class Database {
     // Config defaults (overridden by .env)
@@ -20,9 +32,21 @@ public class Database {
     private static String DB_PASS = "root";
     private static String JDBC_DRIVER_JAR;  // path to the .jar
 
+    /** Every key read from .env, for settings owned by other classes. */
+    private static final Map<String,String> CONFIG = new HashMap<>();
+
     // Final JDBC URL
     private static final String JDBC_URL;
 
+    /** The source built from config, used unless {@link #setDataSource} replaces it. */
+    private static final DataSource CONFIGURED;
+    private static volatile DataSource dataSource;
+
+    /** Created on first use so that merely loading the class never connects. */
+    private static volatile ConnectionPool pool;
+    /** Set once the JVM shutdown hook that closes the pool is in place. */
+    private static boolean shutdownHookAdded;
+
     static {
         // 1) Read .env if present
         File envFile = new File(".env");
@@ -35,20 +59,20 @@ public class Database {
                         continue;
                     }
                     String[] parts = line.split("=", 2);
-                    String key = parts[0].trim(), val = parts[1].trim();
-                    switch (key) {
-                        case "DB_HOST"         -> DB_HOST = val;
-                        case "DB_PORT"         -> DB_PORT = val;
-                        case "DB_NAME"         -> DB_NAME = val;
-                        case "DB_USER"         -> DB_USER = val;
-                        case "DB_PASS"         -> DB_PASS = val;
-                        case "JDBC_DRIVER_JAR" -> JDBC_DRIVER_JAR = val;
-                    }
+                    CONFIG.put(parts[0].trim(), parts[1].trim());
                 }
             } catch (IOException e) {
                 throw new ExceptionInInitializerError("Failed reading .env: " + e.getMessage());
             }
         }
+        DB_HOST         = getConfig("DB_HOST", DB_HOST);
+        DB_PORT         = getConfig("DB_PORT", DB_PORT);
+        DB_NAME         = getConfig("DB_NAME", DB_NAME);
+        DB_USER         = getConfig("DB_USER", DB_USER);
+        DB_PASS         = getConfig("DB_PASS", DB_PASS, true);
+        JDBC_DRIVER_JAR = getConfig("JDBC_DRIVER_JAR", null);
+        String url             = getConfig("DB_URL", null);
+        String dataSourceClass = getConfig("DB_DATASOURCE", null);
 
         // 2) Fallback for driver JAR path if not set
         if (JDBC_DRIVER_JAR == null || JDBC_DRIVER_JAR.isBlank()) {
@@ -57,9 +81,11 @@ public class Database {
                             + File.separator + "mysql-connector-j-9.1.0.jar";
         }
 
-        // 3) Load & register the driver
+        // 3) Load & register the driver, when connecting to MySQL through
+        //    DriverManager (other drivers register themselves from the classpath)
         File jarFile = new File(JDBC_DRIVER_JAR);
-        if (jarFile.exists()) {
+        boolean mysql = dataSourceClass == null && (url == null || url.startsWith("jdbc:mysql:"));
+        if (mysql && jarFile.exists()) {
             // Dynamically load the external JAR
             try {
                 URL jarUrl = jarFile.toURI().toURL();
@@ -73,7 +99,7 @@ public class Database {
             } catch (Exception e) {
                 throw new ExceptionInInitializerError("Could not load/register JDBC driver: " + e);
             }
-        } else {
+        } else if (mysql) {
             // Fallback to driver on the classpath
             try {
                 Class.forName("com.mysql.cj.jdbc.Driver");
@@ -84,19 +110,136 @@ public class Database {
             }
         }
 
-        // 4) Build JDBC URL
-        JDBC_URL = String.format(
-            "jdbc:mysql://%s:%s/%s?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC",
-            DB_HOST, DB_PORT, DB_NAME
+        // 4) Build JDBC URL (unless given outright)
+        JDBC_URL = url != null ? url : String.format(
+            "jdbc:mysql://%s:%s/%s?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC"
+            // honour Statement.setFetchSize() with a server-side cursor instead of buffering
+            + "&useCursorFetch=true"
+            // send JDBC batches as multi-row INSERTs
+            + "&rewriteBatchedStatements=true"
+            // server-side prepared statements, reused by the driver per connection
+            + "&useServerPrepStmts=%s&cachePrepStmts=%s"
+            + "&prepStmtCacheSize=%d&prepStmtCacheSqlLimit=%d",
+            DB_HOST, DB_PORT, DB_NAME,
+            getConfig("DB_USE_SERVER_PREP_STMTS", "true"),
+            getConfig("DB_CACHE_PREP_STMTS", "true"),
+            getConfigLong("DB_PREP_STMT_CACHE_SIZE", 250),
+            // BASE_QUERY alone is ~600 characters
+            getConfigLong("DB_PREP_STMT_CACHE_SQL_LIMIT", 4096)
         );
+
+        // 5) Where physical connections come from
+        CONFIGURED = dataSourceClass != null
+            ? newDataSource(dataSourceClass, JDBC_URL, DB_USER, DB_PASS)
+            : new DriverManagerDataSource(JDBC_URL, DB_USER, DB_PASS);
+        dataSource = CONFIGURED;
     }
 
-    /** Returns a new Connection using the loaded driver & config */
+    /**
+     * Borrows a pooled Connection using the loaded driver & config.
+     * Closing it returns it to the pool.
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(JDBC_URL, DB_USER, DB_PASS);
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (Database.class) {
+                if (pool == null) {
+                    pool = new ConnectionPool(dataSource, poolSettings());
+                    if (!shutdownHookAdded) {
+                        Runtime.getRuntime().addShutdownHook(
+                            new Thread(Database::shutdown, "db-pool-shutdown"));
+                        shutdownHookAdded = true;
+                    }
+                }
+                p = pool;
+            }
+        }
+        if (!DaoMetrics.ENABLED) return p.getConnection();
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            Connection c = p.getConnection();
+            ok = true;
+            return c;
+        } finally {
+            DaoMetrics.connectionAcquired(System.nanoTime() - start, ok);
+        }
+    }
+
+    /**
+     * Prepared-statement cache counters for the current pool (all zero
+     * before the first connection); see {@link StatementRegistry#report()}.
+     */
+    public static StatementCache.Stats statementCacheStats() {
+        ConnectionPool p = pool;
+        return p != null ? p.statementCacheStats() : new StatementCache.Stats();
+    }
+
+    /**
+     * Write any buffered audit events, then close all pooled connections;
+     * the next getConnection() starts a fresh pool.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            AuditLog.flush(5000);
+            pool.close();
+            pool = null;
+        }
     }
 
-    /** Quietly close */
+    /**
+     * Serve connections from {@code source} from now on (null = back to
+     * the configured one), e.g. an embedded H2 database in tests. Closes
+     * the current pool and drops everything cached from the old database.
+     */
+    public static synchronized void setDataSource(DataSource source) {
+        shutdown();
+        dataSource = source != null ? source : CONFIGURED;
+        EmployeeCache.invalidateAll();
+        ReferenceDataCache.invalidateAll();
+        NameSearchIndex.invalidate();
+        PayrollAnalytics.invalidate();
+    }
+
+    /**
+     * Raw config value for {@code key} (system property, else .env), or
+     * {@code def} when absent or blank. Lets other classes keep their
+     * settings in the same file.
+     */
+    public static String getConfig(String key, String def) {
+        return getConfig(key, def, false);
+    }
+
+    /** As above; {@code blankAllowed} keeps an explicitly empty value (e.g. no password). */
+    private static String getConfig(String key, String def, boolean blankAllowed) {
+        String v = System.getProperty(key, CONFIG.get(key));
+        return v == null || (v.isBlank() && !blankAllowed) ? def : v;
+    }
+
+    /** Numeric .env value; falls back to {@code def} if missing or malformed. */
+    public static long getConfigLong(String key, long def) {
+        try {
+            return Long.parseLong(getConfig(key, String.valueOf(def)));
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring bad value for " + key + ": " + getConfig(key, null));
+            return def;
+        }
+    }
+
+    /** Pool tunables (DB_POOL_* keys in .env) */
+    private static ConnectionPool.Settings poolSettings() {
+        ConnectionPool.Settings s = new ConnectionPool.Settings();
+        s.minSize          = (int) getConfigLong("DB_POOL_MIN_SIZE", s.minSize);
+        s.maxSize          = (int) getConfigLong("DB_POOL_MAX_SIZE", s.maxSize);
+        s.idleTimeoutMs    = getConfigLong("DB_POOL_IDLE_TIMEOUT_MS", s.idleTimeoutMs);
+        s.maxLifetimeMs    = getConfigLong("DB_POOL_MAX_LIFETIME_MS", s.maxLifetimeMs);
+        s.acquireTimeoutMs = getConfigLong("DB_POOL_ACQUIRE_TIMEOUT_MS", s.acquireTimeoutMs);
+        s.leakThresholdMs  = getConfigLong("DB_POOL_LEAK_THRESHOLD_MS", s.leakThresholdMs);
+        s.statementCacheSize = (int) getConfigLong("DB_STMT_CACHE_SIZE", s.statementCacheSize);
+        return s;
+    }
+
+    /** Quietly close (returns pooled connections to the pool) */
     public static void closeConnection(Connection conn) {
         if (conn != null) {
             try { conn.close(); }
@@ -104,6 +247,69 @@ public class Database {
         }
     }
 
+    /**
+     * An instance of the DataSource class {@code className} (DB_DATASOURCE),
+     * given the URL, user and password through whichever of the usual
+     * setters it has.
+     */
+    private static DataSource newDataSource(String className, String url, String user, String pass) {
+        try {
+            DataSource ds = (DataSource) Class.forName(className).getDeclaredConstructor().newInstance();
+            setProperty(ds, url, "setURL", "setUrl", "setJdbcUrl");
+            setProperty(ds, user, "setUser", "setUsername");
+            setProperty(ds, pass, "setPassword");
+            return ds;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new ExceptionInInitializerError("Could not create DB_DATASOURCE " + className + ": " + e);
+        }
+    }
+
+    /** Call the first of {@code setters} that {@code target} has with {@code value}. */
+    private static void setProperty(Object target, String value, String... setters)
+            throws ReflectiveOperationException {
+        for (String name : setters) {
+            try {
+                Method m = target.getClass().getMethod(name, String.class);
+                m.invoke(target, value);
+                return;
+            } catch (NoSuchMethodException e) {
+                // try the next spelling
+            }
+        }
+    }
+
+    /** Plain DriverManager connections to a URL; the default source. */
+    private static final class DriverManagerDataSource implements DataSource {
+        private final String url, user, pass;
+        private PrintWriter logWriter;
+        private int loginTimeout;
+
+        DriverManagerDataSource(String url, String user, String pass) {
+            this.url  = url;
+            this.user = user;
+            this.pass = pass;
+        }
+
+        public Connection getConnection() throws SQLException {
+            return DriverManager.getConnection(url, user, pass);
+        }
+        public Connection getConnection(String u, String p) throws SQLException {
+            return DriverManager.getConnection(url, u, p);
+        }
+        public PrintWriter getLogWriter()           { return logWriter; }
+        public void setLogWriter(PrintWriter out)   { logWriter = out; }
+        public void setLoginTimeout(int seconds)    { loginTimeout = seconds; }
+        public int getLoginTimeout()                { return loginTimeout; }
+        public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) return iface.cast(this);
+            throw new SQLException("Not a wrapper for " + iface);
+        }
+        public boolean isWrapperFor(Class<?> iface) { return iface.isInstance(this); }
+    }
+
     /**
      * A thin shim so DriverManager can talk to our dynamically loaded driver,
      * avoiding classloader issues.
@@ -0,0 +1,142 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import model.Employee;
+
+/**
+ * Read-through cache of full employee records for
+ * {@link EmployeeDAO#getEmployee}, keyed by empid. Holds at most
+ * EMPLOYEE_CACHE_SIZE records (default 1000, 0 = off), least recently used
+ * evicted first, each for at most EMPLOYEE_CACHE_TTL_MS (default 1 minute)
+ * so edits made outside this program show up eventually.
+ *
+ * EmployeeDAO and SalaryAdjustmentJob invalidate a record whenever they
+ * write to it. Records are copied in and out, so callers may edit what
+ * they get back without touching the cached copy.
+ */
+public class EmployeeCache {
+    private static final int MAX_SIZE =
+        (int) Math.max(0, Database.getConfigLong("EMPLOYEE_CACHE_SIZE", 1000));
+    private static final long TTL_MS = Database.getConfigLong("EMPLOYEE_CACHE_TTL_MS", 60_000L);
+
+    private static final AtomicLong HITS      = new AtomicLong();
+    private static final AtomicLong MISSES    = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    /** Access-ordered, so the eldest entry is the least recently used. Guarded by itself. */
+    private static final LinkedHashMap<Integer, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            if (size() <= MAX_SIZE) return false;
+            EVICTIONS.incrementAndGet();
+            return true;
+        }
+    };
+    /**
+     * Bumped by every invalidation (guarded by ENTRIES). A load that
+     * overlapped one may have read the old row, so it is returned but
+     * not cached.
+     */
+    private static long generation;
+
+    /**
+     * The cached copy of {@code empId}, or else {@code loader}'s result
+     * (cached unless null). The database is not locked while loading, so
+     * two threads missing on the same id may both load it.
+     */
+    static Employee get(int empId, IntFunction<Employee> loader) {
+        if (MAX_SIZE == 0) return loader.apply(empId);
+        long gen;
+        synchronized (ENTRIES) {
+            Entry e = ENTRIES.get(empId);
+            if (e != null && System.currentTimeMillis() - e.loadedAt < TTL_MS) {
+                HITS.incrementAndGet();
+                return new Employee(e.employee);
+            }
+            if (e != null) {
+                ENTRIES.remove(empId);
+                EVICTIONS.incrementAndGet();
+            }
+            gen = generation;
+        }
+        MISSES.incrementAndGet();
+        Employee loaded = loader.apply(empId);
+        if (loaded != null) {
+            Entry e = new Entry(new Employee(loaded), System.currentTimeMillis());
+            synchronized (ENTRIES) {
+                if (generation == gen) ENTRIES.put(empId, e);
+            }
+        }
+        return loaded;
+    }
+
+    /** Drop one employee; call after any write to its employees or address row. */
+    public static void invalidate(int empId) {
+        synchronized (ENTRIES) {
+            generation++;
+            ENTRIES.remove(empId);
+        }
+    }
+
+    /**
+     * Drop cached employees with empid in [fromEmpid, toEmpid] whose
+     * salary is in [minSalary, maxSalary], i.e. those a bulk salary
+     * update of that range may have changed.
+     */
+    public static void invalidateSalaryRange(int fromEmpid, int toEmpid,
+                                             double minSalary, double maxSalary) {
+        synchronized (ENTRIES) {
+            generation++;
+            for (Iterator<Entry> it = ENTRIES.values().iterator(); it.hasNext(); ) {
+                Employee emp = it.next().employee;
+                if (emp.getEmpid() >= fromEmpid && emp.getEmpid() <= toEmpid
+                        && emp.getSalary() >= minSalary && emp.getSalary() <= maxSalary) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /** Drop every cached employee. */
+    public static void invalidateAll() {
+        synchronized (ENTRIES) {
+            generation++;
+            ENTRIES.clear();
+        }
+    }
+
+    /** @return lookups served from memory. */
+    public static long hits() { return HITS.get(); }
+
+    /** @return lookups that went to the database. */
+    public static long misses() { return MISSES.get(); }
+
+    /** @return records dropped for space or age (not by invalidation). */
+    public static long evictions() { return EVICTIONS.get(); }
+
+    /** @return records currently cached. */
+    public static int size() {
+        synchronized (ENTRIES) {
+            return ENTRIES.size();
+        }
+    }
+
+    /** One-line summary of the counters above. */
+    public static String report() {
+        long hits = hits(), misses = misses();
+        return String.format("Employee cache: %d hits, %d misses (%.1f%% hit rate), %d evictions, %d cached%n",
+            hits, misses, hits + misses == 0 ? 0.0 : 100.0 * hits / (hits + misses), evictions(), size());
+    }
+
+    private static final class Entry {
+        final Employee employee;
+        final long loadedAt;
+
+        Entry(Employee employee, long loadedAt) {
+            this.employee = employee;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,12 +1,28 @@
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.LinkedHashMap;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import model.Employee;
+import model.EmployeeField;
+import model.EmployeeRowMapper;
+import model.EmployeeSummary;
 import model.PayStatement;
 import model.City;
 import model.State;
 
 public class EmployeeDAO {
+    /** Outcome of {@link #saveEmployee}. */
+    public enum SaveResult {
+        /** Committed (or there was nothing to change). */
+        SAVED,
+        /** Someone else changed or deleted the record since it was loaded; nothing was written. */
+        CONFLICT,
+        /** Database error; nothing was written. */
+        FAILED
+    }
+
     // Only these fields may be updated via updateEmployee(...)
     private static final Set<String> ALLOWED_FIELDS = Set.of(
         "Fname", "Lname", "email", "phone_number",
@@ -18,6 +34,7 @@ public class EmployeeDAO {
         "SELECT e.empid, e.Fname, e.Lname, e.email, e.phone_number, " +
         "e.gender, e.race, e.SSN, e.DOB, e.HireDate, e.Salary, " +
         "a.street, a.city_id, a.state_id, a.zip, " +
+        "e.version, a.version AS address_version, " +
         "jt.job_title, d.Name AS division_name " +
         "FROM employees e " +
         "LEFT JOIN address a ON e.empid = a.empid " +
@@ -26,58 +43,236 @@ public class EmployeeDAO {
         "LEFT JOIN employee_division ed ON e.empid = ed.empid " +
         "LEFT JOIN division d ON ed.div_ID = d.ID";
 
-    /** Authenticate admin or employee */
+    // List-screen columns only (see EmployeeSummary): no SSN, demographics
+    // or versions, and no address join
+    private static final String SUMMARY_QUERY =
+        "SELECT e.empid, e.Fname, e.Lname, e.email, e.phone_number, " +
+        "e.DOB, e.HireDate, e.Salary, " +
+        "jt.job_title, d.Name AS division_name " +
+        "FROM employees e " +
+        "LEFT JOIN employee_job_titles ejt ON e.empid = ejt.empid " +
+        "LEFT JOIN job_titles jt ON ejt.job_title_id = jt.job_title_id " +
+        "LEFT JOIN employee_division ed ON e.empid = ed.empid " +
+        "LEFT JOIN division d ON ed.div_ID = d.ID";
+
+    // SELECT for pay statements; callers append WHERE / ORDER BY
+    private static final String PAY_QUERY =
+        "SELECT p.empid, CONCAT(e.Fname,' ',e.Lname) AS name, p.pay_date, " +
+        "p.earnings, jt.job_title, d.Name AS division_name " +
+        "FROM payroll p " +
+        "JOIN employees e ON p.empid = e.empid " +
+        "LEFT JOIN employee_job_titles ejt ON e.empid = ejt.empid " +
+        "LEFT JOIN job_titles jt ON ejt.job_title_id = jt.job_title_id " +
+        "LEFT JOIN employee_division ed ON e.empid = ed.empid " +
+        "LEFT JOIN division d ON ed.div_ID = d.ID";
+
+    // Fixed statements, registered by name (see StatementRegistry) so each
+    // call prepares identical text and is served from the statement cache
+    private static final String AUTHENTICATE_SQL = StatementRegistry.register("authenticate",
+        "SELECT empid FROM employees WHERE CONCAT(Fname,'_',Lname)=? AND empid=?");
+    private static final String GET_EMPLOYEE_SQL = StatementRegistry.register("getEmployee",
+        BASE_QUERY + " WHERE e.empid = ?");
+    // Literal, case-insensitive substring test on the name, like NameSearchIndex; bind nameContains(...)
+    private static final String NAME_CONTAINS = "LOWER(CONCAT(e.Fname,' ',e.Lname)) LIKE ? ESCAPE '!'";
+    private static final String SEARCH_BY_NAME_SQL = StatementRegistry.register("searchByName",
+        BASE_QUERY + " WHERE " + NAME_CONTAINS);
+    private static final String SEARCH_BY_DOB_SQL = StatementRegistry.register("searchByDOB",
+        BASE_QUERY + " WHERE e.DOB = ?");
+    private static final String SEARCH_BY_SSN_SQL = StatementRegistry.register("searchBySSN",
+        BASE_QUERY + " WHERE e.SSN = ?");
+    private static final String SEARCH_BY_SSN_PREFIX_SQL = StatementRegistry.register("searchBySsnPrefix",
+        BASE_QUERY + " WHERE e.SSN LIKE ? ORDER BY e.SSN LIMIT ?");
+    private static final String SEARCH_NAME_PAGE_SQL = StatementRegistry.register("searchByNamePage",
+        BASE_QUERY + " WHERE " + NAME_CONTAINS + " AND e.empid > ? ORDER BY e.empid LIMIT ?");
+    private static final String SEARCH_DOB_PAGE_SQL = StatementRegistry.register("searchByDOBPage",
+        BASE_QUERY + " WHERE e.DOB = ? AND e.empid > ? ORDER BY e.empid LIMIT ?");
+    private static final String SUMMARY_NAME_PAGE_SQL = StatementRegistry.register("summaryByNamePage",
+        SUMMARY_QUERY + " WHERE " + NAME_CONTAINS + " AND e.empid > ? ORDER BY e.empid LIMIT ?");
+    private static final String SUMMARY_DOB_PAGE_SQL = StatementRegistry.register("summaryByDOBPage",
+        SUMMARY_QUERY + " WHERE e.DOB = ? AND e.empid > ? ORDER BY e.empid LIMIT ?");
+    private static final String PAY_HISTORY_SQL = StatementRegistry.register("payHistory",
+        PAY_QUERY + " WHERE p.empid = ? ORDER BY p.empid, p.pay_date DESC");
+    private static final String PAY_HISTORY_ALL_SQL = StatementRegistry.register("payHistoryAll",
+        PAY_QUERY + " ORDER BY p.empid, p.pay_date DESC");
+    private static final String PAY_PAGE_SQL = StatementRegistry.register("payPage",
+        PAY_QUERY + " WHERE p.empid = ? ORDER BY p.empid, p.pay_date DESC LIMIT ?");
+    private static final String PAY_PAGE_AFTER_SQL = StatementRegistry.register("payPageAfter",
+        PAY_QUERY + " WHERE p.empid = ? AND p.pay_date < ? ORDER BY p.empid, p.pay_date DESC LIMIT ?");
+    private static final String PAY_PAGE_ALL_SQL = StatementRegistry.register("payPageAll",
+        PAY_QUERY + " ORDER BY p.empid, p.pay_date DESC LIMIT ?");
+    private static final String PAY_PAGE_ALL_AFTER_SQL = StatementRegistry.register("payPageAllAfter",
+        PAY_QUERY + " WHERE (p.empid > ? OR (p.empid = ? AND p.pay_date < ?))"
+        + " ORDER BY p.empid, p.pay_date DESC LIMIT ?");
+    private static final String INSERT_PAY_STATEMENT_SQL = StatementRegistry.register("insertPayStatement",
+        "INSERT INTO payroll(empid,pay_date,earnings) VALUES (?,?,?)");
+    private static final String UPDATE_ADDRESS_SQL = StatementRegistry.register("updateAddress",
+        "UPDATE address SET street=?, city_id=?, state_id=?, zip=?, version = version + 1 WHERE empid=?");
+    // getEmployees: an IN-list is padded up to the next of these sizes, so
+    // only this many distinct statements are ever prepared
+    private static final int[] IN_LIST_SIZES = {1, 8, 32, 128, 500};
+    private static final String[] IN_LIST_SQL = new String[IN_LIST_SIZES.length];
+    private static final String[] SUMMARY_IN_LIST_SQL = new String[IN_LIST_SIZES.length];
+    static {
+        for (int i = 0; i < IN_LIST_SIZES.length; i++) {
+            int n = IN_LIST_SIZES[i];
+            String in = " WHERE e.empid IN (" + String.join(",", Collections.nCopies(n, "?")) + ")";
+            IN_LIST_SQL[i] = StatementRegistry.register("getEmployees" + n, BASE_QUERY + in);
+            SUMMARY_IN_LIST_SQL[i] = StatementRegistry.register("getSummaries" + n, SUMMARY_QUERY + in);
+        }
+    }
+    // deleteEmployee, children first
+    private static final String[] DELETE_EMPLOYEE_SQL = {
+        StatementRegistry.register("deleteAddress", "DELETE FROM address WHERE empid = ?"),
+        StatementRegistry.register("deletePayroll", "DELETE FROM payroll WHERE empid = ?"),
+        StatementRegistry.register("deleteJobTitle", "DELETE FROM employee_job_titles WHERE empid = ?"),
+        StatementRegistry.register("deleteDivision", "DELETE FROM employee_division WHERE empid = ?"),
+        StatementRegistry.register("deleteEmployee", "DELETE FROM employees WHERE empid = ?")
+    };
+
+    // INSERTs for a new hire; shared with EmployeeImporter's batched path
+    static final String INSERT_EMPLOYEE_SQL = StatementRegistry.register("insertEmployee",
+        "INSERT INTO employees " +
+        "(Fname,Lname,email,phone_number,gender,race,SSN,DOB,HireDate,Salary) " +
+        "VALUES (?,?,?,?,?,?,?,?,?,?)");
+    static final String INSERT_JOB_TITLE_SQL = StatementRegistry.register("insertJobTitle",
+        "INSERT INTO employee_job_titles(empid,job_title_id) VALUES (?,?)");
+    static final String INSERT_DIVISION_SQL = StatementRegistry.register("insertDivision",
+        "INSERT INTO employee_division(empid,div_ID) VALUES (?,?)");
+    static final String INSERT_ADDRESS_SQL = StatementRegistry.register("insertAddress",
+        "INSERT INTO address(empid,street,city_id,state_id,zip) VALUES (?,?,?,?,?)");
+
+    // Period reports. Filtering on a half-open pay_date range (rather than
+    // YEAR()/MONTH()) lets MySQL use idx_payroll_date_emp_earnings.
+    static final String TOTAL_PAY_BY_JOB_TITLE_SQL = StatementRegistry.register("totalPayByJobTitle",
+        "SELECT jt.job_title, SUM(p.earnings) AS total_pay " +
+        "FROM payroll p " +
+        "JOIN employee_job_titles ejt ON p.empid = ejt.empid " +
+        "JOIN job_titles jt ON ejt.job_title_id = jt.job_title_id " +
+        "WHERE p.pay_date >= ? AND p.pay_date < ? " +
+        "GROUP BY jt.job_title " +
+        "ORDER BY total_pay DESC");
+    static final String TOTAL_PAY_BY_DIVISION_SQL = StatementRegistry.register("totalPayByDivision",
+        "SELECT d.Name AS division_name, SUM(p.earnings) AS total_pay " +
+        "FROM payroll p " +
+        "JOIN employee_division ed ON p.empid = ed.empid " +
+        "JOIN division d ON ed.div_ID = d.ID " +
+        "WHERE p.pay_date >= ? AND p.pay_date < ? " +
+        "GROUP BY d.Name " +
+        "ORDER BY total_pay DESC");
+
+    // Rows per round trip when streaming pay history
+    private static final int PAY_HISTORY_FETCH_SIZE = 500;
+
+    /** Authenticate admin or employee; later writes are audited as that user */
     public static String authenticateUser(String username, String password) {
+        AuditLog.clearActor();  // a failed attempt must not keep the previous user's name on changes
         if ("admin".equals(username) && "admin123".equals(password)) {
+            AuditLog.setActor("admin", 0);
             return "admin|0";
         }
-        try (Connection conn = Database.getConnection()) {
-            String sql = "SELECT empid FROM employees WHERE CONCAT(Fname,'_',Lname)=? AND empid=?";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        DaoMetrics.Timer t = DaoMetrics.start("authenticate");
+        try (t; Connection conn = Database.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(AUTHENTICATE_SQL)) {
                 stmt.setString(1, username);
                 stmt.setInt(2, Integer.parseInt(password));
                 try (ResultSet rs = stmt.executeQuery()) {
+                    t.executed();
                     if (rs.next()) {
+                        AuditLog.setActor("employee", rs.getInt("empid"));
+                        t.rows(1);
                         return "employee|" + rs.getInt("empid");
                     }
                 }
             }
         } catch (Exception e) {
+            t.failed();
             System.err.println("Authentication error: " + e.getMessage());
         }
         return null;
     }
 
-    /** Fetch a single employee (with address & demographics) */
+    /**
+     * Fetch a single employee (with address & demographics), from
+     * {@link EmployeeCache} when it has a fresh copy.
+     */
     public static Employee getEmployee(int empId) {
-        String sql = BASE_QUERY + " WHERE e.empid = ?";
+        try (DaoMetrics.Timer t = DaoMetrics.start("getEmployee")) {
+            Employee emp = EmployeeCache.get(empId, id -> loadEmployee(t, id));
+            if (emp != null) t.rows(1);
+            return emp;
+        }
+    }
+
+    private static Employee loadEmployee(DaoMetrics.Timer t, int empId) {
         try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_EMPLOYEE_SQL)) {
             stmt.setInt(1, empId);
             try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
                 if (rs.next()) {
                     return Employee.fromResultSet(rs);
                 }
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error getting employee: " + e.getMessage());
         }
         return null;
     }
 
-    /** Search by full or partial name */
+    /**
+     * Search by full or partial name (case-insensitive), in empid order.
+     * Served from {@link NameSearchIndex}; falls back to SQL without it.
+     */
     public static List<Employee> searchByName(String name) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("searchByName")) {
+            List<Integer> ids = NameSearchIndex.matches(name, 0, Integer.MAX_VALUE);
+            List<Employee> results = ids != null ? new ArrayList<>(getEmployees(ids).values())
+                                                 : searchByNameSql(t, name);
+            t.rows(results.size());
+            return results;
+        }
+    }
+
+    /**
+     * The {@code limit} best name matches: exact name first, then names
+     * starting with {@code name}, then a word starting with it, then any
+     * substring (see {@link NameSearchIndex#search}).
+     */
+    public static List<Employee> searchByName(String name, int limit) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("searchByNameBest")) {
+            List<Integer> ids = NameSearchIndex.search(name, limit);
+            List<Employee> results = ids != null ? new ArrayList<>(getEmployees(ids).values())
+                                                 : searchByName(name, 0, limit);
+            t.rows(results.size());
+            return results;
+        }
+    }
+
+    /**
+     * LIKE pattern for {@link #NAME_CONTAINS}: {@code name} lower-cased as
+     * NameSearchIndex does, with %, _ and the escape character ! escaped so
+     * they match only themselves.
+     */
+    static String nameContains(String name) {
+        String q = NameSearchIndex.normalize(name);
+        return "%" + q.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private static List<Employee> searchByNameSql(DaoMetrics.Timer t, String name) {
         List<Employee> results = new ArrayList<>();
-        String sql = BASE_QUERY + " WHERE CONCAT(e.Fname,' ',e.Lname) LIKE ?";
         try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, "%" + name + "%");
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_BY_NAME_SQL)) {
+            stmt.setString(1, nameContains(name));
             try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
+                EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rs);
                 while (rs.next()) {
-                    results.add(Employee.fromResultSet(rs));
+                    results.add(mapper.map(rs));
                 }
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error searching by name: " + e.getMessage());
         }
         return results;
@@ -86,103 +281,435 @@ public class EmployeeDAO {
     /** Search by date of birth (YYYY-MM-DD) */
     public static List<Employee> searchByDOB(String dob) {
         List<Employee> results = new ArrayList<>();
-        String sql = BASE_QUERY + " WHERE e.DOB = ?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        DaoMetrics.Timer t = DaoMetrics.start("searchByDOB");
+        try (t; Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_BY_DOB_SQL)) {
             stmt.setString(1, dob);
             try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
+                EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rs);
                 while (rs.next()) {
-                    results.add(Employee.fromResultSet(rs));
+                    results.add(mapper.map(rs));
                 }
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error searching by DOB: " + e.getMessage());
         }
+        t.rows(results.size());
         return results;
     }
 
     /** Search by SSN */
     public static List<Employee> searchBySSN(String ssn) {
         List<Employee> results = new ArrayList<>();
-        String sql = BASE_QUERY + " WHERE e.SSN = ?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        DaoMetrics.Timer t = DaoMetrics.start("searchBySSN");
+        try (t; Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_BY_SSN_SQL)) {
             stmt.setString(1, ssn);
             try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
+                EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rs);
                 while (rs.next()) {
-                    results.add(Employee.fromResultSet(rs));
+                    results.add(mapper.map(rs));
                 }
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error searching by SSN: " + e.getMessage());
         }
+        t.rows(results.size());
+        return results;
+    }
+
+    /**
+     * One page of a name search, ordered by empid. Pass the last empid of
+     * the previous page as {@code afterEmpId} (0 for the first page).
+     */
+    public static List<Employee> searchByName(String name, int afterEmpId, int limit) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("searchByNamePage")) {
+            List<Integer> ids = NameSearchIndex.matches(name, afterEmpId, limit);
+            List<Employee> page = ids != null
+                ? new ArrayList<>(getEmployees(ids).values())
+                : searchPage(t, SEARCH_NAME_PAGE_SQL, nameContains(name), afterEmpId, limit, "name");
+            t.rows(page.size());
+            return page;
+        }
+    }
+
+    /** One page of a date-of-birth search, ordered by empid (see searchByName). */
+    public static List<Employee> searchByDOB(String dob, int afterEmpId, int limit) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("searchByDOBPage")) {
+            List<Employee> page = searchPage(t, SEARCH_DOB_PAGE_SQL, dob, afterEmpId, limit, "DOB");
+            t.rows(page.size());
+            return page;
+        }
+    }
+
+    /**
+     * Employees whose empid starts with the given digits (typeahead), in
+     * empid order: "12" matches 12, 120-129, 1200-1299, ... Each length is
+     * a primary-key range, so only {@code limit} rows are read.
+     */
+    public static List<Employee> searchByIdPrefix(String digits, int limit) {
+        List<Employee> results = new ArrayList<>();
+        if (!digits.matches("[1-9][0-9]{0,9}")) return results;
+        List<long[]> ranges = new ArrayList<>();
+        for (long lo = Long.parseLong(digits), width = 1; lo <= Integer.MAX_VALUE; lo *= 10, width *= 10) {
+            ranges.add(new long[]{ lo, Math.min(lo + width - 1, Integer.MAX_VALUE) });
+        }
+        if (ranges.isEmpty()) return results;  // a 10-digit prefix past the largest empid
+        StringJoiner where = new StringJoiner(" OR ");
+        for (int i = 0; i < ranges.size(); i++) where.add("e.empid BETWEEN ? AND ?");
+        String sql = BASE_QUERY + " WHERE " + where + " ORDER BY e.empid LIMIT ?";
+        DaoMetrics.Timer t = DaoMetrics.start("searchByIdPrefix");
+        try (t; Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (long[] r : ranges) {
+                stmt.setInt(i++, (int) r[0]);
+                stmt.setInt(i++, (int) r[1]);
+            }
+            stmt.setInt(i, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
+                EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    results.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            t.failed();
+            System.err.println("Error searching by ID prefix: " + e.getMessage());
+        }
+        t.rows(results.size());
+        return results;
+    }
+
+    /**
+     * Employees whose SSN starts with {@code prefix} (typeahead), in SSN
+     * order. Dashes are optional in the prefix; "12345" is read as "123-45".
+     * Uses idx_employees_ssn.
+     */
+    public static List<Employee> searchBySsnPrefix(String prefix, int limit) {
+        List<Employee> results = new ArrayList<>();
+        String digits = prefix.replaceAll("[^0-9]", "");
+        if (digits.isEmpty() || digits.length() > 9) return results;
+        StringBuilder ssn = new StringBuilder(digits);
+        if (ssn.length() > 5) ssn.insert(5, '-');
+        if (ssn.length() > 3) ssn.insert(3, '-');
+        DaoMetrics.Timer t = DaoMetrics.start("searchBySsnPrefix");
+        try (t; Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_BY_SSN_PREFIX_SQL)) {
+            stmt.setString(1, ssn + "%");
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
+                EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    results.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            t.failed();
+            System.err.println("Error searching by SSN prefix: " + e.getMessage());
+        }
+        t.rows(results.size());
+        return results;
+    }
+
+    /** Keyset-paged BASE_QUERY: {@code sql} takes (value, afterEmpId, limit) */
+    private static List<Employee> searchPage(DaoMetrics.Timer t, String sql, String value,
+                                             int afterEmpId, int limit, String what) {
+        return searchPage(t, sql, value, afterEmpId, limit, what, EmployeeRowMapper::map);
+    }
+
+    private static <T> List<T> searchPage(DaoMetrics.Timer t, String sql, String value, int afterEmpId,
+                                          int limit, String what, RowReader<T> reader) {
+        List<T> results = new ArrayList<>();
+        try (Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, value);
+            stmt.setInt(2, afterEmpId);
+            stmt.setInt(3, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
+                EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rs);
+                while (rs.next()) {
+                    results.add(reader.read(mapper, rs));
+                }
+            }
+        } catch (SQLException e) {
+            t.failed();
+            System.err.println("Error searching by " + what + ": " + e.getMessage());
+        }
+        return results;
+    }
+
+    /** Reads the current row with a mapper resolved for its ResultSet. */
+    @FunctionalInterface
+    private interface RowReader<T> {
+        T read(EmployeeRowMapper mapper, ResultSet rs) throws SQLException;
+    }
+
+    // ── List-screen summaries ──
+
+    /** {@link #searchByName(String, int)} as summaries. */
+    public static List<EmployeeSummary> searchSummariesByName(String name, int limit) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("searchSummariesByNameBest")) {
+            List<Integer> ids = NameSearchIndex.search(name, limit);
+            List<EmployeeSummary> results = ids != null
+                ? new ArrayList<>(getEmployeeSummaries(ids).values())
+                : searchSummariesByName(name, 0, limit);
+            t.rows(results.size());
+            return results;
+        }
+    }
+
+    /** One page of a name search as summaries (see {@link #searchByName(String, int, int)}). */
+    public static List<EmployeeSummary> searchSummariesByName(String name, int afterEmpId, int limit) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("searchSummariesByNamePage")) {
+            List<Integer> ids = NameSearchIndex.matches(name, afterEmpId, limit);
+            List<EmployeeSummary> page = ids != null
+                ? new ArrayList<>(getEmployeeSummaries(ids).values())
+                : searchPage(t, SUMMARY_NAME_PAGE_SQL, nameContains(name), afterEmpId, limit, "name",
+                             EmployeeRowMapper::mapSummary);
+            t.rows(page.size());
+            return page;
+        }
+    }
+
+    /** One page of a date-of-birth search as summaries, ordered by empid. */
+    public static List<EmployeeSummary> searchSummariesByDOB(String dob, int afterEmpId, int limit) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("searchSummariesByDOBPage")) {
+            List<EmployeeSummary> page = searchPage(t, SUMMARY_DOB_PAGE_SQL, dob, afterEmpId, limit,
+                                                    "DOB", EmployeeRowMapper::mapSummary);
+            t.rows(page.size());
+            return page;
+        }
+    }
+
+    /** {@link #getEmployees} as summaries. */
+    public static Map<Integer, EmployeeSummary> getEmployeeSummaries(Collection<Integer> ids) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("getEmployeeSummaries")) {
+            return fetchByIds(t, ids, SUMMARY_IN_LIST_SQL, EmployeeRowMapper::mapSummary,
+                              EmployeeSummary::getEmpid);
+        }
+    }
+
+    /**
+     * Fetch several employees in a few round trips, keyed by empid in the
+     * order of {@code ids}; ids with no employee are left out, duplicates
+     * are fetched once. Queried on one connection in IN-lists of up to 500,
+     * each padded (by repeating an id) to one of IN_LIST_SIZES.
+     */
+    public static Map<Integer, Employee> getEmployees(Collection<Integer> ids) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("getEmployees")) {
+            return fetchByIds(t, ids, IN_LIST_SQL, EmployeeRowMapper::map, Employee::getEmpid);
+        }
+    }
+
+    private static <T> Map<Integer, T> fetchByIds(DaoMetrics.Timer t, Collection<Integer> ids,
+                                                  String[] inListSql, RowReader<T> reader,
+                                                  ToIntFunction<T> idOf) {
+        int[] distinct = ids.stream().filter(Objects::nonNull)
+                            .mapToInt(Integer::intValue).distinct().toArray();
+        Map<Integer, T> fetched = new HashMap<>();
+        int max = IN_LIST_SIZES[IN_LIST_SIZES.length - 1];
+        try (Connection conn = Database.getConnection()) {
+            for (int from = 0; from < distinct.length; from += max) {
+                int n = Math.min(max, distinct.length - from);
+                int b = 0;
+                while (IN_LIST_SIZES[b] < n) b++;
+                try (PreparedStatement stmt = conn.prepareStatement(inListSql[b])) {
+                    for (int i = 0; i < IN_LIST_SIZES[b]; i++) {
+                        stmt.setInt(i + 1, distinct[from + Math.min(i, n - 1)]);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        t.executed();
+                        EmployeeRowMapper mapper = EmployeeRowMapper.forResultSet(rs);
+                        while (rs.next()) {
+                            T row = reader.read(mapper, rs);
+                            fetched.put(idOf.applyAsInt(row), row);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            t.failed();
+            System.err.println("Error fetching employees: " + e.getMessage());
+        }
+        Map<Integer, T> results = new LinkedHashMap<>();
+        for (int id : distinct) {
+            T row = fetched.get(id);
+            if (row != null) results.put(id, row);
+        }
+        t.rows(results.size());
         return results;
     }
 
     /** Get pay‐statement history (0 = all employees) */
     public static List<PayStatement> getPayStatementHistory(int empId) {
         List<PayStatement> history = new ArrayList<>();
-        String sql =
-          "SELECT p.empid, CONCAT(e.Fname,' ',e.Lname) AS name, p.pay_date, " +
-          "p.earnings, jt.job_title, d.Name AS division_name " +
-          "FROM payroll p " +
-          "JOIN employees e ON p.empid = e.empid " +
-          "LEFT JOIN employee_job_titles ejt ON e.empid = ejt.empid " +
-          "LEFT JOIN job_titles jt ON ejt.job_title_id = jt.job_title_id " +
-          "LEFT JOIN employee_division ed ON e.empid = ed.empid " +
-          "LEFT JOIN division d ON ed.div_ID = d.ID " +
-          "WHERE (? = 0 OR p.empid = ?) " +
-          "ORDER BY p.empid, p.pay_date DESC";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, empId);
-            stmt.setInt(2, empId);
+        forEachPayStatement(empId, history::add);
+        return history;
+    }
+
+    /**
+     * Stream pay‐statement history (0 = all employees) to {@code sink} one row
+     * at a time, in the same order as {@link #getPayStatementHistory(int)}.
+     * Rows are fetched from a forward-only cursor in batches of
+     * PAY_HISTORY_FETCH_SIZE, so memory use does not grow with the result.
+     * @return number of statements delivered
+     */
+    public static int forEachPayStatement(int empId, Consumer<PayStatement> sink) {
+        String sql = empId == 0 ? PAY_HISTORY_ALL_SQL : PAY_HISTORY_SQL;
+        int count = 0;
+        DaoMetrics.Timer t = DaoMetrics.start("forEachPayStatement");
+        try (t; Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(PAY_HISTORY_FETCH_SIZE);
+            if (empId != 0) stmt.setInt(1, empId);
             try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
                 while (rs.next()) {
-                    history.add(new PayStatement(
-                        rs.getInt("empid"),
-                        rs.getString("name"),
-                        rs.getDate("pay_date").toLocalDate(),
-                        rs.getDouble("earnings"),
-                        rs.getDouble("earnings"), // netPay = earnings for now
-                        0,                        // hoursWorked (not stored)
-                        rs.getString("job_title"),
-                        rs.getString("division_name")
-                    ));
+                    sink.accept(mapPayStatement(rs));
+                    count++;
                 }
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error fetching pay statements: " + e.getMessage());
         }
-        return history;
+        t.rows(count);
+        return count;
     }
 
-    /** Bulk salary update by percentage within a range */
-    public static int updateSalariesInRange(double minSalary, double maxSalary, double pct) {
-        String sql = "UPDATE employees SET Salary = Salary * (1 + ?/100) WHERE Salary BETWEEN ? AND ?";
-        try (Connection conn = Database.getConnection();
+    /**
+     * One page of pay‐statement history (0 = all employees), ordered by
+     * empid then pay date descending. Uses keyset pagination: pass the last
+     * statement of the previous page as {@code after} (null for the first
+     * page), so each page costs the same no matter how deep it is.
+     * Assumes at most one statement per employee per pay date.
+     */
+    public static List<PayStatement> getPayStatementPage(int empId, PayStatement after, int limit) {
+        List<PayStatement> page = new ArrayList<>();
+        String sql = empId != 0
+            ? (after == null ? PAY_PAGE_SQL : PAY_PAGE_AFTER_SQL)
+            : (after == null ? PAY_PAGE_ALL_SQL : PAY_PAGE_ALL_AFTER_SQL);
+
+        DaoMetrics.Timer t = DaoMetrics.start("getPayStatementPage");
+        try (t; Connection conn = Database.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setDouble(1, pct);
-            stmt.setDouble(2, minSalary);
-            stmt.setDouble(3, maxSalary);
-            return stmt.executeUpdate();
+            int i = 1;
+            if (empId != 0) {
+                stmt.setInt(i++, empId);
+                if (after != null) stmt.setDate(i++, java.sql.Date.valueOf(after.getPayDate()));
+            } else if (after != null) {
+                stmt.setInt(i++, after.getEmployeeId());
+                stmt.setInt(i++, after.getEmployeeId());
+                stmt.setDate(i++, java.sql.Date.valueOf(after.getPayDate()));
+            }
+            stmt.setInt(i, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
+                while (rs.next()) {
+                    page.add(mapPayStatement(rs));
+                }
+            }
         } catch (SQLException e) {
-            System.err.println("Error updating salaries: " + e.getMessage());
+            t.failed();
+            System.err.println("Error fetching pay statement page: " + e.getMessage());
+        }
+        t.rows(page.size());
+        return page;
+    }
+
+    private static PayStatement mapPayStatement(ResultSet rs) throws SQLException {
+        return new PayStatement(
+            rs.getInt("empid"),
+            rs.getString("name"),
+            rs.getDate("pay_date").toLocalDate(),
+            rs.getDouble("earnings"),
+            rs.getDouble("earnings"), // netPay = earnings for now
+            0,                        // hoursWorked (not stored)
+            rs.getString("job_title"),
+            rs.getString("division_name")
+        );
+    }
+
+    /**
+     * Record a payroll payment and add it to the monthly rollup in the
+     * same transaction.
+     */
+    public static boolean insertPayStatement(int empId, LocalDate payDate, double earnings) {
+        DaoMetrics.Timer t = DaoMetrics.start("insertPayStatement");
+        try (t; Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_PAY_STATEMENT_SQL)) {
+                    stmt.setInt(1, empId);
+                    stmt.setDate(2, java.sql.Date.valueOf(payDate));
+                    stmt.setDouble(3, earnings);
+                    t.rows(stmt.executeUpdate());
+                }
+                int[] group = PayrollRollup.groupOf(conn, empId);
+                PayrollRollup.Delta delta = new PayrollRollup.Delta();
+                delta.add(group[0], group[1], payDate, earnings, 1);
+                delta.apply(conn);
+                conn.commit();
+                AuditLog.record("INSERT", empId, "earnings", null, earnings);
+                PayrollAnalytics.invalidate();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            t.failed();
+            System.err.println("Error inserting pay statement: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Bulk salary update by percentage within a range, run to completion
+     * as a {@link SalaryAdjustmentJob} (committed in chunks; resumable from
+     * {@link SalaryAdjustmentJob#unfinished()} if interrupted).
+     * @return number of salaries updated
+     */
+    public static int updateSalariesInRange(double minSalary, double maxSalary, double pct) {
+        try (DaoMetrics.Timer t = DaoMetrics.start("updateSalariesInRange")) {
+            int jobId = SalaryAdjustmentJob.create(minSalary, maxSalary, pct);
+            if (jobId < 0) {
+                t.failed();
+                return 0;
+            }
+            SalaryAdjustmentJob.Job job = SalaryAdjustmentJob.run(jobId, null, () -> false);
+            if (job == null) {
+                t.failed();
+                job = SalaryAdjustmentJob.get(jobId);  // chunks committed before a failure
+            }
+            int updated = job == null ? 0 : job.rowsUpdated;
+            t.rows(updated);
+            return updated;
         }
-        return 0;
     }
 
     /**
      * Update a single employee field (including SSN, demographics).
-     * Rejects any field not explicitly whitelisted.
+     * Rejects any field not explicitly whitelisted. The audit log gets no
+     * previous value; use saveEmployee when the record is already loaded.
      */
     public static boolean updateEmployee(int empId, String fieldName, String value) {
         if (!ALLOWED_FIELDS.contains(fieldName)) {
             System.err.println("Attempt to update invalid field: " + fieldName);
             return false;
         }
-        String sql = "UPDATE employees SET " + fieldName + " = ? WHERE empid = ?";
-        try (Connection conn = Database.getConnection();
+        String sql = "UPDATE employees SET " + fieldName + " = ?, version = version + 1 WHERE empid = ?";
+        DaoMetrics.Timer t = DaoMetrics.start("updateEmployee");
+        try (t; Connection conn = Database.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             if ("Salary".equalsIgnoreCase(fieldName)) {
                 stmt.setDouble(1, Double.parseDouble(value));
@@ -190,72 +717,224 @@ public class EmployeeDAO {
                 stmt.setString(1, value);
             }
             stmt.setInt(2, empId);
-            return stmt.executeUpdate() > 0;
+            int n = stmt.executeUpdate();
+            t.rows(n);
+            boolean updated = n > 0;
+            EmployeeCache.invalidate(empId);
+            if (updated) AuditLog.record("UPDATE", empId, fieldName, null, value);
+            if (updated && ("Fname".equals(fieldName) || "Lname".equals(fieldName))) {
+                NameSearchIndex.refresh(empId);
+            }
+            return updated;
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error updating employee field: " + e.getMessage());
         }
         return false;
     }
 
-    /** Retrieve all job titles */
+    /**
+     * Save an edited employee in one transaction, writing only the columns
+     * of employees and address that differ from the loaded copy.
+     * A missing address row is created.
+     *
+     * Optimistic locking: each row is only updated if it is still at the
+     * version {@code before} was loaded at (and its version is bumped), so
+     * a concurrent save is reported as CONFLICT instead of being silently
+     * overwritten. No row locks are held between load and save.
+     * On SAVED, {@code after}'s versions are advanced to match the database.
+     * @param before the record as loaded, or null to write every field
+     *               (checked against {@code after}'s versions)
+     * @param after  the edited record (same empid)
+     */
+    public static SaveResult saveEmployee(Employee before, Employee after) {
+        List<EmployeeField> dirty = EmployeeField.changed(before, after);
+        if (dirty.isEmpty()) return SaveResult.SAVED;
+
+        List<EmployeeField> empCols  = new ArrayList<>();
+        List<EmployeeField> addrCols = new ArrayList<>();
+        for (EmployeeField f : dirty) {
+            ("employees".equals(f.getTable()) ? empCols : addrCols).add(f);
+        }
+        Employee loaded = before != null ? before : after;
+        int version = loaded.getVersion();
+        int addressVersion = loaded.getAddressVersion();
+
+        DaoMetrics.Timer t = DaoMetrics.start("saveEmployee");
+        try (t; Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean current =
+                    (empCols.isEmpty()
+                        || updateColumns(conn, "employees", empCols, after, version) == 1)
+                    && (addrCols.isEmpty()
+                        || saveAddress(conn, addrCols, after, addressVersion));
+                if (!current) {
+                    conn.rollback();
+                    // Whatever is cached is what the caller already has
+                    EmployeeCache.invalidate(after.getEmpid());
+                    return SaveResult.CONFLICT;
+                }
+                conn.commit();
+                t.rows(1);
+                EmployeeCache.invalidate(after.getEmpid());
+                after.setVersion(empCols.isEmpty() ? version : version + 1);
+                after.setAddressVersion(addrCols.isEmpty() ? addressVersion : addressVersion + 1);
+                for (EmployeeField f : dirty) {
+                    AuditLog.record("UPDATE", after.getEmpid(), f.getColumn(),
+                                    before == null ? null : f.get(before), f.get(after));
+                }
+                if (dirty.contains(EmployeeField.FNAME) || dirty.contains(EmployeeField.LNAME)) {
+                    NameSearchIndex.put(after.getEmpid(), after.getFname(), after.getLname());
+                }
+                return SaveResult.SAVED;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            t.failed();
+            System.err.println("Error saving employee: " + e.getMessage());
+        }
+        return SaveResult.FAILED;
+    }
+
+    /**
+     * UPDATE {@code table} SET col=?,...,version=version+1
+     * WHERE empid=? AND version=? for the given fields
+     */
+    private static int updateColumns(Connection conn, String table, List<EmployeeField> fields,
+                                     Employee emp, int version) throws SQLException {
+        StringJoiner set = new StringJoiner(", ");
+        for (EmployeeField f : fields) set.add(f.getColumn() + " = ?");
+        String sql = "UPDATE " + table + " SET " + set + ", version = version + 1"
+                   + " WHERE empid = ? AND version = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (EmployeeField f : fields) stmt.setObject(i++, f.get(emp));
+            stmt.setInt(i++, emp.getEmpid());
+            stmt.setInt(i, version);
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Version-checked address write for saveEmployee: creates the row if
+     * there was none when loaded (version -1).
+     * @return false if the row changed, appeared or vanished since loading
+     */
+    private static boolean saveAddress(Connection conn, List<EmployeeField> fields,
+                                       Employee emp, int version) throws SQLException {
+        if (version >= 0) return updateColumns(conn, "address", fields, emp, version) == 1;
+        try {
+            return insertAddress(conn, emp.getEmpid(), emp.getStreet(),
+                                 emp.getCity_id(), emp.getState_id(), emp.getZip());
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return false;  // added by someone else meanwhile, or the employee was deleted
+        }
+    }
+
+    /** Retrieve all job titles (cached; see {@link ReferenceDataCache}) */
     public static Map<Integer,String> getJobTitles() {
+        return new LinkedHashMap<>(ReferenceDataCache.jobTitles());
+    }
+
+    /** Retrieve all divisions (cached) */
+    public static Map<Integer,String> getDivisions() {
+        return new LinkedHashMap<>(ReferenceDataCache.divisions());
+    }
+
+    /** Retrieve all cities (cached) */
+    public static List<City> getCities() {
+        return new ArrayList<>(ReferenceDataCache.cities().values());
+    }
+
+    /** Retrieve all states (cached) */
+    public static List<State> getStates() {
+        return new ArrayList<>(ReferenceDataCache.states().values());
+    }
+
+    /** Look up one city by id without a query; null if unknown */
+    public static City getCity(int cityId) {
+        return ReferenceDataCache.cities().get(cityId);
+    }
+
+    /** Look up one state by id without a query; null if unknown */
+    public static State getState(int stateId) {
+        return ReferenceDataCache.states().get(stateId);
+    }
+
+    /** Load all job titles from the database */
+    static Map<Integer,String> loadJobTitles() {
         Map<Integer,String> map = new LinkedHashMap<>();
         String sql = "SELECT job_title_id, job_title FROM job_titles ORDER BY job_title";
-        try (Connection conn = Database.getConnection();
+        DaoMetrics.Timer t = DaoMetrics.start("loadJobTitles");
+        try (t; Connection conn = Database.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            t.executed();
             while (rs.next()) {
                 map.put(rs.getInt("job_title_id"), rs.getString("job_title"));
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error getting job titles: " + e.getMessage());
         }
         return map;
     }
 
-    /** Retrieve all divisions */
-    public static Map<Integer,String> getDivisions() {
+    /** Load all divisions from the database */
+    static Map<Integer,String> loadDivisions() {
         Map<Integer,String> map = new LinkedHashMap<>();
         String sql = "SELECT ID, Name FROM division ORDER BY Name";
-        try (Connection conn = Database.getConnection();
+        DaoMetrics.Timer t = DaoMetrics.start("loadDivisions");
+        try (t; Connection conn = Database.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            t.executed();
             while (rs.next()) {
                 map.put(rs.getInt("ID"), rs.getString("Name"));
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error getting divisions: " + e.getMessage());
         }
         return map;
     }
 
-    /** Retrieve all cities */
-    public static List<City> getCities() {
+    /** Load all cities from the database */
+    static List<City> loadCities() {
         List<City> list = new ArrayList<>();
         String sql = "SELECT city_id, name_of_city FROM city ORDER BY name_of_city";
-        try (Connection conn = Database.getConnection();
+        DaoMetrics.Timer t = DaoMetrics.start("loadCities");
+        try (t; Connection conn = Database.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            t.executed();
             while (rs.next()) {
                 list.add(new City(rs.getInt("city_id"), rs.getString("name_of_city")));
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error getting cities: " + e.getMessage());
         }
         return list;
     }
 
-    /** Retrieve all states */
-    public static List<State> getStates() {
+    /** Load all states from the database */
+    static List<State> loadStates() {
         List<State> list = new ArrayList<>();
         String sql = "SELECT state_id, name_of_state FROM state ORDER BY name_of_state";
-        try (Connection conn = Database.getConnection();
+        DaoMetrics.Timer t = DaoMetrics.start("loadStates");
+        try (t; Connection conn = Database.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            t.executed();
             while (rs.next()) {
                 list.add(new State(rs.getInt("state_id"), rs.getString("name_of_state")));
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error getting states: " + e.getMessage());
         }
         return list;
@@ -263,7 +942,8 @@ public class EmployeeDAO {
 
     /**
      * Insert a new employee (with SSN) plus associated job_title,
-     * division, and address records. Returns new empid or -1 on failure.
+     * division, and address records in one transaction.
+     * Returns new empid or -1 on failure.
      */
     public static int insertEmployee(
         String fname,
@@ -283,44 +963,54 @@ public class EmployeeDAO {
         int stateId,
         String zip
     ) {
-        String sqlEmp =
-            "INSERT INTO employees " +
-            "(Fname,Lname,email,phone_number,gender,race,SSN,DOB,HireDate,Salary) " +
-            "VALUES (?,?,?,?,?,?,?,?,?,?)";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sqlEmp, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, fname);
-            stmt.setString(2, lname);
-            stmt.setString(3, email);
-            stmt.setString(4, phone);
-            stmt.setString(5, gender);
-            stmt.setString(6, race);
-            stmt.setString(7, ssn);
-            stmt.setString(8, dob);
-            stmt.setString(9, hireDate);
-            stmt.setDouble(10, salary);
-            int affected = stmt.executeUpdate();
-            if (affected == 0) return -1;
-            try (ResultSet keys = stmt.getGeneratedKeys()) {
-                if (keys.next()) {
-                    int newId = keys.getInt(1);
-                    try (PreparedStatement js = conn.prepareStatement(
-                             "INSERT INTO employee_job_titles(empid,job_title_id) VALUES (?,?)")) {
-                        js.setInt(1, newId);
-                        js.setInt(2, jobTitleId);
-                        js.executeUpdate();
-                    }
-                    try (PreparedStatement ds = conn.prepareStatement(
-                             "INSERT INTO employee_division(empid,div_ID) VALUES (?,?)")) {
-                        ds.setInt(1, newId);
-                        ds.setInt(2, divisionId);
-                        ds.executeUpdate();
+        DaoMetrics.Timer t = DaoMetrics.start("insertEmployee");
+        try (t; Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     INSERT_EMPLOYEE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setString(1, fname);
+                stmt.setString(2, lname);
+                stmt.setString(3, email);
+                stmt.setString(4, phone);
+                stmt.setString(5, gender);
+                stmt.setString(6, race);
+                stmt.setString(7, ssn);
+                stmt.setString(8, dob);
+                stmt.setString(9, hireDate);
+                stmt.setDouble(10, salary);
+                int newId = -1;
+                if (stmt.executeUpdate() > 0) {
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        t.executed();
+                        if (keys.next()) newId = keys.getInt(1);
                     }
-                    insertAddress(newId, street, cityId, stateId, zip);
-                    return newId;
                 }
+                if (newId < 0) {
+                    conn.rollback();
+                    return -1;
+                }
+                try (PreparedStatement js = conn.prepareStatement(INSERT_JOB_TITLE_SQL)) {
+                    js.setInt(1, newId);
+                    js.setInt(2, jobTitleId);
+                    js.executeUpdate();
+                }
+                try (PreparedStatement ds = conn.prepareStatement(INSERT_DIVISION_SQL)) {
+                    ds.setInt(1, newId);
+                    ds.setInt(2, divisionId);
+                    ds.executeUpdate();
+                }
+                insertAddress(conn, newId, street, cityId, stateId, zip);
+                conn.commit();
+                NameSearchIndex.put(newId, fname, lname);
+                AuditLog.recordInsert(newId, fname, lname, ssn, salary);
+                t.rows(1);
+                return newId;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error inserting new employee: " + e.getMessage());
         }
         return -1;
@@ -328,112 +1018,178 @@ public class EmployeeDAO {
 
     /** Insert address row */
     public static boolean insertAddress(int empId, String street, int cityId, int stateId, String zip) {
-        String sql = "INSERT INTO address(empid,street,city_id,state_id,zip) VALUES (?,?,?,?,?)";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        DaoMetrics.Timer t = DaoMetrics.start("insertAddress");
+        try (t; Connection conn = Database.getConnection()) {
+            boolean ok = insertAddress(conn, empId, street, cityId, stateId, zip);
+            EmployeeCache.invalidate(empId);
+            if (ok) AuditLog.record("INSERT", empId, "address", null, addressText(street, cityId, stateId, zip));
+            return ok;
+        } catch (SQLException e) {
+            t.failed();
+            System.err.println("Error inserting address: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /** Insert address row on the caller's connection (and transaction) */
+    private static boolean insertAddress(Connection conn, int empId, String street,
+                                         int cityId, int stateId, String zip) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_ADDRESS_SQL)) {
             stmt.setInt(1, empId);
             stmt.setString(2, street);
             stmt.setInt(3, cityId);
             stmt.setInt(4, stateId);
             stmt.setString(5, zip);
             return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error inserting address: " + e.getMessage());
         }
-        return false;
     }
 
     /** Update address row */
     public static boolean updateAddress(int empId, String street, int cityId, int stateId, String zip) {
-        String sql = "UPDATE address SET street=?, city_id=?, state_id=?, zip=? WHERE empid=?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        DaoMetrics.Timer t = DaoMetrics.start("updateAddress");
+        try (t; Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_ADDRESS_SQL)) {
             stmt.setString(1, street);
             stmt.setInt(2, cityId);
             stmt.setInt(3, stateId);
             stmt.setString(4, zip);
             stmt.setInt(5, empId);
-            return stmt.executeUpdate() > 0;
+            int n = stmt.executeUpdate();
+            t.rows(n);
+            boolean ok = n > 0;
+            EmployeeCache.invalidate(empId);
+            if (ok) AuditLog.record("UPDATE", empId, "address", null, addressText(street, cityId, stateId, zip));
+            return ok;
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error updating address: " + e.getMessage());
         }
         return false;
     }
 
+    /** An address as one audit log value */
+    private static String addressText(String street, int cityId, int stateId, String zip) {
+        return street + ", city " + cityId + ", state " + stateId + ", " + zip;
+    }
+
     /** Delete employee and all related records within a single transaction */
     public static boolean deleteEmployee(int empId) {
-        String[] deletes = {
-            "DELETE FROM address WHERE empid = ?",
-            "DELETE FROM payroll WHERE empid = ?",
-            "DELETE FROM employee_job_titles WHERE empid = ?",
-            "DELETE FROM employee_division WHERE empid = ?",
-            "DELETE FROM employees WHERE empid = ?"
-        };
-        try (Connection conn = Database.getConnection()) {
+        DaoMetrics.Timer t = DaoMetrics.start("deleteEmployee");
+        try (t; Connection conn = Database.getConnection()) {
             conn.setAutoCommit(false);
-            for (String sql : deletes) {
+            PayrollRollup.removeEmployee(conn, empId);
+            for (String sql : DELETE_EMPLOYEE_SQL) {
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setInt(1, empId);
-                    stmt.executeUpdate();
+                    t.rows(stmt.executeUpdate());
                 }
             }
             conn.commit();
+            EmployeeCache.invalidate(empId);
+            NameSearchIndex.remove(empId);
+            PayrollAnalytics.invalidate();
+            AuditLog.record("DELETE", empId, null, null, null);
             return true;
         } catch (SQLException e) {
+            t.failed();
             System.err.println("Error deleting employee: " + e.getMessage());
         }
         return false;
     }
 
-    /** Total gross pay by job title for a given month */
+    /** Total gross pay by job title for a given month; empty if the month is not 1–12 */
     public static Map<String,Double> getTotalPayByJobTitle(int year, int month) {
-        Map<String,Double> map = new LinkedHashMap<>();
-        String sql =
-          "SELECT jt.job_title, SUM(p.earnings) AS total_pay " +
-          "FROM payroll p " +
-          "JOIN employee_job_titles ejt ON p.empid = ejt.empid " +
-          "JOIN job_titles jt ON ejt.job_title_id = jt.job_title_id " +
-          "WHERE YEAR(p.pay_date)=? AND MONTH(p.pay_date)=? " +
-          "GROUP BY jt.job_title " +
-          "ORDER BY total_pay DESC";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, year);
-            stmt.setInt(2, month);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    map.put(rs.getString("job_title"), rs.getDouble("total_pay"));
+        LocalDate from = monthStart(year, month);
+        return from == null ? new LinkedHashMap<>() : getTotalPayByJobTitle(from, from.plusMonths(1));
+    }
+
+    /** Total gross pay by division for a given month; empty if the month is not 1–12 */
+    public static Map<String,Double> getTotalPayByDivision(int year, int month) {
+        LocalDate from = monthStart(year, month);
+        return from == null ? new LinkedHashMap<>() : getTotalPayByDivision(from, from.plusMonths(1));
+    }
+
+    private static LocalDate monthStart(int year, int month) {
+        if (month < 1 || month > 12) {
+            System.err.println("Invalid month: " + month);
+            return null;
+        }
+        return LocalDate.of(year, month, 1);
+    }
+
+    /**
+     * Total gross pay by job title for pay dates in [from, to).
+     * Closed whole months are served from {@link PayrollRollup}.
+     */
+    public static Map<String,Double> getTotalPayByJobTitle(LocalDate from, LocalDate to) {
+        try {
+            return totalPayByJobTitle(from, to);
+        } catch (SQLException e) {
+            System.err.println("Error getting total pay by job title: " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /** As {@link #getTotalPayByJobTitle(LocalDate, LocalDate)}, but a failed query throws. */
+    static Map<String,Double> totalPayByJobTitle(LocalDate from, LocalDate to) throws SQLException {
+        try (DaoMetrics.Timer t = DaoMetrics.start("totalPayByJobTitle")) {
+            if (PayrollRollup.covers(from, to)) {
+                Map<String,Double> map = PayrollRollup.totalPayByJobTitle(from, to);
+                if (map != null) {
+                    t.rows(map.size());
+                    return map;
                 }
             }
+            return totalPayReport(t, TOTAL_PAY_BY_JOB_TITLE_SQL, from, to);
+        }
+    }
+
+    /**
+     * Total gross pay by division for pay dates in [from, to).
+     * Closed whole months are served from {@link PayrollRollup}.
+     */
+    public static Map<String,Double> getTotalPayByDivision(LocalDate from, LocalDate to) {
+        try {
+            return totalPayByDivision(from, to);
         } catch (SQLException e) {
-            System.err.println("Error getting total pay by job title: " + e.getMessage());
+            System.err.println("Error getting total pay by division: " + e.getMessage());
+            return new LinkedHashMap<>();
         }
-        return map;
     }
 
-    /** Total gross pay by division for a given month */
-    public static Map<String,Double> getTotalPayByDivision(int year, int month) {
+    /** As {@link #getTotalPayByDivision(LocalDate, LocalDate)}, but a failed query throws. */
+    static Map<String,Double> totalPayByDivision(LocalDate from, LocalDate to) throws SQLException {
+        try (DaoMetrics.Timer t = DaoMetrics.start("totalPayByDivision")) {
+            if (PayrollRollup.covers(from, to)) {
+                Map<String,Double> map = PayrollRollup.totalPayByDivision(from, to);
+                if (map != null) {
+                    t.rows(map.size());
+                    return map;
+                }
+            }
+            return totalPayReport(t, TOTAL_PAY_BY_DIVISION_SQL, from, to);
+        }
+    }
+
+    /** Run a two-column (group name, total_pay) report over a half-open date range */
+    private static Map<String,Double> totalPayReport(DaoMetrics.Timer t, String sql,
+                                                     LocalDate from, LocalDate to) throws SQLException {
         Map<String,Double> map = new LinkedHashMap<>();
-        String sql =
-          "SELECT d.Name AS division_name, SUM(p.earnings) AS total_pay " +
-          "FROM payroll p " +
-          "JOIN employee_division ed ON p.empid = ed.empid " +
-          "JOIN division d ON ed.div_ID = d.ID " +
-          "WHERE YEAR(p.pay_date)=? AND MONTH(p.pay_date)=? " +
-          "GROUP BY d.Name " +
-          "ORDER BY total_pay DESC";
         try (Connection conn = Database.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, year);
-            stmt.setInt(2, month);
+            stmt.setDate(1, java.sql.Date.valueOf(from));
+            stmt.setDate(2, java.sql.Date.valueOf(to));
             try (ResultSet rs = stmt.executeQuery()) {
+                t.executed();
                 while (rs.next()) {
-                    map.put(rs.getString("division_name"), rs.getDouble("total_pay"));
+                    map.put(rs.getString(1), rs.getDouble("total_pay"));
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting total pay by division: " + e.getMessage());
+            t.failed();
+            throw e;
         }
+        t.rows(map.size());
         return map;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,510 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of new hires from HR's CSV export (or a JSON array of
+ * objects with the same keys).
+ *
+ * Rows are validated up front, then written in chunks: each chunk is one
+ * transaction holding a JDBC batch per table (employees, employee_job_titles,
+ * employee_division, address), which the driver rewrites into multi-row
+ * INSERTs. If a chunk fails, it is rolled back and replayed row by row so
+ * that only the offending rows are rejected.
+ *
+ * Usage: {@code java EmployeeImporter hires.csv|hires.json}
+ */
+public class EmployeeImporter {
+    /** Expected column / key names (case-insensitive). */
+    static final List<String> COLUMNS = List.of(
+        "Fname", "Lname", "email", "phone_number", "gender", "race", "SSN",
+        "DOB", "HireDate", "Salary", "job_title_id", "div_ID",
+        "street", "city_id", "state_id", "zip"
+    );
+
+    private static final Pattern SSN_FORMAT = Pattern.compile("\\d{3}-\\d{2}-\\d{4}");
+
+    /** Rows per transaction (IMPORT_CHUNK_SIZE in .env). */
+    private final int chunkSize;
+
+    public EmployeeImporter() {
+        this((int) Database.getConfigLong("IMPORT_CHUNK_SIZE", 1000));
+    }
+
+    public EmployeeImporter(int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive");
+        this.chunkSize = chunkSize;
+    }
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** A validated new hire, ready to insert. */
+    static class Row {
+        final int line;
+        final String fname, lname, email, phone, gender, race, ssn, dob, hireDate;
+        final double salary;
+        final int jobTitleId, divisionId;
+        final String street;
+        final int cityId, stateId;
+        final String zip;
+
+        Row(int line, String fname, String lname, String email, String phone,
+            String gender, String race, String ssn, String dob, String hireDate,
+            double salary, int jobTitleId, int divisionId,
+            String street, int cityId, int stateId, String zip) {
+            this.line = line;
+            this.fname = fname;   this.lname = lname;
+            this.email = email;   this.phone = phone;
+            this.gender = gender; this.race = race;
+            this.ssn = ssn;       this.dob = dob;   this.hireDate = hireDate;
+            this.salary = salary;
+            this.jobTitleId = jobTitleId; this.divisionId = divisionId;
+            this.street = street; this.cityId = cityId; this.stateId = stateId;
+            this.zip = zip;
+        }
+    }
+
+    /** Outcome of an import: how many rows landed and why the rest did not. */
+    public static class Report {
+        private final List<Integer> newIds = new ArrayList<>();
+        private final SortedMap<Integer, String> errors = new TreeMap<>();
+        private long elapsedMs;
+
+        /** @return number of employees inserted. */
+        public int getImported() { return newIds.size(); }
+
+        /** @return empids assigned to the inserted rows, in input order. */
+        public List<Integer> getNewIds() { return newIds; }
+
+        /** @return rejected rows: source line number → reason. */
+        public SortedMap<Integer, String> getErrors() { return errors; }
+
+        /** @return wall time of the import. */
+        public long getElapsedMs() { return elapsedMs; }
+
+        @Override
+        public String toString() {
+            double perMin = elapsedMs == 0 ? 0 : getImported() * 60_000.0 / elapsedMs;
+            return String.format("Imported %d employee(s), rejected %d, in %d ms (%.0f rows/min)",
+                                 getImported(), errors.size(), elapsedMs, perMin);
+        }
+    }
+
+    /** Import a .csv or .json file, chosen by extension. */
+    public Report importFile(Path file) throws IOException {
+        List<Map<String, String>> records = file.toString().toLowerCase().endsWith(".json")
+            ? readJson(file)
+            : readCsv(file);
+        return importRecords(records);
+    }
+
+    /**
+     * Validate and insert raw records (column name → text value). Each
+     * record's source line number is taken from the "#line" key if present,
+     * otherwise its 1-based position.
+     */
+    public Report importRecords(List<Map<String, String>> records) {
+        long start = System.currentTimeMillis();
+        Report report = new Report();
+        List<Row> valid = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            Map<String, String> rec = records.get(i);
+            int line = rec.containsKey("#line") ? Integer.parseInt(rec.get("#line")) : i + 1;
+            try {
+                valid.add(toRow(line, rec));
+            } catch (IllegalArgumentException e) {
+                report.errors.put(line, e.getMessage());
+            }
+        }
+        insertRows(valid, report);
+        report.elapsedMs = System.currentTimeMillis() - start;
+        return report;
+    }
+
+    // ── Validation ────────────────────────────────────────────────────────────
+
+    private static Row toRow(int line, Map<String, String> rec) {
+        Map<String, String> v = new HashMap<>();
+        rec.forEach((k, val) -> v.put(k.toLowerCase(), val == null ? "" : val.trim()));
+
+        String fname = required(v, "Fname");
+        String lname = required(v, "Lname");
+        String ssn   = v.getOrDefault("ssn", "");
+        if (!ssn.isEmpty() && !SSN_FORMAT.matcher(ssn).matches()) {
+            throw new IllegalArgumentException("SSN must look like 123-45-6789: " + ssn);
+        }
+        String dob  = date(v, "DOB");
+        String hire = date(v, "HireDate");
+        double salary;
+        try {
+            salary = Double.parseDouble(required(v, "Salary"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Salary is not a number: " + v.get("salary"));
+        }
+        if (salary < 0) throw new IllegalArgumentException("Salary cannot be negative");
+
+        int jobId   = lookupId(v, "job_title_id", ReferenceDataCache.jobTitles().keySet());
+        int divId   = lookupId(v, "div_ID",       ReferenceDataCache.divisions().keySet());
+        int cityId  = lookupId(v, "city_id",      ReferenceDataCache.cities().keySet());
+        int stateId = lookupId(v, "state_id",     ReferenceDataCache.states().keySet());
+
+        return new Row(line, fname, lname,
+            v.getOrDefault("email", ""), v.getOrDefault("phone_number", ""),
+            v.getOrDefault("gender", ""), v.getOrDefault("race", ""),
+            ssn.isEmpty() ? null : ssn, dob, hire, salary, jobId, divId,
+            v.getOrDefault("street", ""), cityId, stateId, v.getOrDefault("zip", ""));
+    }
+
+    private static String required(Map<String, String> v, String col) {
+        String s = v.getOrDefault(col.toLowerCase(), "");
+        if (s.isEmpty()) throw new IllegalArgumentException(col + " is required");
+        return s;
+    }
+
+    private static String date(Map<String, String> v, String col) {
+        String s = v.getOrDefault(col.toLowerCase(), "");
+        if (s.isEmpty()) return null;
+        try {
+            return LocalDate.parse(s).toString();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(col + " must be YYYY-MM-DD: " + s);
+        }
+    }
+
+    private static int lookupId(Map<String, String> v, String col, Set<Integer> known) {
+        String s = required(v, col);
+        int id;
+        try {
+            id = Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(col + " is not an id: " + s);
+        }
+        if (!known.contains(id)) throw new IllegalArgumentException("Unknown " + col + ": " + id);
+        return id;
+    }
+
+    // ── Batched insert ────────────────────────────────────────────────────────
+
+    private void insertRows(List<Row> rows, Report report) {
+        int done = 0;  // rows already committed or rejected
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            while (done < rows.size()) {
+                List<Row> chunk = rows.subList(done, Math.min(done + chunkSize, rows.size()));
+                try {
+                    List<Integer> ids = insertChunk(conn, chunk);
+                    conn.commit();
+                    report.newIds.addAll(ids);
+                    committed(ids, chunk);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    // Replay one row per transaction to find the bad ones
+                    for (Row row : chunk) {
+                        try {
+                            List<Integer> ids = insertChunk(conn, List.of(row));
+                            conn.commit();
+                            report.newIds.addAll(ids);
+                            committed(ids, List.of(row));
+                        } catch (SQLException rowError) {
+                            conn.rollback();
+                            report.errors.put(row.line, rowError.getMessage());
+                        }
+                    }
+                }
+                done += chunk.size();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error during bulk import: " + e.getMessage());
+            for (Row row : rows.subList(done, rows.size())) {
+                report.errors.putIfAbsent(row.line, "Not imported: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Add committed rows to the name search index and the audit log. */
+    private static void committed(List<Integer> ids, List<Row> rows) {
+        for (int i = 0; i < ids.size(); i++) {
+            Row r = rows.get(i);
+            NameSearchIndex.put(ids.get(i), r.fname, r.lname);
+            AuditLog.recordInsert(ids.get(i), r.fname, r.lname, r.ssn, r.salary);
+        }
+    }
+
+    /** Insert one chunk on the caller's transaction; returns the new empids. */
+    static List<Integer> insertChunk(Connection conn, List<Row> chunk) throws SQLException {
+        List<Integer> ids = new ArrayList<>(chunk.size());
+        try (PreparedStatement emp = conn.prepareStatement(
+                 EmployeeDAO.INSERT_EMPLOYEE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Row r : chunk) {
+                emp.setString(1, r.fname);
+                emp.setString(2, r.lname);
+                emp.setString(3, r.email);
+                emp.setString(4, r.phone);
+                emp.setString(5, r.gender);
+                emp.setString(6, r.race);
+                emp.setString(7, r.ssn);
+                emp.setString(8, r.dob);
+                emp.setString(9, r.hireDate);
+                emp.setDouble(10, r.salary);
+                emp.addBatch();
+            }
+            emp.executeBatch();
+            try (ResultSet keys = emp.getGeneratedKeys()) {
+                while (keys.next()) ids.add(keys.getInt(1));
+            }
+        }
+        if (ids.size() != chunk.size()) {
+            throw new SQLException("Expected " + chunk.size() + " generated keys, got " + ids.size());
+        }
+
+        try (PreparedStatement job  = conn.prepareStatement(EmployeeDAO.INSERT_JOB_TITLE_SQL);
+             PreparedStatement div  = conn.prepareStatement(EmployeeDAO.INSERT_DIVISION_SQL);
+             PreparedStatement addr = conn.prepareStatement(EmployeeDAO.INSERT_ADDRESS_SQL)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                Row r = chunk.get(i);
+                int id = ids.get(i);
+                job.setInt(1, id);
+                job.setInt(2, r.jobTitleId);
+                job.addBatch();
+                div.setInt(1, id);
+                div.setInt(2, r.divisionId);
+                div.addBatch();
+                addr.setInt(1, id);
+                addr.setString(2, r.street);
+                addr.setInt(3, r.cityId);
+                addr.setInt(4, r.stateId);
+                addr.setString(5, r.zip);
+                addr.addBatch();
+            }
+            job.executeBatch();
+            div.executeBatch();
+            addr.executeBatch();
+        }
+        return ids;
+    }
+
+    // ── Readers ───────────────────────────────────────────────────────────────
+
+    /**
+     * Read a CSV file with a header row. Supports quoted fields containing
+     * commas, doubled quotes and line breaks.
+     */
+    static List<Map<String, String>> readCsv(Path file) throws IOException {
+        List<Map<String, String>> out = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int[] lineNo = {0};
+            List<String> header = readCsvRecord(in, lineNo);
+            if (header == null) return out;
+            if (!header.isEmpty()) header.set(0, header.get(0).replace("\uFEFF", ""));  // BOM
+            List<String> fields;
+            int startLine = lineNo[0] + 1;
+            while ((fields = readCsvRecord(in, lineNo)) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    startLine = lineNo[0] + 1;
+                    continue;
+                }
+                Map<String, String> rec = new LinkedHashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    rec.put(header.get(i).trim(), i < fields.size() ? fields.get(i) : "");
+                }
+                rec.put("#line", String.valueOf(startLine));
+                out.add(rec);
+                startLine = lineNo[0] + 1;
+            }
+        }
+        return out;
+    }
+
+    /** One CSV record (may span lines), or null at EOF. */
+    private static List<String> readCsvRecord(BufferedReader in, int[] lineNo) throws IOException {
+        String line = in.readLine();
+        if (line == null) return null;
+        lineNo[0]++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        cur.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(cur.toString());
+                    cur.setLength(0);
+                } else {
+                    cur.append(c);
+                }
+            }
+            if (!quoted) break;
+            line = in.readLine();  // quoted field continues on the next line
+            if (line == null) break;
+            lineNo[0]++;
+            cur.append('\n');
+        }
+        fields.add(cur.toString());
+        return fields;
+    }
+
+    /** Read a JSON array of flat objects whose values are strings, numbers or null. */
+    static List<Map<String, String>> readJson(Path file) throws IOException {
+        return new JsonArrayParser(Files.readString(file, StandardCharsets.UTF_8)).parse();
+    }
+
+    /** Just enough JSON for an array of flat records; no external dependency needed. */
+    private static class JsonArrayParser {
+        private final String s;
+        private int pos;
+        private int line = 1;
+
+        JsonArrayParser(String s) { this.s = s; }
+
+        List<Map<String, String>> parse() {
+            List<Map<String, String>> out = new ArrayList<>();
+            expect('[');
+            if (peek() == ']') { pos++; return out; }
+            while (true) {
+                out.add(object());
+                char c = next();
+                if (c == ']') return out;
+                if (c != ',') throw error("Expected ',' or ']'");
+            }
+        }
+
+        private Map<String, String> object() {
+            expect('{');
+            Map<String, String> rec = new LinkedHashMap<>();
+            rec.put("#line", String.valueOf(line));
+            if (peek() == '}') { pos++; return rec; }
+            while (true) {
+                String key = string();
+                expect(':');
+                rec.put(key, value());
+                char c = next();
+                if (c == '}') return rec;
+                if (c != ',') throw error("Expected ',' or '}'");
+            }
+        }
+
+        private String value() {
+            char c = peek();
+            if (c == '"') return string();
+            int start = pos;
+            while (pos < s.length() && ",}] \t\r\n".indexOf(s.charAt(pos)) < 0) pos++;
+            String lit = s.substring(start, pos);
+            if (lit.equals("null")) return "";
+            if (lit.isEmpty()) throw error("Expected a value");
+            return lit;  // number or boolean, kept as text
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < s.length()) {
+                char c = s.charAt(pos++);
+                if (c == '"') return sb.toString();
+                if (c == '\\') {
+                    if (pos >= s.length()) break;
+                    char e = s.charAt(pos++);
+                    switch (e) {
+                        case 'n' -> sb.append('\n');
+                        case 't' -> sb.append('\t');
+                        case 'r' -> sb.append('\r');
+                        case 'b' -> sb.append('\b');
+                        case 'f' -> sb.append('\f');
+                        case 'u' -> {
+                            if (pos + 4 > s.length()) throw error("Truncated \\u escape");
+                            try {
+                                sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                            } catch (NumberFormatException ex) {
+                                throw error("Bad \\u escape");
+                            }
+                            pos += 4;
+                        }
+                        default -> sb.append(e);  // \" \\ \/
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private char peek() {
+            skipWhitespace();
+            if (pos >= s.length()) throw error("Unexpected end of input");
+            return s.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char c) {
+            if (next() != c) throw error("Expected '" + c + "'");
+        }
+
+        private void skipWhitespace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                if (s.charAt(pos) == '\n') line++;
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String msg) {
+            return new IllegalArgumentException(msg + " at line " + line + ", character " + pos);
+        }
+    }
+
+    // ── CLI ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Import the given file and print a summary. Rejected rows are written
+     * next to the input as {@code <file>.errors.csv}.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.out.println("Usage: java EmployeeImporter <hires.csv|hires.json>");
+            System.out.println("Columns: " + String.join(",", COLUMNS));
+            return;
+        }
+        Path file = Paths.get(args[0]);
+        try {
+            Report report = new EmployeeImporter().importFile(file);
+            System.out.println(report);
+            if (!report.getErrors().isEmpty()) {
+                Path errFile = Paths.get(file + ".errors.csv");
+                try (PrintWriter w = new PrintWriter(
+                         Files.newBufferedWriter(errFile, StandardCharsets.UTF_8))) {
+                    w.println("line,error");
+                    report.getErrors().forEach((line, msg) ->
+                        w.println(line + ",\"" + msg.replace("\"", "\"\"") + "\""));
+                }
+                System.out.println("Rejected rows written to " + errFile);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Import failed: " + e.getMessage());
+        } finally {
+            Database.shutdown();
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.List;
+
 /**
  * Entry point for the Employee Management console application.
  * 
@@ -11,6 +13,10 @@ public class Main {
      * @param args Command-line arguments (not used)
      */
     public static void main(String[] args) {
+        // Bring the schema up to date (indexes, tables added since the README schema)
+        List<String> applied = SchemaMigrations.migrate();
+        if (applied != null) applied.forEach(s -> System.out.println("Applied migration " + s));
+
         // Show the login menu and capture the result:
         // auth[0] will be "admin" or "employee", auth[1] will be the empId string.
         String[] auth = Menu.showLoginMenu();
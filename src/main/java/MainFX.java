@@ -1,16 +1,42 @@
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import model.Employee;
+import model.EmployeeSummary;
+import model.EmployeeField;
 import model.PayStatement;
 import model.City;
 import model.State;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
 
 /**
  * MainFX is the JavaFX-based GUI entry point for the Employee Management System.
@@ -24,12 +50,57 @@ public class MainFX extends Application {
     /** Stores the empId of the logged-in user (0 for admin). */
     private int userId;
 
+    /** Pay statements fetched per page as a history table is scrolled. */
+    private static final int HISTORY_PAGE_SIZE = 200;
+
+    /** Employees fetched per page as the search results are scrolled. */
+    private static final int SEARCH_PAGE_SIZE = 100;
+
+    // ── Search-as-you-type ───────────────────────────────────────────────────
+    /** Quiet time after the last keystroke before a typeahead query is sent. */
+    private static final Duration TYPEAHEAD_DELAY = Duration.millis(150);
+    /** Matches shown while typing; Go pages through the full result. */
+    private static final int TYPEAHEAD_LIMIT = 25;
+    private static final int TYPEAHEAD_CACHE_SIZE = 200;
+
+    /**
+     * Recent typeahead results keyed by criterion and text, least recently
+     * used evicted first. Filled from worker threads; cleared on any edit
+     * made through this window.
+     */
+    private final Map<String, List<EmployeeSummary>> typeaheadCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<EmployeeSummary>> eldest) {
+                return size() > TYPEAHEAD_CACHE_SIZE;
+            }
+        });
+
+    // ── Background work status bar (shared by the login and main scenes) ─────
+    private final ProgressIndicator busyIndicator = new ProgressIndicator();
+    private final Label statusLabel = new Label();
+    private final Button cancelBtn = new Button("Cancel");
+    private final HBox statusBar = new HBox(10, busyIndicator, statusLabel, cancelBtn);
+
+    /** Tasks started by {@link #runAsync} or {@link #runWrite} that have not finished yet, oldest first. */
+    private final Set<Task<?>> running = new LinkedHashSet<>();
+    /** The running tasks that write to the database; Cancel leaves them alone. */
+    private final Set<Task<?>> writes = new HashSet<>();
+
     /**
      * JavaFX start method: called after launch().
      * @param primaryStage The primary window for this application.
      */
     @Override
     public void start(Stage primaryStage) {
+        busyIndicator.setPrefSize(18, 18);
+        statusBar.setAlignment(Pos.CENTER_LEFT);
+        statusBar.setPadding(new Insets(4, 10, 4, 10));
+        // Cancel abandons the running reads: their results are never applied.
+        // Writes cannot be taken back once sent, so they always run to completion.
+        cancelBtn.setOnAction(e -> running.stream().filter(t -> !writes.contains(t))
+                                          .toList().forEach(t -> t.cancel(false)));
+        updateStatus();
         showLogin(primaryStage);
     }
 
@@ -45,19 +116,19 @@ public class MainFX extends Application {
 
         // Handle login button click
         loginBtn.setOnAction(e -> {
-            String auth = EmployeeDAO.authenticateUser(
-                userField.getText().trim(),
-                passField.getText().trim()
-            );
-            if (auth != null) {
-                // Parse "role|empId" returned by DAO
-                String[] parts = auth.split("\\|");
-                role   = parts[0];
-                userId = Integer.parseInt(parts[1]);
-                showMainUI(stage);  // proceed to main application
-            } else {
-                showAlert("Invalid credentials");
-            }
+            String user = userField.getText().trim();
+            String pass = passField.getText().trim();
+            runAsync("Signing in", () -> EmployeeDAO.authenticateUser(user, pass), auth -> {
+                if (auth != null) {
+                    // Parse "role|empId" returned by DAO
+                    String[] parts = auth.split("\\|");
+                    role   = parts[0];
+                    userId = Integer.parseInt(parts[1]);
+                    showMainUI(stage);  // proceed to main application
+                } else {
+                    showAlert("Invalid credentials");
+                }
+            }, loginBtn);
         });
 
         // Layout the login form
@@ -72,7 +143,7 @@ public class MainFX extends Application {
         grid.add(loginBtn, 1, 2);
 
         // Show the scene
-        stage.setScene(new Scene(grid));
+        stage.setScene(new Scene(new BorderPane(grid, null, null, statusBar, null)));
         stage.setTitle("Login");
         stage.show();
     }
@@ -104,8 +175,9 @@ public class MainFX extends Application {
             Tab tView = new Tab("View");
             TextArea taView = new TextArea();
             taView.setEditable(false);
-            Employee emp = EmployeeDAO.getEmployee(userId);
-            taView.setText(emp != null ? emp.toString() : "Employee not found.");
+            taView.setText("Loading...");
+            runAsync("Loading profile", () -> EmployeeDAO.getEmployee(userId),
+                emp -> taView.setText(emp != null ? emp.toString() : "Employee not found."));
             tView.setContent(new VBox(taView));
 
             Tab tUpdate = tabUpdate();
@@ -119,20 +191,21 @@ public class MainFX extends Application {
             });
 
             Tab tHistory = new Tab("Pay History");
-            TextArea taHist = new TextArea();
-            taHist.setEditable(false);
-            // Fetch and display pay-statement history for current user
-            List<PayStatement> ph = EmployeeDAO.getPayStatementHistory(userId);
-            StringBuilder sb = new StringBuilder();
-            for (var ps : ph) sb.append(ps).append("\n----\n");
-            taHist.setText(sb.toString());
-            tHistory.setContent(new VBox(taHist));
+            // Page through the current user's pay statements as they scroll
+            TableView<PayStatement> histTable = payStatementTable();
+            PagedTableModel<PayStatement> history = new PagedTableModel<>(HISTORY_PAGE_SIZE,
+                (work, onPage) -> runAsync("Loading pay history", work, onPage));
+            history.install(histTable);
+            history.reset((after, limit) -> EmployeeDAO.getPayStatementPage(userId, after, limit));
+            VBox.setVgrow(histTable, Priority.ALWAYS);
+            tHistory.setContent(new VBox(histTable));
 
             tabPane.getTabs().addAll(tView, tUpdate, tHistory);
         }
 
         // Wrap tabs in a border pane and display
         BorderPane root = new BorderPane(tabPane);
+        root.setBottom(statusBar);
         Scene scene = new Scene(root, 900, 600);
         stage.setMinWidth(900);
         scene.getStylesheets().add("file:style.css");
@@ -153,45 +226,104 @@ public class MainFX extends Application {
         );
         TextField tf = new TextField();
         Button btn = new Button("Go");
-        TextArea ta = new TextArea();
-        ta.setEditable(false);
+        TableView<EmployeeSummary> table = employeeTable();
+        table.setPlaceholder(new Label("No results found"));
+        // Not tied to the Go button: typeahead queries come and go per keystroke
+        PagedTableModel<EmployeeSummary> results = new PagedTableModel<>(SEARCH_PAGE_SIZE,
+            (work, onPage) -> runAsync("Searching", work, onPage));
+        results.install(table);
+
+        // Each keystroke restarts the timer, so only the last text is queried;
+        // reset()/show() cancel whatever query is still running.
+        PauseTransition typeahead = new PauseTransition(TYPEAHEAD_DELAY);
+        typeahead.setOnFinished(e -> typeahead(cb.getValue(), tf.getText().trim(), results));
+        tf.textProperty().addListener((obs, was, now) -> typeahead.playFromStart());
+        cb.valueProperty().addListener((obs, was, now) -> typeahead.playFromStart());
+        tf.setOnAction(e -> btn.fire());
 
         btn.setOnAction(e -> {
+            typeahead.stop();
             String by = cb.getValue();
             String val = tf.getText().trim();
             if (by == null || val.isEmpty()) {
                 showAlert("Select a criterion and enter a value");
                 return;
             }
-            List<Employee> list;
-            switch (by) {
-                case "Name" -> list = EmployeeDAO.searchByName(val);
-                case "ID"   -> {
-                    try {
-                        Employee emp = EmployeeDAO.getEmployee(Integer.parseInt(val));
-                        list = emp == null ? List.of() : List.of(emp);
-                    } catch (NumberFormatException ex) { list = List.of(); }
-                }
-                case "DOB"  -> list = EmployeeDAO.searchByDOB(val);
-                case "SSN"  -> list = EmployeeDAO.searchBySSN(val);
-                default     -> list = List.of();
-            }
-            // Display search results
-            StringBuilder sb = new StringBuilder();
-            if (list.isEmpty()) sb.append("No results found");
-            else list.forEach(e2 -> sb.append(e2).append("\n----\n"));
-            ta.setText(sb.toString());
+            results.reset(searchSource(by, val));
         });
 
         HBox searchControls = new HBox(10, new Label("By"), cb, tf, btn);
         searchControls.setPadding(new Insets(10));
-        VBox layout = new VBox(10, searchControls, ta);
+        VBox.setVgrow(table, Priority.ALWAYS);
+        VBox layout = new VBox(10, searchControls, table);
         layout.setPadding(new Insets(10));
         tab.setContent(layout);
 
         return tab;
     }
 
+    /**
+     * Show the first {@link #TYPEAHEAD_LIMIT} matches for a partly typed
+     * name, ID or SSN, from {@link #typeaheadCache} when it has them. DOB
+     * and text too short to narrow the result are left for Go.
+     */
+    private void typeahead(String by, String text, PagedTableModel<EmployeeSummary> results) {
+        if (by == null || text.length() < ("Name".equals(by) ? 2 : 1)) return;
+        Function<String, List<EmployeeSummary>> lookup;
+        switch (by) {
+            case "Name": lookup = t -> EmployeeDAO.searchSummariesByName(t, TYPEAHEAD_LIMIT); break;
+            case "ID":   lookup = t -> summaries(EmployeeDAO.searchByIdPrefix(t, TYPEAHEAD_LIMIT)); break;
+            case "SSN":  lookup = t -> summaries(EmployeeDAO.searchBySsnPrefix(t, TYPEAHEAD_LIMIT)); break;
+            default: return;
+        }
+        String key = by + ":" + text.toLowerCase();
+        List<EmployeeSummary> hit = typeaheadCache.get(key);
+        if (hit != null) {
+            results.show(hit);
+            return;
+        }
+        results.reset((after, limit) -> {
+            if (after != null) return List.of();
+            List<EmployeeSummary> found = List.copyOf(lookup.apply(text));
+            typeaheadCache.put(key, found);
+            return found;
+        });
+    }
+
+    /**
+     * Pages for one Search-tab query. Name and DOB searches are keyset-paged
+     * by empid; ID and SSN match at most a handful of rows, so they come back
+     * as a single page. Rows are summaries; Update/Delete loads the full record.
+     */
+    private static PagedTableModel.PageSource<EmployeeSummary> searchSource(String by, String val) {
+        switch (by) {
+            case "Name":
+                return (after, limit) ->
+                    EmployeeDAO.searchSummariesByName(val, after == null ? 0 : after.getEmpid(), limit);
+            case "DOB":
+                return (after, limit) ->
+                    EmployeeDAO.searchSummariesByDOB(val, after == null ? 0 : after.getEmpid(), limit);
+            case "ID":
+                return (after, limit) -> {
+                    if (after != null) return List.of();
+                    try {
+                        Employee emp = EmployeeDAO.getEmployee(Integer.parseInt(val));
+                        return emp == null ? List.of() : List.of(EmployeeSummary.of(emp));
+                    } catch (NumberFormatException ex) { return List.of(); }
+                };
+            case "SSN":
+                return (after, limit) -> after != null ? List.of() : summaries(EmployeeDAO.searchBySSN(val));
+            default:
+                return (after, limit) -> List.of();
+        }
+    }
+
+    private static List<EmployeeSummary> summaries(List<Employee> employees) {
+        List<EmployeeSummary> out = new ArrayList<>(employees.size());
+        for (Employee emp : employees) out.add(EmployeeSummary.of(emp));
+        return out;
+    }
+
     /**
      * Creates the "Update/Delete" tab UI.
      * Admin can load any employee by ID, modify fields, or delete.
@@ -217,74 +349,86 @@ public class MainFX extends Application {
         TextField hireDateField = new TextField();
         TextField sal = new TextField();
         TextField streetField = new TextField();
-        ComboBox<City> cityCB = new ComboBox<>(
-            FXCollections.observableArrayList(EmployeeDAO.getCities())
-        );
-        ComboBox<State> stateCB = new ComboBox<>(
-            FXCollections.observableArrayList(EmployeeDAO.getStates())
-        );
+        ComboBox<City> cityCB = new ComboBox<>();
+        ComboBox<State> stateCB = new ComboBox<>();
         TextField zip = new TextField();
 
         Button saveBtn = new Button("Save Changes");
         Button deleteBtn = new Button("Delete Employee");
 
+        runAsync("Loading cities", EmployeeDAO::getCities, cityCB.getItems()::setAll, cityCB);
+        runAsync("Loading states", EmployeeDAO::getStates, stateCB.getItems()::setAll, stateCB);
+
+        // The record as last loaded/saved, so Save can write only what changed
+        // (and can tell whether someone else saved it in the meantime)
+        Employee[] loaded = new Employee[1];
+
+        Consumer<Employee> fill = emp -> {
+            fn.setText(emp.getFname());
+            ln.setText(emp.getLname());
+            emField.setText(emp.getEmail());
+            ph.setText(emp.getPhone_number());
+            genderField.setText(emp.getGender());
+            raceField.setText(emp.getRace());
+            dobField.setText(emp.getDOB());
+            hireDateField.setText(emp.getHireDate());
+            sal.setText(String.valueOf(emp.getSalary()));
+            streetField.setText(emp.getStreet());
+            selectById(cityCB, City::getCityId, emp.getCity_id());
+            selectById(stateCB, State::getStateId, emp.getState_id());
+            zip.setText(emp.getZip());
+        };
+
         // Load button action: fetch employee data by ID and populate fields
         loadBtn.setOnAction(e -> {
+            int id;
             try {
-                int id = Integer.parseInt(idField.getText().trim());
-                Employee emp = EmployeeDAO.getEmployee(id);
+                id = Integer.parseInt(idField.getText().trim());
+            } catch (NumberFormatException ex) {
+                showAlert("Invalid ID");
+                return;
+            }
+            runAsync("Loading employee " + id, () -> EmployeeDAO.getEmployee(id), emp -> {
                 if (emp == null) {
                     showAlert("Employee not found.");
                     return;
                 }
-                fn.setText(emp.getFname());
-                ln.setText(emp.getLname());
-                emField.setText(emp.getEmail());
-                ph.setText(emp.getPhone_number());
-                genderField.setText(emp.getGender());
-                raceField.setText(emp.getRace());
-                dobField.setText(emp.getDOB());
-                hireDateField.setText(emp.getHireDate());
-                sal.setText(String.valueOf(emp.getSalary()));
-                streetField.setText(emp.getStreet());
-                cityCB.getSelectionModel().select(
-                    EmployeeDAO.getCities().stream()
-                    .filter(c -> c.getCityId() == emp.getCity_id())
-                    .findFirst().orElse(null)
-                );
-                stateCB.getSelectionModel().select(
-                    EmployeeDAO.getStates().stream()
-                    .filter(s -> s.getStateId() == emp.getState_id())
-                    .findFirst().orElse(null)
-                );
-                zip.setText(emp.getZip());
-            } catch (NumberFormatException ex) {
-                showAlert("Invalid ID");
-            }
+                loaded[0] = emp;
+                fill.accept(emp);
+            }, loadBtn, saveBtn, deleteBtn);
         });
 
-        // Save button action: update employee fields one by one
+        // Save button action: write the edited fields in a single transaction
         saveBtn.setOnAction(e -> {
             try {
                 int id = Integer.parseInt(idField.getText().trim());
-                boolean ok = true;
-                ok &= EmployeeDAO.updateEmployee(id, "Fname", fn.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "Lname", ln.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "email", emField.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "phone_number", ph.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "gender", genderField.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "race", raceField.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "DOB", dobField.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "HireDate", hireDateField.getText().trim());
-                ok &= EmployeeDAO.updateEmployee(id, "Salary", sal.getText().trim());
-                ok &= EmployeeDAO.updateAddress(
-                    id,
-                    streetField.getText().trim(),
-                    cityCB.getValue().getCityId(),
-                    stateCB.getValue().getStateId(),
-                    zip.getText().trim()
-                );
-                showAlert(ok ? "Updated successfully." : "Update failed.");
+                if (loaded[0] == null || loaded[0].getEmpid() != id) {
+                    showAlert("Load employee " + id + " before saving.");
+                    return;
+                }
+                Employee before = loaded[0];
+                Employee after = new Employee(before);
+                after.setFname(fn.getText().trim());
+                after.setLname(ln.getText().trim());
+                after.setEmail(emField.getText().trim());
+                after.setPhone_number(ph.getText().trim());
+                after.setGender(genderField.getText().trim());
+                after.setRace(raceField.getText().trim());
+                try {
+                    after.setDOB(dobField.getText().trim());
+                    after.setHireDate(hireDateField.getText().trim());
+                } catch (DateTimeParseException ex) {
+                    showAlert("Dates must be YYYY-MM-DD.");
+                    return;
+                }
+                after.setSalary(Double.parseDouble(sal.getText().trim()));
+                after.setStreet(streetField.getText().trim());
+                after.setCity_id(cityCB.getValue().getCityId());
+                after.setState_id(stateCB.getValue().getStateId());
+                after.setZip(zip.getText().trim());
+
+                saveMerging(before, after, loaded, fill, "Updated successfully.",
+                            loadBtn, saveBtn, deleteBtn);
             } catch (Exception ex) {
                 showAlert("Error saving changes.");
             }
@@ -294,8 +438,11 @@ public class MainFX extends Application {
         deleteBtn.setOnAction(e -> {
             try {
                 int id = Integer.parseInt(idField.getText().trim());
-                boolean deleted = EmployeeDAO.deleteEmployee(id);
-                showAlert(deleted ? "Deleted employee " + id : "Delete failed.");
+                runWrite("Deleting employee " + id, () -> EmployeeDAO.deleteEmployee(id), deleted -> {
+                    if (deleted && loaded[0] != null && loaded[0].getEmpid() == id) loaded[0] = null;
+                    if (deleted) typeaheadCache.clear();
+                    showAlert(deleted ? "Deleted employee " + id : "Delete failed.");
+                }, loadBtn, saveBtn, deleteBtn);
             } catch (NumberFormatException ex) {
                 showAlert("Invalid ID");
             }
@@ -322,6 +469,64 @@ public class MainFX extends Application {
         return tab;
     }
 
+    /**
+     * Save {@code mine}, edited from {@code base}. If someone else saved the
+     * employee in the meantime, reload it and merge: their changes are kept
+     * and ours applied on top. When both sides changed the same field the
+     * user picks which to keep; the merge is then saved against their
+     * version (or put in the form for another look).
+     * @param loaded holds the copy later saves are compared against
+     * @param fill   shows a record in the form
+     */
+    private void saveMerging(Employee base, Employee mine, Employee[] loaded,
+                             Consumer<Employee> fill, String savedMsg, Node... busy) {
+        int id = mine.getEmpid();
+        runWrite("Saving employee " + id, () -> EmployeeDAO.saveEmployee(base, mine), result -> {
+            switch (result) {
+                case SAVED -> {
+                    loaded[0] = mine;
+                    typeaheadCache.clear();
+                    showAlert(savedMsg);
+                }
+                case FAILED -> showAlert("Update failed.");
+                case CONFLICT -> runAsync("Reloading employee " + id, () -> EmployeeDAO.getEmployee(id), theirs -> {
+                    if (theirs == null) {
+                        loaded[0] = null;
+                        showAlert("Employee " + id + " was deleted by someone else.");
+                        return;
+                    }
+                    loaded[0] = theirs;
+                    List<EmployeeField> clashes = new ArrayList<>();
+                    Employee merged = EmployeeField.merge(base, mine, theirs, clashes);
+                    if (!clashes.isEmpty() && !keepMine(clashes, mine, theirs)) {
+                        for (EmployeeField f : clashes) f.set(merged, f.get(theirs));
+                        fill.accept(merged);
+                        showAlert("Kept the other changes. Review the form and save again.");
+                        return;
+                    }
+                    fill.accept(merged);
+                    saveMerging(theirs, merged, loaded, fill,
+                        "Updated successfully (merged with changes saved meanwhile by someone else).", busy);
+                }, busy);
+            }
+        }, busy);
+    }
+
+    /** Ask whether our values should overwrite fields someone else also changed. */
+    private boolean keepMine(List<EmployeeField> clashes, Employee mine, Employee theirs) {
+        StringBuilder msg = new StringBuilder(
+            "Someone else saved this employee while you were editing. Both of you changed:\n\n");
+        for (EmployeeField f : clashes) {
+            msg.append(String.format("%s: yours \"%s\", theirs \"%s\"%n",
+                f.getColumn(), f.get(mine), f.get(theirs)));
+        }
+        ButtonType mineBtn = new ButtonType("Keep mine", ButtonBar.ButtonData.YES);
+        ButtonType theirsBtn = new ButtonType("Keep theirs", ButtonBar.ButtonData.NO);
+        Alert a = new Alert(Alert.AlertType.CONFIRMATION, msg.toString(), mineBtn, theirsBtn);
+        a.setHeaderText("Edit conflict");
+        return a.showAndWait().orElse(theirsBtn) == mineBtn;
+    }
+
     /**
      * Creates the "Bulk Salary" tab UI.
      * Allows admin to apply a percentage salary change to all employees within a range.
@@ -332,18 +537,90 @@ public class MainFX extends Application {
         TextField maxField = new TextField();
         TextField pctField = new TextField();
         Button btn = new Button("Apply");
+        Button stopBtn = new Button("Stop");
+        ProgressBar progress = new ProgressBar(0);
+        progress.setPrefWidth(250);
+        Label progressLabel = new Label();
+        ComboBox<SalaryAdjustmentJob.Job> unfinished = new ComboBox<>();
+        Button resumeBtn = new Button("Resume");
+        Button discardBtn = new Button("Discard");
+        stopBtn.setDisable(true);
+
+        // Set by Stop; the job checks it between chunks
+        AtomicBoolean stop = new AtomicBoolean();
+
+        Runnable refreshUnfinished = () -> runAsync("Checking for unfinished salary jobs",
+            SalaryAdjustmentJob::unfinished, jobs -> {
+                unfinished.getItems().setAll(jobs);
+                unfinished.getSelectionModel().selectFirst();
+                resumeBtn.setDisable(jobs.isEmpty());
+                discardBtn.setDisable(jobs.isEmpty());
+            });
+        refreshUnfinished.run();
+
+        // Runs a created or unfinished job in the background, chunk by chunk
+        IntConsumer runJob = jobId -> {
+            stop.set(false);
+            stopBtn.setDisable(false);
+            Task<SalaryAdjustmentJob.Job> task = runWrite("Updating salaries",
+                () -> SalaryAdjustmentJob.run(jobId, job -> Platform.runLater(() -> {
+                        progress.setProgress(job.fraction());
+                        progressLabel.setText(job.rowsUpdated + " updated");
+                    }), stop::get),
+                job -> {
+                    stopBtn.setDisable(true);
+                    typeaheadCache.clear();
+                    refreshUnfinished.run();
+                    if (job == null) {
+                        showAlert("Salary update failed; it can be resumed.");
+                    } else if (job.isDone()) {
+                        progress.setProgress(1);
+                        showAlert(job.rowsUpdated + " records updated");
+                    } else {
+                        showAlert("Stopped after " + job.rowsUpdated + " records; resume it below.");
+                    }
+                }, btn, resumeBtn, discardBtn);
+            task.stateProperty().addListener((obs, was, now) -> {
+                if (now == Worker.State.FAILED) {
+                    stop.set(true);
+                    stopBtn.setDisable(true);
+                    refreshUnfinished.run();
+                }
+            });
+        };
 
         btn.setOnAction(e -> {
             try {
                 double min = Double.parseDouble(minField.getText().trim());
                 double max = Double.parseDouble(maxField.getText().trim());
                 double pct = Double.parseDouble(pctField.getText().trim());
-                int updated = EmployeeDAO.updateSalariesInRange(min, max, pct);
-                showAlert(updated + " records updated");
+                progress.setProgress(0);
+                progressLabel.setText("");
+                runWrite("Starting salary update", () -> SalaryAdjustmentJob.create(min, max, pct), jobId -> {
+                    if (jobId < 0) showAlert("Could not start the salary update.");
+                    else runJob.accept(jobId);
+                }, btn);
             } catch (NumberFormatException ex) {
                 showAlert("Enter valid numbers");
             }
         });
+        stopBtn.setOnAction(e -> {
+            stop.set(true);
+            stopBtn.setDisable(true);
+        });
+        resumeBtn.setOnAction(e -> {
+            SalaryAdjustmentJob.Job job = unfinished.getValue();
+            if (job == null) return;
+            progress.setProgress(job.fraction());
+            progressLabel.setText(job.rowsUpdated + " updated");
+            runJob.accept(job.jobId);
+        });
+        discardBtn.setOnAction(e -> {
+            SalaryAdjustmentJob.Job job = unfinished.getValue();
+            if (job == null) return;
+            runWrite("Discarding salary job " + job.jobId, () -> SalaryAdjustmentJob.cancel(job.jobId),
+                ok -> refreshUnfinished.run(), resumeBtn, discardBtn);
+        });
 
         GridPane form = new GridPane();
         form.setPadding(new Insets(10));
@@ -352,7 +629,9 @@ public class MainFX extends Application {
         form.addRow(0, new Label("Min:"), minField);
         form.addRow(1, new Label("Max:"), maxField);
         form.addRow(2, new Label("% Change:"), pctField);
-        form.add(btn, 1, 3);
+        form.add(new HBox(10, btn, stopBtn), 1, 3);
+        form.add(new HBox(10, progress, progressLabel), 1, 4);
+        form.addRow(5, new Label("Unfinished:"), new HBox(10, unfinished, resumeBtn, discardBtn));
 
         tab.setContent(form);
         return tab;
@@ -361,73 +640,182 @@ public class MainFX extends Application {
     /**
      * Creates the "Reports" tab UI.
      * Admin can view pay history, total pay by job, or total pay by division.
+     * "In memory" answers totals from a {@link PayrollAnalytics} snapshot
+     * instead of MySQL and adds totals by month and the top 10 earners.
+     * "Per month" shows By Job / By Div as a month x group {@link PayrollPivot}.
      */
     private Tab tabReports() {
         Tab tab = new Tab("Reports");
-        TextArea area = new TextArea();
-        area.setEditable(false);
 
-        // Pay History controls
+        // Pay history is paged in as the table is scrolled; totals are a small table
+        TableView<PayStatement> historyTable = payStatementTable();
+        TableView<Map.Entry<String, Double>> totalsTable = new TableView<>();
+        totalsTable.getColumns().add(column("Group", Map.Entry::getKey));
+        totalsTable.getColumns().add(column("Total Pay", en -> money(en.getValue())));
+        totalsTable.setVisible(false);
+        TableView<Integer> pivotTable = new TableView<>();  // rows are period indexes, -1 = totals
+        pivotTable.setVisible(false);
+        StackPane results = new StackPane(historyTable, totalsTable, pivotTable);
+
         TextField phId = new TextField("0");
         Button phBtn = new Button("History");
+        PagedTableModel<PayStatement> history = new PagedTableModel<>(HISTORY_PAGE_SIZE,
+            (work, onPage) -> runAsync("Loading pay history", work, onPage, phBtn));
+        history.install(historyTable);
+
         phBtn.setOnAction(e -> {
+            int id;
             try {
-                int id = Integer.parseInt(phId.getText().trim());
-                List<PayStatement> list = EmployeeDAO.getPayStatementHistory(id);
-                StringBuilder sb = new StringBuilder();
-                if (list.isEmpty()) sb.append("No statements");
-                else list.forEach(ps -> sb.append(ps).append("\n----\n"));
-                area.setText(sb.toString());
+                id = Integer.parseInt(phId.getText().trim());
             } catch (NumberFormatException ex) {
                 showAlert("Invalid ID");
+                return;
             }
+            showOnly(historyTable);
+            history.reset((after, limit) -> EmployeeDAO.getPayStatementPage(id, after, limit));
         });
 
-        // Total pay by job or division
+        // Total pay by job or division; blank month = whole year, YTD = Jan to month
         TextField year  = new TextField("2025");
         TextField month = new TextField("1");
-        Button byJob = new Button("By Job");
-        Button byDiv = new Button("By Div");
+        CheckBox ytd      = new CheckBox("YTD");
+        CheckBox inMemory = new CheckBox("In memory");
+        CheckBox perMonth = new CheckBox("Per month");
+        Button byJob   = new Button("By Job");
+        Button byDiv   = new Button("By Div");
+        Button byMonth = new Button("By Month");
+        Button top10   = new Button("Top 10");
+        byMonth.disableProperty().bind(inMemory.selectedProperty().not());
+        top10.disableProperty().bind(inMemory.selectedProperty().not());
+        Node[] totalsButtons = { byJob, byDiv, byMonth, top10 };
 
         byJob.setOnAction(e -> {
-            try {
-                int y = Integer.parseInt(year.getText().trim());
-                int m = Integer.parseInt(month.getText().trim());
-                Map<String, Double> map = EmployeeDAO.getTotalPayByJobTitle(y, m);
-                StringBuilder sb = new StringBuilder();
-                map.forEach((k, v) -> sb.append(k).append(": $").append(v).append("\n"));
-                area.setText(sb.toString());
-            } catch (NumberFormatException ex) {
-                showAlert("Enter valid year/month");
+            LocalDate[] p = reportPeriod(year, month, ytd);
+            if (p == null) return;
+            if (perMonth.isSelected()) {
+                runAsync("Totalling pay by job title per month",
+                    () -> PayrollPivot.build(p[0], p[1], Period.ofMonths(1), inMemory.isSelected()
+                        ? (from, to) -> analytics().totals(PayrollAnalytics.GroupBy.JOB_TITLE, from, to)
+                        : EmployeeDAO::totalPayByJobTitle),
+                    pivot -> showPivot(pivotTable, pivot), totalsButtons);
+                return;
             }
+            runAsync("Totalling pay by job title",
+                () -> inMemory.isSelected()
+                    ? analytics().totals(PayrollAnalytics.GroupBy.JOB_TITLE, p[0], p[1])
+                    : EmployeeDAO.getTotalPayByJobTitle(p[0], p[1]),
+                map -> showTotals(totalsTable, map), totalsButtons);
         });
 
         byDiv.setOnAction(e -> {
-            try {
-                int y = Integer.parseInt(year.getText().trim());
-                int m = Integer.parseInt(month.getText().trim());
-                Map<String, Double> map = EmployeeDAO.getTotalPayByDivision(y, m);
-                StringBuilder sb = new StringBuilder();
-                map.forEach((k, v) -> sb.append(k).append(": $").append(v).append("\n"));
-                area.setText(sb.toString());
-            } catch (NumberFormatException ex) {
-                showAlert("Enter valid year/month");
+            LocalDate[] p = reportPeriod(year, month, ytd);
+            if (p == null) return;
+            if (perMonth.isSelected()) {
+                runAsync("Totalling pay by division per month",
+                    () -> PayrollPivot.build(p[0], p[1], Period.ofMonths(1), inMemory.isSelected()
+                        ? (from, to) -> analytics().totals(PayrollAnalytics.GroupBy.DIVISION, from, to)
+                        : EmployeeDAO::totalPayByDivision),
+                    pivot -> showPivot(pivotTable, pivot), totalsButtons);
+                return;
             }
+            runAsync("Totalling pay by division",
+                () -> inMemory.isSelected()
+                    ? analytics().totals(PayrollAnalytics.GroupBy.DIVISION, p[0], p[1])
+                    : EmployeeDAO.getTotalPayByDivision(p[0], p[1]),
+                map -> showTotals(totalsTable, map), totalsButtons);
+        });
+
+        byMonth.setOnAction(e -> {
+            LocalDate[] p = reportPeriod(year, month, ytd);
+            if (p == null) return;
+            runAsync("Totalling pay by month",
+                () -> analytics().totals(PayrollAnalytics.GroupBy.MONTH, p[0], p[1]),
+                map -> showTotals(totalsTable, map), totalsButtons);
+        });
+
+        top10.setOnAction(e -> {
+            LocalDate[] p = reportPeriod(year, month, ytd);
+            if (p == null) return;
+            runAsync("Finding top earners", () -> {
+                Map<Integer, Double> top = analytics().top(PayrollAnalytics.GroupBy.EMPLOYEE, p[0], p[1], 10);
+                Map<Integer, Employee> emps = EmployeeDAO.getEmployees(top.keySet());
+                Map<String, Double> named = new LinkedHashMap<>();
+                top.forEach((id, total) -> {
+                    Employee emp = emps.get(id);
+                    named.put(emp == null ? "#" + id : id + " " + emp.getFname() + " " + emp.getLname(), total);
+                });
+                return named;
+            }, map -> showTotals(totalsTable, map), totalsButtons);
         });
 
         HBox controls = new HBox(10,
             new Label("ID:"), phId, phBtn,
             new Label("Year:"), year,
-            new Label("Mon:"), month, byJob, byDiv
+            new Label("Mon:"), month, ytd, perMonth, inMemory, byJob, byDiv, byMonth, top10
         );
         controls.setPadding(new Insets(10));
 
-        VBox layout = new VBox(10, controls, area);
+        VBox.setVgrow(results, Priority.ALWAYS);
+        VBox layout = new VBox(10, controls, results);
         layout.setPadding(new Insets(10));
         tab.setContent(layout);
         return tab;
     }
 
+    /**
+     * [from, to) for the report fields: the month, the whole year when the
+     * month is blank, or January through the month with YTD ticked.
+     * @return null (after an alert) if the fields don't parse
+     */
+    private LocalDate[] reportPeriod(TextField year, TextField month, CheckBox ytd) {
+        try {
+            int y = Integer.parseInt(year.getText().trim());
+            String m = month.getText().trim();
+            if (m.isEmpty()) return new LocalDate[]{ LocalDate.of(y, 1, 1), LocalDate.of(y + 1, 1, 1) };
+            LocalDate first = LocalDate.of(y, Integer.parseInt(m), 1);
+            return new LocalDate[]{ ytd.isSelected() ? first.withMonth(1) : first, first.plusMonths(1) };
+        } catch (NumberFormatException | DateTimeException ex) {
+            showAlert("Enter valid year/month");
+            return null;
+        }
+    }
+
+    /** The in-memory payroll snapshot; loads it on first use (call off the FX thread). */
+    private static PayrollAnalytics analytics() {
+        PayrollAnalytics a = PayrollAnalytics.snapshot();
+        if (a == null) throw new IllegalStateException("Could not load payroll into memory");
+        return a;
+    }
+
+    private static void showTotals(TableView<Map.Entry<String, Double>> totals, Map<String, Double> map) {
+        totals.getItems().setAll(map.entrySet());
+        showOnly(totals);
+    }
+
+    /** One row per period plus a totals row, one column per group plus a row total. */
+    private static void showPivot(TableView<Integer> table, PayrollPivot pivot) {
+        if (pivot == null) return;  // interrupted
+        table.getColumns().clear();
+        table.getColumns().add(column("Period", p -> p < 0 ? "Total" : pivot.periodLabel(p)));
+        for (int g = 0; g < pivot.groups().size(); g++) {
+            int group = g;
+            table.getColumns().add(column(pivot.groups().get(g),
+                p -> money(p < 0 ? pivot.groupTotal(group) : pivot.total(p, group))));
+        }
+        table.getColumns().add(column("Total",
+            p -> money(p < 0 ? pivot.grandTotal() : pivot.periodTotal(p))));
+        List<Integer> rows = new ArrayList<>();
+        for (int p = 0; p < pivot.periodCount(); p++) rows.add(p);
+        rows.add(-1);
+        table.getItems().setAll(rows);
+        showOnly(table);
+    }
+
+    /** Show {@code node} and hide the other result tables stacked with it. */
+    private static void showOnly(Node node) {
+        for (Node child : node.getParent().getChildrenUnmodifiable()) child.setVisible(child == node);
+    }
+
     /**
      * Creates the "Insert" tab UI.
      * Admin can add a new employee, including demographics, SSN, address, job & division.
@@ -448,16 +836,19 @@ public class MainFX extends Application {
         TextField hireDateField= new TextField();
         TextField sal          = new TextField();
         TextField streetField  = new TextField();
-        ComboBox<Integer> jobCB   = new ComboBox<>(FXCollections.observableArrayList(
-            EmployeeDAO.getJobTitles().keySet()
-        ));
-        ComboBox<Integer> divCB   = new ComboBox<>(FXCollections.observableArrayList(
-            EmployeeDAO.getDivisions().keySet()
-        ));
-        ComboBox<City>    cityCB  = new ComboBox<>(FXCollections.observableArrayList(EmployeeDAO.getCities()));
-        ComboBox<State>   stateCB = new ComboBox<>(FXCollections.observableArrayList(EmployeeDAO.getStates()));
+        ComboBox<Integer> jobCB   = new ComboBox<>();
+        ComboBox<Integer> divCB   = new ComboBox<>();
+        ComboBox<City>    cityCB  = new ComboBox<>();
+        ComboBox<State>   stateCB = new ComboBox<>();
         TextField zip       = new TextField();
 
+        runAsync("Loading job titles", () -> EmployeeDAO.getJobTitles().keySet(),
+            jobCB.getItems()::setAll, jobCB);
+        runAsync("Loading divisions", () -> EmployeeDAO.getDivisions().keySet(),
+            divCB.getItems()::setAll, divCB);
+        runAsync("Loading cities", EmployeeDAO::getCities, cityCB.getItems()::setAll, cityCB);
+        runAsync("Loading states", EmployeeDAO::getStates, stateCB.getItems()::setAll, stateCB);
+
         Button addBtn       = new Button("Add");
         addBtn.setOnAction(e -> {
             try {
@@ -467,26 +858,41 @@ public class MainFX extends Application {
                 int cityId = cityCB.getValue().getCityId();
                 int stateId= stateCB.getValue().getStateId();
 
+                // Read the form on the FX thread; only the insert runs in the background
+                String first  = fn.getText().trim();
+                String last   = ln.getText().trim();
+                String email  = emField.getText().trim();
+                String phone  = ph.getText().trim();
+                String gender = genderField.getText().trim();
+                String race   = raceField.getText().trim();
+                String ssn    = ssnField.getText().trim();
+                String dob    = dobField.getText().trim();
+                String hired  = hireDateField.getText().trim();
+                String street = streetField.getText().trim();
+                String zipVal = zip.getText().trim();
+
                 // Call DAO to insert new employee
-                int newId = EmployeeDAO.insertEmployee(
-                    fn.getText().trim(),            // 1) First Name
-                    ln.getText().trim(),            // 2) Last Name
-                    emField.getText().trim(),       // 3) Email address
-                    ph.getText().trim(),            // 4) Phone number
-                    genderField.getText().trim(),   // 5) Gender
-                    raceField.getText().trim(),     // 6) Race/ethnicity
-                    ssnField.getText().trim(),      // 7) Social Security Number
-                    dobField.getText().trim(),      // 8) Date of Birth (YYYY-MM-DD)
-                    hireDateField.getText().trim(), // 9) Hire Date (YYYY-MM-DD)
-                    sVal,                           // 10) Salary
-                    jid,                            // 11) Job Title ID
-                    did,                            // 12) Division ID
-                    streetField.getText().trim(),   // 13) Street address
-                    cityId,                         // 14) City ID
-                    stateId,                        // 15) State ID
-                    zip.getText().trim()            // 16) ZIP code
-                );
-                showAlert(newId > 0 ? "Added! ID=" + newId : "Insert failed");
+                runWrite("Adding employee", () -> EmployeeDAO.insertEmployee(
+                    first,   // 1) First Name
+                    last,    // 2) Last Name
+                    email,   // 3) Email address
+                    phone,   // 4) Phone number
+                    gender,  // 5) Gender
+                    race,    // 6) Race/ethnicity
+                    ssn,     // 7) Social Security Number
+                    dob,     // 8) Date of Birth (YYYY-MM-DD)
+                    hired,   // 9) Hire Date (YYYY-MM-DD)
+                    sVal,    // 10) Salary
+                    jid,     // 11) Job Title ID
+                    did,     // 12) Division ID
+                    street,  // 13) Street address
+                    cityId,  // 14) City ID
+                    stateId, // 15) State ID
+                    zipVal   // 16) ZIP code
+                ), newId -> {
+                    if (newId > 0) typeaheadCache.clear();
+                    showAlert(newId > 0 ? "Added! ID=" + newId : "Insert failed");
+                }, addBtn);
             } catch (Exception ex) {
                 showAlert("Ensure all fields are filled correctly");
             }
@@ -512,6 +918,139 @@ public class MainFX extends Application {
         return tab;
     }
 
+    // ── Result tables ────────────────────────────────────────────────────────
+
+    /** Columns for employee search results. */
+    private static TableView<EmployeeSummary> employeeTable() {
+        TableView<EmployeeSummary> table = new TableView<>();
+        table.getColumns().addAll(List.of(
+            column("ID", EmployeeSummary::getEmpid),
+            column("First", EmployeeSummary::getFname),
+            column("Last", EmployeeSummary::getLname),
+            column("Email", EmployeeSummary::getEmail),
+            column("Phone", EmployeeSummary::getPhone_number),
+            column("DOB", EmployeeSummary::getDateOfBirth),
+            column("Hired", EmployeeSummary::getDateHired),
+            column("Job Title", EmployeeSummary::getJob_title),
+            column("Division", EmployeeSummary::getDivisionName),
+            column("Salary", emp -> money(emp.getSalary()))
+        ));
+        return table;
+    }
+
+    /** Columns for pay-statement history. */
+    private static TableView<PayStatement> payStatementTable() {
+        TableView<PayStatement> table = new TableView<>();
+        table.setPlaceholder(new Label("No statements"));
+        table.getColumns().addAll(List.of(
+            column("ID", PayStatement::getEmployeeId),
+            column("Employee", PayStatement::getEmployeeName),
+            column("Pay Date", PayStatement::getPayDate),
+            column("Job Title", PayStatement::getJobTitle),
+            column("Division", PayStatement::getDivisionName),
+            column("Gross Pay", ps -> money(ps.getGrossPay())),
+            column("Net Pay", ps -> money(ps.getNetPay()))
+        ));
+        return table;
+    }
+
+    /**
+     * A read-only column showing {@code value} of each row. Sorting is off:
+     * a paged table only holds the rows loaded so far, so a client-side sort
+     * would be misleading.
+     */
+    private static <T> TableColumn<T, Object> column(String title, Function<T, Object> value) {
+        TableColumn<T, Object> col = new TableColumn<>(title);
+        col.setCellValueFactory(cd -> new ReadOnlyObjectWrapper<>(value.apply(cd.getValue())));
+        col.setSortable(false);
+        return col;
+    }
+
+    private static String money(double amount) {
+        return String.format("$%,.2f", amount);
+    }
+
+    /** Select the item whose id is {@code id}, using the items already in the box. */
+    private static <T> void selectById(ComboBox<T> box, ToIntFunction<T> idOf, int id) {
+        box.getItems().stream()
+           .filter(item -> idOf.applyAsInt(item) == id)
+           .findFirst()
+           .ifPresentOrElse(box.getSelectionModel()::select,
+                            box.getSelectionModel()::clearSelection);
+    }
+
+    // ── Background DAO work ──────────────────────────────────────────────────
+
+    /**
+     * Run {@code work} (a DAO call) on a {@link DaoExecutor} thread so the
+     * JavaFX Application Thread never waits on JDBC. {@code busy} nodes are
+     * disabled until it finishes; {@code onDone} then runs back on the FX
+     * thread with the result. A cancelled task's result is discarded.
+     */
+    private <T> Task<T> runAsync(String label, Callable<T> work, Consumer<T> onDone, Node... busy) {
+        return submit(label, work, onDone, false, busy);
+    }
+
+    /**
+     * {@link #runAsync} for work that changes the database. The status bar's
+     * Cancel does not apply to it, so its outcome is always reported.
+     */
+    private <T> Task<T> runWrite(String label, Callable<T> work, Consumer<T> onDone, Node... busy) {
+        return submit(label, work, onDone, true, busy);
+    }
+
+    private <T> Task<T> submit(String label, Callable<T> work, Consumer<T> onDone,
+                               boolean write, Node... busy) {
+        Task<T> task = new Task<>() {
+            { updateTitle(label); }
+
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            finished(task, busy);
+            onDone.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            finished(task, busy);
+            Throwable ex = task.getException();
+            System.err.println(label + " failed: " + ex);
+            showAlert(label + " failed: " + ex.getMessage());
+        });
+        task.setOnCancelled(e -> finished(task, busy));
+
+        for (Node n : busy) n.setDisable(true);
+        running.add(task);
+        if (write) writes.add(task);
+        updateStatus();
+        DaoExecutor.executor().execute(task);
+        return task;
+    }
+
+    private void finished(Task<?> task, Node... busy) {
+        running.remove(task);
+        writes.remove(task);
+        for (Node n : busy) n.setDisable(false);
+        updateStatus();
+    }
+
+    /** Show the oldest running task (and how many others are queued) in the status bar. */
+    private void updateStatus() {
+        boolean idle = running.isEmpty();
+        busyIndicator.setVisible(!idle);
+        cancelBtn.setVisible(!idle);
+        cancelBtn.setDisable(writes.containsAll(running));
+        if (idle) {
+            statusLabel.setText("Ready");
+        } else {
+            Task<?> first = running.iterator().next();
+            int others = running.size() - 1;
+            statusLabel.setText(first.getTitle() + "..." + (others > 0 ? " (+" + others + " more)" : ""));
+        }
+    }
+
     /**
      * Utility method to show an information alert.
      * @param msg The message to display.
@@ -526,6 +1065,8 @@ public class MainFX extends Application {
      * @param args Command-line arguments (ignored)
      */
     public static void main(String[] args) {
+        SchemaMigrations.migrate();
+        DaoExecutor.executor().execute(NameSearchIndex::warmUp);
         launch(args);
     }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Consumer;
 import model.Employee;
+import model.EmployeeField;
 import model.PayStatement;
 
 /**
@@ -120,12 +124,17 @@ public class Menu {
                     list = EmployeeDAO.searchByName(scanner.nextLine().trim());
                 }
                 case "2" -> {
-                    System.out.print("Enter ID: ");
+                    System.out.print("Enter ID(s), comma-separated: ");
+                    List<Integer> ids = new ArrayList<>();
                     try {
-                        int id = Integer.parseInt(scanner.nextLine().trim());
-                        Employee e = EmployeeDAO.getEmployee(id);
-                        if (e != null) list.add(e);
-                    } catch (NumberFormatException ignore) { }
+                        for (String s : scanner.nextLine().split(",")) {
+                            if (!s.isBlank()) ids.add(Integer.parseInt(s.trim()));
+                        }
+                    } catch (NumberFormatException ex) {
+                        System.out.println("Bad ID");
+                        continue;
+                    }
+                    list = new ArrayList<>(EmployeeDAO.getEmployees(ids).values());
                 }
                 case "3" -> {
                     System.out.print("Enter DOB (YYYY-MM-DD): ");
@@ -150,12 +159,15 @@ public class Menu {
             System.out.println("\nFound " + list.size() + " employee(s):");
             list.forEach(System.out::println);
 
-            // Prompt to update one of the results
+            // Prompt to update one of the results (already loaded; no second lookup)
             if (promptYesNo("Update one of these?")) {
                 System.out.print("Enter empId: ");
                 try {
                     int id = Integer.parseInt(scanner.nextLine().trim());
-                    updateEmployeeInfo(id);
+                    Employee chosen = list.stream()
+                        .filter(e -> e.getEmpid() == id).findFirst().orElse(null);
+                    if (chosen != null) updateEmployeeInfo(chosen);
+                    else updateEmployeeInfo(id);
                 } catch (NumberFormatException ex) {
                     System.out.println("Bad ID");
                 }
@@ -180,6 +192,7 @@ public class Menu {
     /**
      * Display current data for empId, allow choosing a single field to update.
      * Supports Fname, Lname, email, phone_number, Salary, DOB, SSN.
+     * Saved against the displayed record, so the audit log gets its old value.
      */
     private static void updateEmployeeInfo(int empId) {
         Employee emp = EmployeeDAO.getEmployee(empId);
@@ -187,21 +200,26 @@ public class Menu {
             System.out.println("Employee not found.");
             return;
         }
+        updateEmployeeInfo(emp);
+    }
+
+    /** As above, for a record the caller has already loaded. */
+    private static void updateEmployeeInfo(Employee emp) {
         System.out.println("\nCurrent Data:\n" + emp);
         System.out.println("Fields: 1) Fname  2) Lname  3) Email  4) Phone  5) Salary  6) DOB  7) SSN  0) Cancel");
         System.out.print("Choose field: ");
         String c = scanner.nextLine().trim();
 
-        String field, prompt;
-        boolean isSalary = false;
+        EmployeeField field;
+        String prompt;
         switch (c) {
-            case "1" -> { field = "Fname"; prompt = "New first name"; }
-            case "2" -> { field = "Lname"; prompt = "New last name"; }
-            case "3" -> { field = "email"; prompt = "New email"; }
-            case "4" -> { field = "phone_number"; prompt = "New phone"; }
-            case "5" -> { field = "Salary"; prompt = "New salary"; isSalary = true; }
-            case "6" -> { field = "DOB"; prompt = "New DOB (YYYY-MM-DD)"; }
-            case "7" -> { field = "SSN"; prompt = "New SSN"; }
+            case "1" -> { field = EmployeeField.FNAME; prompt = "New first name"; }
+            case "2" -> { field = EmployeeField.LNAME; prompt = "New last name"; }
+            case "3" -> { field = EmployeeField.EMAIL; prompt = "New email"; }
+            case "4" -> { field = EmployeeField.PHONE_NUMBER; prompt = "New phone"; }
+            case "5" -> { field = EmployeeField.SALARY; prompt = "New salary"; }
+            case "6" -> { field = EmployeeField.DOB; prompt = "New DOB (YYYY-MM-DD)"; }
+            case "7" -> { field = EmployeeField.SSN; prompt = "New SSN"; }
             case "0" -> { return; }
             default  -> { System.out.println("Invalid"); return; }
         }
@@ -212,19 +230,36 @@ public class Menu {
             System.out.println("Cannot be empty.");
             return;
         }
-        if (isSalary) {
-            try { Double.parseDouble(val); }
+        Employee edited = new Employee(emp);
+        if (field == EmployeeField.SALARY) {
+            try { edited.setSalary(Double.parseDouble(val)); }
             catch (NumberFormatException e) { System.out.println("Bad salary format."); return; }
+        } else {
+            try { field.set(edited, val); }
+            catch (DateTimeParseException e) { System.out.println("Bad date format; use YYYY-MM-DD."); return; }
         }
 
-        boolean ok = EmployeeDAO.updateEmployee(empId, field, val);
-        System.out.println(ok ? "Updated successfully." : "Update failed.");
+        switch (EmployeeDAO.saveEmployee(emp, edited)) {
+            case SAVED    -> System.out.println("Updated successfully.");
+            case CONFLICT -> System.out.println("Someone else changed this employee meanwhile; reload and try again.");
+            default       -> System.out.println("Update failed.");
+        }
     }
 
     /**
      * Admin: Prompt for a salary range and percentage, then apply bulk update.
      */
     private static void updateSalariesMenu() {
+        // A job stopped part-way (e.g. the app was closed) must be finished or dropped first
+        for (SalaryAdjustmentJob.Job job : SalaryAdjustmentJob.unfinished()) {
+            System.out.println("\nUnfinished: " + job);
+            if (promptYesNo("Resume it?")) {
+                runSalaryJob(job.jobId);
+            } else if (promptYesNo("Discard it (updates so far are kept)?")) {
+                SalaryAdjustmentJob.cancel(job.jobId);
+            }
+        }
+
         System.out.println("\nUpdate salaries in range:");
         double min = promptDouble("Min salary");
         double max = promptDouble("Max salary");
@@ -234,16 +269,32 @@ public class Menu {
             System.out.println("Cancelled.");
             return;
         }
-        int updated = EmployeeDAO.updateSalariesInRange(min, max, pct);
-        System.out.println(updated + " salary records updated.");
+        int jobId = SalaryAdjustmentJob.create(min, max, pct);
+        if (jobId < 0) {
+            System.out.println("Could not start the update.");
+            return;
+        }
+        runSalaryJob(jobId);
+    }
+
+    /** Run a salary adjustment job to the end, printing progress as it goes. */
+    private static void runSalaryJob(int jobId) {
+        SalaryAdjustmentJob.Job job = SalaryAdjustmentJob.run(jobId,
+            j -> System.out.printf("\r  %3.0f%%  %d updated", j.fraction() * 100, j.rowsUpdated),
+            () -> false);
+        System.out.println();
+        System.out.println(job != null && job.isDone()
+            ? job.rowsUpdated + " salary records updated."
+            : "Update interrupted; it can be resumed from this menu.");
     }
 
     /**
-     * Admin: Show sub-menu for reports: pay history, total pay by job, total pay by division.
+     * Admin: Show sub-menu for reports: pay history, total pay by job, total pay by division,
+     * or a year of either by month.
      */
     private static void showReportsMenu() {
         while (true) {
-            System.out.println("\nReports: 1) PayHistory  2) ByJobTitle  3) ByDivision  0) Back");
+            System.out.println("\nReports: 1) PayHistory  2) ByJobTitle  3) ByDivision  4) YearByMonth  0) Back");
             System.out.print("Choice: ");
             String c = scanner.nextLine().trim();
             switch (c) {
@@ -255,38 +306,73 @@ public class Menu {
                 }
                 case "2" -> {
                     int y = (int)promptDouble("Year (YYYY)");
-                    int m = (int)promptDouble("Month (1–12)");
+                    int m = promptMonth();
                     Map<String,Double> tj = EmployeeDAO.getTotalPayByJobTitle(y, m);
                     System.out.printf("Total pay by JobTitle for %d-%02d:%n", y, m);
                     tj.forEach((job, tot) -> System.out.printf("  %s: $%.2f%n", job, tot));
                 }
                 case "3" -> {
                     int y = (int)promptDouble("Year (YYYY)");
-                    int m = (int)promptDouble("Month (1–12)");
+                    int m = promptMonth();
                     Map<String,Double> td = EmployeeDAO.getTotalPayByDivision(y, m);
                     System.out.printf("Total pay by Division for %d-%02d:%n", y, m);
                     td.forEach((div, tot) -> System.out.printf("  %s: $%.2f%n", div, tot));
                 }
+                case "4" -> {
+                    int y = (int)promptDouble("Year (YYYY)");
+                    boolean byJob = promptYesNo("By job title (no = by division)?");
+                    LocalDate from = LocalDate.of(y, 1, 1);
+                    try {
+                        PayrollPivot pivot = byJob ? PayrollPivot.byJobTitle(from, from.plusYears(1))
+                                                   : PayrollPivot.byDivision(from, from.plusYears(1));
+                        if (pivot != null) printPivot(pivot);
+                    } catch (IllegalStateException e) {
+                        System.out.println(e.getMessage());
+                    }
+                }
                 default -> System.out.println("Invalid choice");
             }
         }
     }
 
+    /** Print a pivot as a grid: one line per period, one column per group, totals last. */
+    private static void printPivot(PayrollPivot pivot) {
+        List<String> groups = pivot.groups();
+        StringBuilder header = new StringBuilder(String.format("%-22s", "Period"));
+        for (String g : groups) header.append(String.format(" %14.14s", g));
+        System.out.println(header.append(String.format(" %14s", "Total")));
+        for (int p = 0; p < pivot.periodCount(); p++) {
+            StringBuilder line = new StringBuilder(String.format("%-22s", pivot.periodLabel(p)));
+            for (int g = 0; g < groups.size(); g++) line.append(String.format(" %14.2f", pivot.total(p, g)));
+            System.out.println(line.append(String.format(" %14.2f", pivot.periodTotal(p))));
+        }
+        StringBuilder totals = new StringBuilder(String.format("%-22s", "Total"));
+        for (int g = 0; g < groups.size(); g++) totals.append(String.format(" %14.2f", pivot.groupTotal(g)));
+        System.out.println(totals.append(String.format(" %14.2f", pivot.grandTotal())));
+    }
+
     /**
      * Display pay-statement history for a given empId (or all with 0).
-     * Sorted by pay date descending.
+     * Sorted by pay date descending. Statements are printed as they are
+     * streamed from the database rather than collected first.
      */
     private static void payHistory(int empId) {
-        List<PayStatement> history = EmployeeDAO.getPayStatementHistory(empId);
-        if (history.isEmpty()) {
+        int shown = EmployeeDAO.forEachPayStatement(empId, new Consumer<PayStatement>() {
+            private boolean first = true;
+
+            @Override
+            public void accept(PayStatement ps) {
+                if (first) {
+                    System.out.println("\nPay Statements:");
+                    first = false;
+                }
+                System.out.println(ps);
+                System.out.println("-----");
+            }
+        });
+        if (shown == 0) {
             System.out.println("No pay statements found.");
-            return;
         }
-        System.out.println("\nPay Statements:");
-        history.forEach(ps -> {
-            System.out.println(ps);
-            System.out.println("-----");
-        });
     }
 
     /** Employee: View own data or admin: view any empId data. */
@@ -371,6 +457,18 @@ public class Menu {
         return response.startsWith("y");
     }
 
+    /**
+     * Utility: Prompt repeatedly until a month number 1–12 is entered.
+     * @return the month
+     */
+    private static int promptMonth() {
+        while (true) {
+            double m = promptDouble("Month (1–12)");
+            if (m >= 1 && m <= 12 && m == Math.rint(m)) return (int) m;
+            System.out.println("Please enter a month from 1 to 12.");
+        }
+    }
+
     /**
      * Utility: Prompt repeatedly until a valid double is entered.
      * @param msg the prompt message
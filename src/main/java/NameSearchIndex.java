@@ -0,0 +1,374 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory trigram index over employee names ("Fname Lname"), used by
+ * EmployeeDAO.searchByName instead of a CONCAT(...) LIKE '%x%' table scan.
+ *
+ * Built from the employees table on first use and kept in step by the DAO
+ * after every committed insert, rename and delete. Matching is a literal,
+ * case-insensitive substring test: % and _ are ordinary characters. The
+ * SQL fallback escapes them (EmployeeDAO.nameContains) so both agree.
+ * Changes made outside this process are picked up by a background rebuild
+ * once the index is older than NAME_INDEX_REFRESH_MS (default 5 minutes).
+ *
+ * Set NAME_INDEX_ENABLED=false in .env to search with SQL instead.
+ */
+public class NameSearchIndex {
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(Database.getConfig("NAME_INDEX_ENABLED", "true"));
+    private static final long REFRESH_MS =
+        Database.getConfigLong("NAME_INDEX_REFRESH_MS", 5 * 60_000L);
+
+    private static volatile NameSearchIndex current;
+    private static volatile long builtAt;
+    /** Held for the whole of a rebuild, so only one runs at a time. */
+    private static final Object BUILD_LOCK = new Object();
+
+    // Guarded by the class monitor
+    private static boolean rebuilding;
+    /** Changes committed while a rebuild is reading the table, replayed onto the result. */
+    private static final List<Object[]> replay = new ArrayList<>();
+
+    /** empid -> normalized "first last". */
+    private final Map<Integer, String> names = new HashMap<>();
+    /** gram key (see {@link #indexKeys}) -> empids having it, ascending. */
+    private final Map<Long, Postings> grams = new HashMap<>();
+    /** Every indexed empid, ascending (for queries too short to have a trigram). */
+    private final Postings all = new Postings();
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /**
+     * Best matches for {@code query}, at most {@code limit}: exact name
+     * first, then names starting with it, then names with a word starting
+     * with it, then any other substring match; ties in empid order.
+     * @return empids, or null if the index is unavailable
+     */
+    public static List<Integer> search(String query, int limit) {
+        if (query == null || query.isEmpty()) return matches("", 0, limit);
+        NameSearchIndex idx = get();
+        if (idx == null) return null;
+        String q = normalize(query);
+        synchronized (idx) {
+            List<List<Integer>> byRank = List.of(
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            // Short query: ranks 0-2 are exactly the names with a word starting with q
+            boolean ranked = q.length() < 3;
+            Postings wordStarts = ranked ? idx.grams.get(prefixKey(q)) : null;
+            if (wordStarts != null) {
+                for (int i = 0; i < wordStarts.size; i++) {
+                    int id = wordStarts.ids[i];
+                    String name = idx.names.get(id);
+                    int rank = name.equals(q) ? 0 : name.startsWith(q) ? 1 : 2;
+                    if (byRank.get(rank).size() < limit) byRank.get(rank).add(id);
+                }
+            }
+            int better = byRank.get(0).size() + byRank.get(1).size() + byRank.get(2).size();
+            if (better < limit) {
+                idx.forEachMatch(q, 0, id -> {
+                    String name = idx.names.get(id);
+                    int rank = name.equals(q) ? 0
+                             : name.startsWith(q) ? 1
+                             : name.contains(" " + q) ? 2
+                             : 3;
+                    if (ranked) {
+                        // Ranks 0-2 were collected above; just fill up with substring matches
+                        if (rank == 3) byRank.get(3).add(id);
+                        return better + byRank.get(3).size() < limit;
+                    }
+                    List<Integer> bucket = byRank.get(rank);
+                    if (bucket.size() < limit) bucket.add(id);
+                    // Nothing ranked lower can make the cut once the best bucket is full
+                    return byRank.get(0).size() < limit;
+                });
+            }
+            List<Integer> out = new ArrayList<>(Math.min(limit, 64));
+            for (List<Integer> bucket : byRank) {
+                for (Integer id : bucket) {
+                    if (out.size() == limit) return out;
+                    out.add(id);
+                }
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Matches for {@code query} with empid greater than {@code afterEmpId},
+     * in empid order, at most {@code limit} (for keyset paging).
+     * @return empids, or null if the index is unavailable
+     */
+    public static List<Integer> matches(String query, int afterEmpId, int limit) {
+        NameSearchIndex idx = get();
+        if (idx == null) return null;
+        String q = normalize(query);
+        List<Integer> out = new ArrayList<>();
+        synchronized (idx) {
+            idx.forEachMatch(q, afterEmpId, id -> {
+                out.add(id);
+                return out.size() < limit;
+            });
+        }
+        return out;
+    }
+
+    // ── Upkeep (call after the change is committed) ───────────────────────────
+
+    /** Add or rename an employee. */
+    public static void put(int empId, String fname, String lname) {
+        apply(new Object[]{ empId, fname, lname });
+    }
+
+    /** Drop an employee. */
+    public static void remove(int empId) {
+        apply(new Object[]{ empId });
+    }
+
+    /** Re-read one employee's name from the database (e.g. after a single-field update). */
+    public static void refresh(int empId) {
+        if (current == null) return;
+        try (Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT Fname, Lname FROM employees WHERE empid = ?")) {
+            stmt.setInt(1, empId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) put(empId, rs.getString(1), rs.getString(2));
+                else remove(empId);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error refreshing name index: " + e.getMessage());
+            invalidate();
+        }
+    }
+
+    /** Build the index now (e.g. in the background at startup) rather than on the first search. */
+    public static void warmUp() {
+        get();
+    }
+
+    /** Discard the index; the next search rebuilds it. */
+    public static synchronized void invalidate() {
+        current = null;
+    }
+
+    /** @return number of indexed employees (0 if not built). */
+    public static int size() {
+        NameSearchIndex idx = current;
+        if (idx == null) return 0;
+        synchronized (idx) {
+            return idx.names.size();
+        }
+    }
+
+    private static synchronized void apply(Object[] change) {
+        if (rebuilding) replay.add(change);
+        NameSearchIndex idx = current;
+        if (idx != null) idx.applyChange(change);
+    }
+
+    // ── Build ─────────────────────────────────────────────────────────────────
+
+    /** The index, building it on first use; null if disabled or the build failed. */
+    private static NameSearchIndex get() {
+        if (!ENABLED) return null;
+        NameSearchIndex idx = current;
+        if (idx == null) {
+            synchronized (BUILD_LOCK) {
+                if (current == null) rebuild();
+                idx = current;
+            }
+        } else if (System.currentTimeMillis() - builtAt > REFRESH_MS) {
+            refreshInBackground();
+        }
+        return idx;
+    }
+
+    private static void refreshInBackground() {
+        synchronized (NameSearchIndex.class) {
+            if (rebuilding || System.currentTimeMillis() - builtAt <= REFRESH_MS) return;
+            builtAt = System.currentTimeMillis();  // don't retrigger while it runs
+        }
+        Thread t = new Thread(() -> {
+            synchronized (BUILD_LOCK) {
+                rebuild();
+            }
+        }, "name-index-refresh");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Load every name into a new index and swap it in. The table is read
+     * without the class monitor, so DAO writes are not held up; changes
+     * they report meanwhile are replayed onto the new index before the swap.
+     * Caller holds BUILD_LOCK.
+     */
+    private static void rebuild() {
+        synchronized (NameSearchIndex.class) {
+            rebuilding = true;
+            replay.clear();
+        }
+        NameSearchIndex fresh = new NameSearchIndex();
+        boolean ok = load(fresh, "SELECT empid, Fname, Lname FROM employees");
+        synchronized (NameSearchIndex.class) {
+            if (ok) {
+                for (Object[] change : replay) fresh.applyChange(change);
+                current = fresh;
+                builtAt = System.currentTimeMillis();
+            }
+            replay.clear();
+            rebuilding = false;
+        }
+    }
+
+    private static boolean load(NameSearchIndex into, String sql) {
+        try (Connection conn = Database.getConnection();
+             Statement stmt = conn.createStatement(
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(5_000);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    into.add(rs.getInt(1), rs.getString(2), rs.getString(3));
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error building name index: " + e.getMessage());
+        }
+        return false;
+    }
+
+    // ── Instance internals (guarded by the instance monitor) ─────────────────
+
+    private synchronized void applyChange(Object[] change) {
+        int empId = (Integer) change[0];
+        removeId(empId);
+        if (change.length == 3) add(empId, (String) change[1], (String) change[2]);
+    }
+
+    private void add(int empId, String fname, String lname) {
+        String name = normalize(fullName(fname, lname));
+        names.put(empId, name);
+        all.add(empId);
+        for (long g : indexKeys(name)) {
+            grams.computeIfAbsent(g, k -> new Postings()).add(empId);
+        }
+    }
+
+    private void removeId(int empId) {
+        String old = names.remove(empId);
+        if (old == null) return;
+        all.remove(empId);
+        for (long g : indexKeys(old)) {
+            Postings p = grams.get(g);
+            if (p != null && p.remove(empId) && p.size == 0) grams.remove(g);
+        }
+    }
+
+    private interface IdVisitor {
+        /** @return false to stop */
+        boolean visit(int empId);
+    }
+
+    /**
+     * Visit ids > afterEmpId whose name contains {@code q}, ascending.
+     * Walks the shortest posting list among the query's grams (all ids for
+     * a one-character query) and tests only the names on it.
+     */
+    private void forEachMatch(String q, int afterEmpId, IdVisitor visitor) {
+        Postings shortest = all;
+        for (long g : queryKeys(q)) {
+            Postings p = grams.get(g);
+            if (p == null) return;  // some trigram occurs in no name
+            if (p.size < shortest.size) shortest = p;
+        }
+        for (int i = shortest.indexAfter(afterEmpId); i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            if (names.get(id).contains(q) && !visitor.visit(id)) return;
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    static String fullName(String fname, String lname) {
+        return (fname == null ? "" : fname) + " " + (lname == null ? "" : lname);
+    }
+
+    static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+
+    // Gram keys pack up to three 16-bit chars; bits 48+ tell the kinds apart
+    private static final long BIGRAM = 1L << 48, PREFIX1 = 2L << 48, PREFIX2 = 3L << 48;
+
+    /**
+     * Keys a name is indexed under: its trigrams and bigrams, plus the
+     * one- and two-character prefixes of each word (for ranking short queries).
+     */
+    static long[] indexKeys(String name) {
+        List<Long> keys = new ArrayList<>();
+        for (int i = 0; i + 2 <= name.length(); i++) {
+            keys.add(BIGRAM | (long) name.charAt(i) << 16 | name.charAt(i + 1));
+            if (i + 3 <= name.length()) {
+                keys.add((long) name.charAt(i) << 32 | (long) name.charAt(i + 1) << 16 | name.charAt(i + 2));
+            }
+        }
+        for (String word : name.split(" ")) {
+            if (word.length() >= 1) keys.add(prefixKey(word.substring(0, 1)));
+            if (word.length() >= 2) keys.add(prefixKey(word.substring(0, 2)));
+        }
+        return keys.stream().mapToLong(Long::longValue).distinct().toArray();
+    }
+
+    /** Keys every name containing {@code q} must have: trigrams, or the bigram of a 2-char query. */
+    static long[] queryKeys(String q) {
+        if (q.length() == 2) return new long[]{ BIGRAM | (long) q.charAt(0) << 16 | q.charAt(1) };
+        if (q.length() < 3) return new long[0];
+        long[] out = new long[q.length() - 2];
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            out[i] = (long) q.charAt(i) << 32 | (long) q.charAt(i + 1) << 16 | q.charAt(i + 2);
+        }
+        return Arrays.stream(out).distinct().toArray();
+    }
+
+    /** Key for names having a word that starts with {@code p} (1 or 2 chars). */
+    static long prefixKey(String p) {
+        return p.length() == 1 ? PREFIX1 | p.charAt(0) : PREFIX2 | (long) p.charAt(0) << 16 | p.charAt(1);
+    }
+
+    /** A growable, ascending list of empids. */
+    private static class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) return;
+            at = -at - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, at, ids, at + 1, size - at);  // no-op for the usual append
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) return false;
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        /** Position of the first id greater than {@code id}. */
+        int indexAfter(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            return at >= 0 ? at + 1 : -at - 1;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+
+/**
+ * Lazily paged rows for a TableView. Pages are fetched from the DAO only
+ * as the user scrolls towards the end of what has been loaded; the
+ * TableView itself only creates cells for the visible rows, so rendering
+ * cost does not depend on how large the result is.
+ *
+ * All methods must be called on the JavaFX Application Thread.
+ */
+public class PagedTableModel<T> {
+    /** Fetches the page following {@code after} (null = first page); runs off the FX thread. */
+    public interface PageSource<T> {
+        List<T> fetch(T after, int limit);
+    }
+
+    /** Runs {@code work} in the background and hands its result to {@code onPage} on the FX thread. */
+    public interface Loader<T> {
+        Task<?> submit(Callable<List<T>> work, Consumer<List<T>> onPage);
+    }
+
+    private final ObservableList<T> rows = FXCollections.observableArrayList();
+    private final int pageSize;
+    private final Loader<T> loader;
+
+    private PageSource<T> source;
+    private boolean exhausted = true;
+    private Task<?> pending;
+    /** Bumped by reset() so a page for a previous query is dropped. */
+    private int generation;
+
+    public PagedTableModel(int pageSize, Loader<T> loader) {
+        this.pageSize = pageSize;
+        this.loader = loader;
+    }
+
+    /**
+     * Show this model in {@code table}. Rows within half a page of the end
+     * trigger the next fetch as they are laid out (deferred until after the
+     * layout pass).
+     */
+    public void install(TableView<T> table) {
+        table.setItems(rows);
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            public void updateIndex(int i) {
+                super.updateIndex(i);
+                if (i >= 0 && wantsMore(i)) Platform.runLater(() -> ensureLoaded(i));
+            }
+        });
+    }
+
+    /** Drop the current rows and start paging {@code source} from the beginning. */
+    public void reset(PageSource<T> source) {
+        if (pending != null) pending.cancel(false);
+        pending = null;
+        generation++;
+        rows.clear();
+        this.source = source;
+        exhausted = false;
+        fetchNext();
+    }
+
+    /** Show {@code list} as the complete result, cancelling any page still in flight. */
+    public void show(List<T> list) {
+        if (pending != null) pending.cancel(false);
+        pending = null;
+        generation++;
+        source = null;
+        exhausted = true;
+        rows.setAll(list);
+    }
+
+    /** Fetch the next page if {@code index} is close to the last loaded row. */
+    public void ensureLoaded(int index) {
+        if (wantsMore(index)) fetchNext();
+    }
+
+    private boolean wantsMore(int index) {
+        return !exhausted && pending == null && index >= rows.size() - pageSize / 2;
+    }
+
+    /** @return true while a page is being fetched. */
+    public boolean isLoading() {
+        return pending != null;
+    }
+
+    public ObservableList<T> getRows() {
+        return rows;
+    }
+
+    private void fetchNext() {
+        if (exhausted || pending != null || source == null) return;
+        PageSource<T> src = source;
+        T after = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        int gen = generation;
+        Task<?> task = loader.submit(() -> src.fetch(after, pageSize), page -> {
+            if (gen != generation) return;
+            pending = null;
+            exhausted = page.size() < pageSize;
+            rows.addAll(page);
+        });
+        pending = task;
+        // A failed or cancelled fetch leaves the model idle; scrolling retries it
+        task.stateProperty().addListener((obs, was, now) -> {
+            if (pending == task && (now == Worker.State.FAILED || now == Worker.State.CANCELLED)) {
+                pending = null;
+            }
+        });
+    }
+}
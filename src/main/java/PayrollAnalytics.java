@@ -0,0 +1,317 @@
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory copy of payroll for ad-hoc reporting without touching MySQL.
+ *
+ * A snapshot holds one row per pay statement as parallel primitive
+ * columns (pay date as epoch day, earnings, and dense codes for employee,
+ * job title, division and month), sorted by pay date. A query binary
+ * searches the date range and sums earnings into a double[] per group;
+ * large ranges are split into chunks scanned in parallel. Nothing is
+ * boxed per row, so a year of payroll aggregates in milliseconds.
+ *
+ * {@link #snapshot()} loads on first use and reloads after
+ * ANALYTICS_MAX_AGE_MS or once EmployeeDAO reports a payroll change
+ * ({@link #invalidate()}). Payroll written outside the application shows
+ * up at the next reload.
+ */
+public class PayrollAnalytics {
+    /** Groupings a query can total by. */
+    public enum GroupBy { JOB_TITLE, DIVISION, MONTH, EMPLOYEE }
+
+    private static final long MAX_AGE_MS = Database.getConfigLong("ANALYTICS_MAX_AGE_MS", 10 * 60_000L);
+    /** Ranges shorter than this are scanned on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 100_000;
+    /** Rows per parallel task. */
+    private static final int CHUNK_ROWS = 64 * 1024;
+    private static final int FETCH_SIZE = 5000;
+
+    private static volatile PayrollAnalytics current;
+    private static volatile boolean stale;
+
+    // ── Columns, one entry per payroll row, sorted by day ─────────────────────
+    private final int[]    day;
+    private final double[] earnings;
+    /** Group code of each row per GroupBy ordinal; -1 = none (no job title / division). */
+    private final int[][]  codes = new int[GroupBy.values().length][];
+    /** Group id (job_title_id, div id, year*100+month, empid) of each code, per GroupBy ordinal. */
+    private final int[][]  ids   = new int[GroupBy.values().length][];
+    private final long     loadedAt = System.currentTimeMillis();
+
+    /**
+     * Build a snapshot from raw columns (rows in any order).
+     * @param jobOf empid -> job_title_id; employees missing from it have no job title
+     * @param divOf empid -> division id
+     */
+    PayrollAnalytics(int[] empid, int[] epochDay, double[] earnings, int rows,
+                     Map<Integer, Integer> jobOf, Map<Integer, Integer> divOf) {
+        // Order rows by date so a date range is one contiguous slice
+        int[] order = sortedByDay(epochDay, rows);
+        this.day      = new int[rows];
+        this.earnings = new double[rows];
+        int[] emp = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            int r = order == null ? i : order[i];
+            day[i]           = epochDay[r];
+            this.earnings[i] = earnings[r];
+            emp[i]           = empid[r];
+        }
+        encode(GroupBy.EMPLOYEE,  emp, null);
+        encode(GroupBy.JOB_TITLE, emp, jobOf);
+        encode(GroupBy.DIVISION,  emp, divOf);
+        int[] month = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            if (i > 0 && day[i] == day[i - 1]) {
+                month[i] = month[i - 1];
+            } else {
+                LocalDate d = LocalDate.ofEpochDay(day[i]);
+                month[i] = d.getYear() * 100 + d.getMonthValue();
+            }
+        }
+        encode(GroupBy.MONTH, month, null);
+    }
+
+    /** Row indexes in day order, or null if the rows already are. */
+    private static int[] sortedByDay(int[] epochDay, int rows) {
+        boolean sorted = true;
+        for (int i = 1; i < rows && sorted; i++) sorted = epochDay[i - 1] <= epochDay[i];
+        if (sorted) return null;
+        long[] keyed = new long[rows];  // day in the high half, row index in the low half
+        for (int i = 0; i < rows; i++) keyed[i] = ((long) epochDay[i] << 32) | i;
+        Arrays.sort(keyed);
+        int[] order = new int[rows];
+        for (int i = 0; i < rows; i++) order[i] = (int) keyed[i];
+        return order;
+    }
+
+    /** Fill codes/ids for {@code by}: distinct values of {@code key} (mapped through {@code via}). */
+    private void encode(GroupBy by, int[] key, Map<Integer, Integer> via) {
+        Map<Integer, Integer> codeOf = new HashMap<>();
+        int[] col = new int[key.length];
+        for (int i = 0; i < key.length; i++) {
+            Integer id = via == null ? Integer.valueOf(key[i]) : via.get(key[i]);
+            col[i] = id == null ? -1 : codeOf.computeIfAbsent(id, k -> codeOf.size());
+        }
+        int[] idOf = new int[codeOf.size()];
+        codeOf.forEach((id, code) -> idOf[code] = id);
+        codes[by.ordinal()] = col;
+        ids[by.ordinal()]   = idOf;
+    }
+
+    // ── Snapshot lifecycle ────────────────────────────────────────────────────
+
+    /** The current snapshot, (re)loading it if missing, too old or invalidated; null if loading failed. */
+    public static PayrollAnalytics snapshot() {
+        PayrollAnalytics s = current;
+        if (s != null && !stale && System.currentTimeMillis() - s.loadedAt <= MAX_AGE_MS) return s;
+        synchronized (PayrollAnalytics.class) {
+            s = current;
+            if (s == null || stale || System.currentTimeMillis() - s.loadedAt > MAX_AGE_MS) {
+                stale = false;
+                PayrollAnalytics fresh = load();
+                if (fresh != null) current = s = fresh;
+            }
+            return s;
+        }
+    }
+
+    /** Reload on the next {@link #snapshot()}; called after payroll writes. */
+    public static void invalidate() {
+        stale = true;
+    }
+
+    /** Read payroll and the job title / division mappings into a new snapshot; null on error. */
+    static PayrollAnalytics load() {
+        try (Connection conn = Database.getConnection()) {
+            Map<Integer, Integer> jobOf = loadMapping(conn, "SELECT empid, job_title_id FROM employee_job_titles");
+            Map<Integer, Integer> divOf = loadMapping(conn, "SELECT empid, div_ID FROM employee_division");
+            int n = 0;
+            int[] empid = new int[1024];
+            int[] epochDay = new int[1024];
+            double[] earnings = new double[1024];
+            // pay_date order matches idx_payroll_date_emp_earnings, so this is an index-only scan
+            try (PreparedStatement ps = conn.prepareStatement(
+                     "SELECT empid, pay_date, earnings FROM payroll ORDER BY pay_date",
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Date payDate = rs.getDate(2);
+                        if (payDate == null) continue;  // no period to report it under
+                        if (n == empid.length) {
+                            empid    = Arrays.copyOf(empid, n * 2);
+                            epochDay = Arrays.copyOf(epochDay, n * 2);
+                            earnings = Arrays.copyOf(earnings, n * 2);
+                        }
+                        empid[n]    = rs.getInt(1);
+                        epochDay[n] = (int) payDate.toLocalDate().toEpochDay();
+                        earnings[n] = rs.getDouble(3);
+                        n++;
+                    }
+                }
+            }
+            return new PayrollAnalytics(empid, epochDay, earnings, n, jobOf, divOf);
+        } catch (SQLException e) {
+            System.err.println("Error loading payroll analytics: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static Map<Integer, Integer> loadMapping(Connection conn, String sql) throws SQLException {
+        Map<Integer, Integer> map = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                int id = rs.getInt(2);
+                if (!rs.wasNull()) map.put(rs.getInt(1), id);
+            }
+        }
+        return map;
+    }
+
+    /** Number of payroll rows in this snapshot. */
+    public int rowCount() { return day.length; }
+
+    /** When this snapshot was read (epoch millis). */
+    public long loadedAt() { return loadedAt; }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /**
+     * Total earnings per group for pay dates in [from, to), keyed by
+     * job_title_id, division id, year*100+month or empid; groups with no
+     * rows in the range are left out.
+     */
+    public Map<Integer, Double> totalsById(GroupBy by, LocalDate from, LocalDate to) {
+        Partial p = scan(by, from, to);
+        int[] idOf = ids[by.ordinal()];
+        Map<Integer, Double> out = new LinkedHashMap<>();
+        for (int g = 0; g < idOf.length; g++) {
+            if (p.count[g] > 0) out.put(idOf[g], p.sum[g]);
+        }
+        return out;
+    }
+
+    /**
+     * As {@link #totalsById}, labelled for display: job title or division
+     * name, "YYYY-MM", or empid. Months are in date order, other groupings
+     * largest total first (like the SQL reports).
+     */
+    public Map<String, Double> totals(GroupBy by, LocalDate from, LocalDate to) {
+        Map<Integer, Double> byId = totalsById(by, from, to);
+        Map<String, Double> named = new HashMap<>();
+        byId.forEach((id, total) -> named.merge(label(by, id), total, Double::sum));
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(named.entrySet());
+        entries.sort(by == GroupBy.MONTH ? Map.Entry.comparingByKey()
+                                         : Map.Entry.<String, Double>comparingByValue().reversed());
+        Map<String, Double> out = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> e : entries) out.put(e.getKey(), e.getValue());
+        return out;
+    }
+
+    /** Totals for the calendar year of {@code asOf}, up to and including that day. */
+    public Map<String, Double> yearToDate(GroupBy by, LocalDate asOf) {
+        return totals(by, asOf.withDayOfYear(1), asOf.plusDays(1));
+    }
+
+    /**
+     * The {@code n} groups with the highest total for pay dates in
+     * [from, to), largest first, keyed as in {@link #totalsById}.
+     */
+    public Map<Integer, Double> top(GroupBy by, LocalDate from, LocalDate to, int n) {
+        Partial p = scan(by, from, to);
+        // Min-heap of the best n group codes seen so far
+        PriorityQueue<Integer> best = new PriorityQueue<>((a, b) -> Double.compare(p.sum[a], p.sum[b]));
+        for (int g = 0; g < p.sum.length; g++) {
+            if (p.count[g] == 0) continue;
+            if (best.size() < n) {
+                best.add(g);
+            } else if (n > 0 && p.sum[g] > p.sum[best.peek()]) {
+                best.poll();
+                best.add(g);
+            }
+        }
+        Integer[] order = best.toArray(new Integer[0]);
+        Arrays.sort(order, (a, b) -> Double.compare(p.sum[b], p.sum[a]));
+        int[] idOf = ids[by.ordinal()];
+        Map<Integer, Double> out = new LinkedHashMap<>();
+        for (int g : order) out.put(idOf[g], p.sum[g]);
+        return out;
+    }
+
+    private static String label(GroupBy by, int id) {
+        String name = switch (by) {
+            case JOB_TITLE -> ReferenceDataCache.jobTitles().get(id);
+            case DIVISION  -> ReferenceDataCache.divisions().get(id);
+            case MONTH     -> String.format("%04d-%02d", id / 100, id % 100);
+            case EMPLOYEE  -> null;
+        };
+        return name != null ? name : String.valueOf(id);
+    }
+
+    // ── Scanning ──────────────────────────────────────────────────────────────
+
+    /** Per-group sums and row counts. */
+    private static final class Partial {
+        final double[] sum;
+        final int[]    count;
+
+        Partial(int groups) {
+            sum   = new double[groups];
+            count = new int[groups];
+        }
+
+        Partial add(Partial other) {
+            for (int g = 0; g < sum.length; g++) {
+                sum[g]   += other.sum[g];
+                count[g] += other.count[g];
+            }
+            return this;
+        }
+    }
+
+    private Partial scan(GroupBy by, LocalDate from, LocalDate to) {
+        int[] code = codes[by.ordinal()];
+        int groups = ids[by.ordinal()].length;
+        int lo = lowerBound(from.toEpochDay());
+        int hi = Math.max(lo, lowerBound(to.toEpochDay()));
+        if (hi - lo < PARALLEL_THRESHOLD) return scan(code, groups, lo, hi);
+        int chunks = (hi - lo + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        return IntStream.range(0, chunks).parallel()
+            .mapToObj(c -> scan(code, groups, lo + c * CHUNK_ROWS, Math.min(hi, lo + (c + 1) * CHUNK_ROWS)))
+            .reduce(Partial::add)
+            .orElseGet(() -> new Partial(groups));
+    }
+
+    private Partial scan(int[] code, int groups, int lo, int hi) {
+        Partial p = new Partial(groups);
+        for (int i = lo; i < hi; i++) {
+            int g = code[i];
+            if (g >= 0) {
+                p.sum[g] += earnings[i];
+                p.count[g]++;
+            }
+        }
+        return p;
+    }
+
+    /** First row whose day is >= {@code epochDay}. */
+    private int lowerBound(long epochDay) {
+        int lo = 0, hi = day.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (day[mid] < epochDay) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
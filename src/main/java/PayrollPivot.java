@@ -0,0 +1,171 @@
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A period x group table of total pay (e.g. each month of a year by job
+ * title), built by running a one-period report for every period at once.
+ *
+ * Periods run on a dedicated pool (REPORT_PARALLELISM threads, default 12,
+ * at most half of DB_POOL_MAX_SIZE), each on its own pooled connection, so
+ * a year of monthly reports takes a few rounds rather than twelve in a row
+ * (with a pool of 10, five periods at a time). The pool is separate from
+ * {@link DaoExecutor}, whose threads call in here and wait for the periods
+ * to finish; the other half of the connections is left for that executor's
+ * other work. A period whose query fails fails the whole pivot rather than
+ * showing as zero.
+ */
+public class PayrollPivot {
+    private static final int PARALLELISM = (int) Math.max(1, Math.min(
+        Database.getConfigLong("REPORT_PARALLELISM", 12),
+        Database.getConfigLong("DB_POOL_MAX_SIZE", 10) / 2));
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(PARALLELISM,
+        new ThreadFactory() {
+            private final AtomicInteger n = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "report-worker-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+    /** Group -> total pay for the pay dates in [from, to). */
+    @FunctionalInterface
+    public interface Report {
+        Map<String, Double> totals(LocalDate from, LocalDate to) throws SQLException;
+    }
+
+    /** Period boundaries: period i is [bounds[i], bounds[i+1]). */
+    private final List<LocalDate> bounds;
+    /** Group names, largest grand total first. */
+    private final List<String> groups;
+    /** totals[period][group]. */
+    private final double[][] totals;
+
+    private PayrollPivot(List<LocalDate> bounds, List<String> groups, double[][] totals) {
+        this.bounds = bounds;
+        this.groups = groups;
+        this.totals = totals;
+    }
+
+    /** Total pay by job title for each calendar month in [from, to). */
+    public static PayrollPivot byJobTitle(LocalDate from, LocalDate to) {
+        return build(from, to, Period.ofMonths(1), EmployeeDAO::totalPayByJobTitle);
+    }
+
+    /** Total pay by division for each calendar month in [from, to). */
+    public static PayrollPivot byDivision(LocalDate from, LocalDate to) {
+        return build(from, to, Period.ofMonths(1), EmployeeDAO::totalPayByDivision);
+    }
+
+    /**
+     * Split [from, to) into periods of {@code step} and run {@code report}
+     * (group -> total for [start, end)) for all of them concurrently.
+     * Month-based steps follow calendar months, so the first period ends at
+     * the next month boundary when {@code from} is mid-month.
+     * @return the pivot, or null if interrupted
+     * @throws IllegalStateException if any period's report failed
+     */
+    public static PayrollPivot build(LocalDate from, LocalDate to, Period step, Report report) {
+        if (step.isNegative() || step.isZero()) {
+            throw new IllegalArgumentException("Period step must be positive: " + step);
+        }
+        List<LocalDate> bounds = new ArrayList<>();
+        for (LocalDate d = from; d.isBefore(to); d = next(d, step, to)) bounds.add(d);
+        bounds.add(bounds.isEmpty() ? from : to);
+
+        List<Callable<Map<String, Double>>> tasks = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.size(); i++) {
+            LocalDate start = bounds.get(i), end = bounds.get(i + 1);
+            tasks.add(() -> report.totals(start, end));
+        }
+        List<Map<String, Double>> results = new ArrayList<>();
+        try {
+            List<Future<Map<String, Double>>> futures = EXECUTOR.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Report for " + bounds.get(i) + ".."
+                        + bounds.get(i + 1).minusDays(1) + " failed: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        // Columns ordered by grand total, like the single-period reports
+        Map<String, Double> grand = new HashMap<>();
+        for (Map<String, Double> r : results) r.forEach((g, v) -> grand.merge(g, v, Double::sum));
+        List<String> groups = new ArrayList<>(grand.keySet());
+        groups.sort((a, b) -> Double.compare(grand.get(b), grand.get(a)));
+        double[][] totals = new double[results.size()][groups.size()];
+        for (int p = 0; p < results.size(); p++) {
+            for (int g = 0; g < groups.size(); g++) {
+                totals[p][g] = results.get(p).getOrDefault(groups.get(g), 0.0);
+            }
+        }
+        return new PayrollPivot(bounds, Collections.unmodifiableList(groups), totals);
+    }
+
+    private static LocalDate next(LocalDate d, Period step, LocalDate to) {
+        LocalDate n = step.getDays() == 0 ? d.withDayOfMonth(1).plus(step) : d.plus(step);
+        return n.isAfter(to) ? to : n;
+    }
+
+    public int periodCount() { return totals.length; }
+
+    /** First day of period {@code p}. */
+    public LocalDate periodStart(int p) { return bounds.get(p); }
+
+    /** Day after the last day of period {@code p}. */
+    public LocalDate periodEnd(int p) { return bounds.get(p + 1); }
+
+    /** "YYYY-MM" for a whole calendar month, else "first..last" day. */
+    public String periodLabel(int p) {
+        LocalDate start = periodStart(p), end = periodEnd(p);
+        if (start.getDayOfMonth() == 1 && end.equals(start.plusMonths(1))) {
+            return String.format("%04d-%02d", start.getYear(), start.getMonthValue());
+        }
+        return start + ".." + end.minusDays(1);
+    }
+
+    /** Group names (job titles or divisions), largest total first. */
+    public List<String> groups() { return groups; }
+
+    public double total(int period, int group) { return totals[period][group]; }
+
+    public double periodTotal(int period) {
+        double sum = 0;
+        for (double v : totals[period]) sum += v;
+        return sum;
+    }
+
+    public double groupTotal(int group) {
+        double sum = 0;
+        for (double[] row : totals) sum += row[group];
+        return sum;
+    }
+
+    public double grandTotal() {
+        double sum = 0;
+        for (int p = 0; p < totals.length; p++) sum += periodTotal(p);
+        return sum;
+    }
+}
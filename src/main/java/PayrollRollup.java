@@ -0,0 +1,234 @@
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains and queries payroll_monthly_rollup: payroll totals per month
+ * and (job title, division). EmployeeDAO adjusts it in the same
+ * transaction as every payroll write, and the monthly reports read it for
+ * closed months, so those reports cost O(groups) instead of O(payroll rows).
+ *
+ * Payroll loaded outside the application bypasses the incremental upkeep;
+ * run {@code java PayrollRollup} (everything) or
+ * {@code java PayrollRollup 2025-03} (one month) afterwards.
+ */
+public class PayrollRollup {
+    /** Set REPORTS_USE_ROLLUP=false in .env to always aggregate raw payroll. */
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(Database.getConfig("REPORTS_USE_ROLLUP", "true"));
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO payroll_monthly_rollup " +
+        "(pay_year, pay_month, job_title_id, div_id, total, row_count) VALUES (?,?,?,?,?,?) " +
+        "ON DUPLICATE KEY UPDATE total = total + VALUES(total), " +
+        "row_count = row_count + VALUES(row_count)";
+
+    private static final String REBUILD_SQL =
+        "INSERT INTO payroll_monthly_rollup " +
+        "(pay_year, pay_month, job_title_id, div_id, total, row_count) " +
+        "SELECT YEAR(p.pay_date), MONTH(p.pay_date), " +
+        "COALESCE(ejt.job_title_id, 0), COALESCE(ed.div_ID, 0), SUM(p.earnings), COUNT(*) " +
+        "FROM payroll p " +
+        "LEFT JOIN employee_job_titles ejt ON p.empid = ejt.empid " +
+        "LEFT JOIN employee_division ed ON p.empid = ed.empid " +
+        "WHERE p.pay_date >= ? AND p.pay_date < ? " +
+        "GROUP BY YEAR(p.pay_date), MONTH(p.pay_date), " +
+        "COALESCE(ejt.job_title_id, 0), COALESCE(ed.div_ID, 0)";
+
+    private static final String BY_JOB_TITLE_SQL =
+        "SELECT jt.job_title, SUM(r.total) AS total_pay " +
+        "FROM payroll_monthly_rollup r " +
+        "JOIN job_titles jt ON r.job_title_id = jt.job_title_id " +
+        "WHERE (r.pay_year, r.pay_month) >= (?, ?) AND (r.pay_year, r.pay_month) < (?, ?) " +
+        "GROUP BY jt.job_title " +
+        "ORDER BY total_pay DESC";
+
+    private static final String BY_DIVISION_SQL =
+        "SELECT d.Name AS division_name, SUM(r.total) AS total_pay " +
+        "FROM payroll_monthly_rollup r " +
+        "JOIN division d ON r.div_id = d.ID " +
+        "WHERE (r.pay_year, r.pay_month) >= (?, ?) AND (r.pay_year, r.pay_month) < (?, ?) " +
+        "GROUP BY d.Name " +
+        "ORDER BY total_pay DESC";
+
+    // ── Reads ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Whether [from, to) can be answered from the rollup: it must span
+     * whole months, all of them closed (before the current month).
+     */
+    public static boolean covers(LocalDate from, LocalDate to) {
+        return ENABLED
+            && from.getDayOfMonth() == 1
+            && to.getDayOfMonth() == 1
+            && from.isBefore(to)
+            && !to.isAfter(YearMonth.now().atDay(1));
+    }
+
+    /** Total pay by job title for whole months [from, to); null if the rollup is unavailable. */
+    public static Map<String,Double> totalPayByJobTitle(LocalDate from, LocalDate to) {
+        return report(BY_JOB_TITLE_SQL, from, to);
+    }
+
+    /** Total pay by division for whole months [from, to); null if the rollup is unavailable. */
+    public static Map<String,Double> totalPayByDivision(LocalDate from, LocalDate to) {
+        return report(BY_DIVISION_SQL, from, to);
+    }
+
+    private static Map<String,Double> report(String sql, LocalDate from, LocalDate to) {
+        Map<String,Double> map = new LinkedHashMap<>();
+        try (Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, from.getYear());
+            stmt.setInt(2, from.getMonthValue());
+            stmt.setInt(3, to.getYear());
+            stmt.setInt(4, to.getMonthValue());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    map.put(rs.getString(1), rs.getDouble("total_pay"));
+                }
+            }
+            return map;
+        } catch (SQLException e) {
+            System.err.println("Rollup unavailable, falling back to payroll: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // ── Incremental upkeep ────────────────────────────────────────────────────
+
+    /**
+     * Accumulates payroll changes per rollup group so a batch of payroll
+     * writes becomes one upsert per touched group. Apply it on the same
+     * connection/transaction as the payroll writes.
+     */
+    public static class Delta {
+        private final Map<List<Integer>, double[]> groups = new HashMap<>();
+
+        /** Record {@code count} payroll rows worth {@code amount} (negative when removing). */
+        public void add(int jobTitleId, int divId, LocalDate payDate, double amount, int count) {
+            List<Integer> key = List.of(payDate.getYear(), payDate.getMonthValue(), jobTitleId, divId);
+            double[] acc = groups.computeIfAbsent(key, k -> new double[2]);
+            acc[0] += amount;
+            acc[1] += count;
+        }
+
+        public boolean isEmpty() { return groups.isEmpty(); }
+
+        /** Upsert every accumulated group, then clear. */
+        public void apply(Connection conn) throws SQLException {
+            if (groups.isEmpty()) return;
+            try (PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+                for (Map.Entry<List<Integer>, double[]> g : groups.entrySet()) {
+                    List<Integer> k = g.getKey();
+                    stmt.setInt(1, k.get(0));
+                    stmt.setInt(2, k.get(1));
+                    stmt.setInt(3, k.get(2));
+                    stmt.setInt(4, k.get(3));
+                    stmt.setDouble(5, g.getValue()[0]);
+                    stmt.setInt(6, (int) g.getValue()[1]);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            groups.clear();
+        }
+    }
+
+    /** The (job title id, division id) an employee's payroll rolls up under; 0 = none. */
+    static int[] groupOf(Connection conn, int empId) throws SQLException {
+        String sql =
+            "SELECT COALESCE((SELECT job_title_id FROM employee_job_titles WHERE empid = ?), 0), " +
+            "COALESCE((SELECT div_ID FROM employee_division WHERE empid = ?), 0)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, empId);
+            stmt.setInt(2, empId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return new int[]{ rs.getInt(1), rs.getInt(2) };
+            }
+        }
+    }
+
+    /**
+     * Subtract all of an employee's payroll from the rollup, on the caller's
+     * transaction, before that payroll is deleted.
+     */
+    static void removeEmployee(Connection conn, int empId) throws SQLException {
+        int[] group = groupOf(conn, empId);
+        Delta delta = new Delta();
+        String sql =
+            "SELECT YEAR(pay_date), MONTH(pay_date), SUM(earnings), COUNT(*) " +
+            "FROM payroll WHERE empid = ? GROUP BY YEAR(pay_date), MONTH(pay_date)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, empId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    delta.add(group[0], group[1], LocalDate.of(rs.getInt(1), rs.getInt(2), 1),
+                              -rs.getDouble(3), -rs.getInt(4));
+                }
+            }
+        }
+        delta.apply(conn);
+    }
+
+    // ── Rebuild ───────────────────────────────────────────────────────────────
+
+    /**
+     * Recompute the rollup from payroll for whole months [from, to) in one
+     * transaction.
+     * @return number of rollup groups written, or -1 on failure
+     */
+    public static int rebuild(LocalDate from, LocalDate to) {
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement del = conn.prepareStatement(
+                         "DELETE FROM payroll_monthly_rollup " +
+                         "WHERE (pay_year, pay_month) >= (?, ?) AND (pay_year, pay_month) < (?, ?)")) {
+                    del.setInt(1, from.getYear());
+                    del.setInt(2, from.getMonthValue());
+                    del.setInt(3, to.getYear());
+                    del.setInt(4, to.getMonthValue());
+                    del.executeUpdate();
+                }
+                int groups;
+                try (PreparedStatement ins = conn.prepareStatement(REBUILD_SQL)) {
+                    ins.setDate(1, Date.valueOf(from));
+                    ins.setDate(2, Date.valueOf(to));
+                    groups = ins.executeUpdate();
+                }
+                conn.commit();
+                return groups;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding payroll rollup: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /** Recompute the whole rollup. */
+    public static int rebuildAll() {
+        return rebuild(LocalDate.of(1, 1, 1), LocalDate.of(9999, 1, 1));
+    }
+
+    /** {@code java PayrollRollup [YYYY-MM]} rebuilds everything or one month. */
+    public static void main(String[] args) {
+        int groups;
+        if (args.length == 0) {
+            groups = rebuildAll();
+        } else {
+            YearMonth ym = YearMonth.parse(args[0]);
+            groups = rebuild(ym.atDay(1), ym.plusMonths(1).atDay(1));
+        }
+        System.out.println(groups < 0 ? "Rebuild failed." : "Rebuilt " + groups + " rollup group(s).");
+        Database.shutdown();
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import model.City;
+import model.State;
+
+/**
+ * Read-through cache for the small lookup tables (cities, states, job
+ * titles, divisions). Each table is loaded once, indexed by id, and kept
+ * until its TTL (REF_CACHE_TTL_MS in .env, default 10 minutes) expires or
+ * {@link #invalidateAll()} is called.
+ */
+public class ReferenceDataCache {
+    private static final long TTL_MS = Database.getConfigLong("REF_CACHE_TTL_MS", 10 * 60_000L);
+
+    private static final AtomicLong HITS   = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private static final Table<City>   CITIES = new Table<>(
+        () -> index(EmployeeDAO.loadCities(), City::getCityId));
+    private static final Table<State>  STATES = new Table<>(
+        () -> index(EmployeeDAO.loadStates(), State::getStateId));
+    private static final Table<String> JOB_TITLES = new Table<>(EmployeeDAO::loadJobTitles);
+    private static final Table<String> DIVISIONS  = new Table<>(EmployeeDAO::loadDivisions);
+
+    /** @return cities keyed by id, in display order (read-only). */
+    public static Map<Integer, City> cities() { return CITIES.get(); }
+
+    /** @return states keyed by id, in display order (read-only). */
+    public static Map<Integer, State> states() { return STATES.get(); }
+
+    /** @return job titles keyed by id, in display order (read-only). */
+    public static Map<Integer, String> jobTitles() { return JOB_TITLES.get(); }
+
+    /** @return division names keyed by id, in display order (read-only). */
+    public static Map<Integer, String> divisions() { return DIVISIONS.get(); }
+
+    /** Drop every cached table; the next lookup reloads from the database. */
+    public static void invalidateAll() {
+        CITIES.invalidate();
+        STATES.invalidate();
+        JOB_TITLES.invalidate();
+        DIVISIONS.invalidate();
+    }
+
+    /** @return lookups served from memory. */
+    public static long hits() { return HITS.get(); }
+
+    /** @return lookups that had to (re)load a table. */
+    public static long misses() { return MISSES.get(); }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private static <V> Map<Integer, V> index(List<V> rows, ToIntFunction<V> id) {
+        Map<Integer, V> map = new LinkedHashMap<>();
+        for (V row : rows) map.put(id.applyAsInt(row), row);
+        return map;
+    }
+
+    /** One cached table: an immutable snapshot swapped wholesale on reload. */
+    private static class Table<V> {
+        private final Supplier<Map<Integer, V>> loader;
+        private volatile Map<Integer, V> snapshot;
+        private volatile long loadedAt;
+
+        Table(Supplier<Map<Integer, V>> loader) { this.loader = loader; }
+
+        Map<Integer, V> get() {
+            Map<Integer, V> s = snapshot;
+            if (s != null && System.currentTimeMillis() - loadedAt < TTL_MS) {
+                HITS.incrementAndGet();
+                return s;
+            }
+            synchronized (this) {
+                s = snapshot;
+                if (s != null && System.currentTimeMillis() - loadedAt < TTL_MS) {
+                    HITS.incrementAndGet();
+                    return s;
+                }
+                MISSES.incrementAndGet();
+                Map<Integer, V> fresh = Collections.unmodifiableMap(loader.get());
+                // An empty table almost always means the load failed; retry next time
+                if (!fresh.isEmpty()) {
+                    snapshot = fresh;
+                    loadedAt = System.currentTimeMillis();
+                }
+                return fresh;
+            }
+        }
+
+        synchronized void invalidate() {
+            snapshot = null;
+        }
+    }
+}
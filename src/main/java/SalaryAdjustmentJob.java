@@ -0,0 +1,302 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Bulk salary adjustment ("pct% for everyone earning min..max") applied in
+ * small committed chunks rather than one table-wide UPDATE.
+ *
+ * A job walks employees in empid order, SALARY_JOB_BATCH_SIZE rows per
+ * transaction, so row locks cover one chunk at a time and other DAO calls
+ * keep running. Each chunk advances the job's last_empid in
+ * salary_adjustment_jobs in the same transaction: a job stopped by a
+ * crash or by the user resumes exactly where it left off and never raises
+ * a salary twice. Updates are paced to SALARY_JOB_MAX_ROWS_PER_SEC.
+ * Each raise is audited (BULK_SALARY) once its chunk has committed.
+ */
+public class SalaryAdjustmentJob {
+    /** Employees examined per transaction. */
+    private static final int BATCH_SIZE =
+        (int) Math.max(1, Database.getConfigLong("SALARY_JOB_BATCH_SIZE", 500));
+    /** Target ceiling on salaries updated per second; 0 = no throttling. */
+    private static final long MAX_ROWS_PER_SEC =
+        Database.getConfigLong("SALARY_JOB_MAX_ROWS_PER_SEC", 5000);
+
+    private static final String SELECT_JOB_SQL =
+        "SELECT job_id, min_salary, max_salary, pct, end_empid, last_empid, rows_updated, status " +
+        "FROM salary_adjustment_jobs";
+    private static final String CHUNK_END_SQL =
+        "SELECT empid FROM employees WHERE empid > ? AND empid <= ? ORDER BY empid LIMIT 1 OFFSET ?";
+    private static final String LOCK_JOB_SQL =
+        "SELECT last_empid, status FROM salary_adjustment_jobs WHERE job_id = ? FOR UPDATE";
+    /** Old salaries of the rows ADJUST_SQL is about to change, for the audit log. */
+    private static final String AUDIT_CHUNK_SQL =
+        "SELECT empid, Salary FROM employees " +
+        "WHERE empid > ? AND empid <= ? AND Salary BETWEEN ? AND ? FOR UPDATE";
+    private static final String ADJUST_SQL =
+        "UPDATE employees SET Salary = Salary * ?, version = version + 1 " +
+        "WHERE empid > ? AND empid <= ? AND Salary BETWEEN ? AND ?";
+    private static final String ADVANCE_SQL =
+        "UPDATE salary_adjustment_jobs SET last_empid = ?, rows_updated = rows_updated + ?, " +
+        "status = ?, finished_at = ? WHERE job_id = ?";
+
+    /** One row of salary_adjustment_jobs. */
+    public static final class Job {
+        public final int jobId;
+        public final double minSalary;
+        public final double maxSalary;
+        public final double pct;
+        /** Highest empid when the job was created; later hires are not adjusted. */
+        public final int endEmpid;
+        /** Employees up to and including this empid have been processed. */
+        public final int lastEmpid;
+        public final int rowsUpdated;
+        /** RUNNING (including stopped part-way), DONE or CANCELLED. */
+        public final String status;
+
+        Job(int jobId, double minSalary, double maxSalary, double pct,
+            int endEmpid, int lastEmpid, int rowsUpdated, String status) {
+            this.jobId       = jobId;
+            this.minSalary   = minSalary;
+            this.maxSalary   = maxSalary;
+            this.pct         = pct;
+            this.endEmpid    = endEmpid;
+            this.lastEmpid   = lastEmpid;
+            this.rowsUpdated = rowsUpdated;
+            this.status      = status;
+        }
+
+        public boolean isDone() { return "DONE".equals(status); }
+
+        /** Share of the empid range processed, 0..1. */
+        public double fraction() {
+            return endEmpid <= 0 || isDone() ? 1 : Math.min(1, (double) lastEmpid / endEmpid);
+        }
+
+        private Job advancedTo(int empid, int updated) {
+            return new Job(jobId, minSalary, maxSalary, pct, endEmpid, empid,
+                           rowsUpdated + updated, empid >= endEmpid ? "DONE" : status);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Job %d: %+.2f%% for salaries %.2f-%.2f, %d updated, %.0f%% done",
+                jobId, pct, minSalary, maxSalary, rowsUpdated, fraction() * 100);
+        }
+    }
+
+    /**
+     * Record a new job covering every current employee.
+     * @return the job id, or -1 on failure
+     */
+    public static int create(double minSalary, double maxSalary, double pct) {
+        try (Connection conn = Database.getConnection()) {
+            int endEmpid;
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(empid), 0) FROM employees")) {
+                rs.next();
+                endEmpid = rs.getInt(1);
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                     "INSERT INTO salary_adjustment_jobs(min_salary, max_salary, pct, end_empid) " +
+                     "VALUES (?,?,?,?)", Statement.RETURN_GENERATED_KEYS)) {
+                ps.setDouble(1, minSalary);
+                ps.setDouble(2, maxSalary);
+                ps.setDouble(3, pct);
+                ps.setInt(4, endEmpid);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    if (keys.next()) return keys.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error creating salary adjustment job: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /** The job's current state, or null if unknown (or on error). */
+    public static Job get(int jobId) {
+        List<Job> jobs = query(SELECT_JOB_SQL + " WHERE job_id = ?", jobId);
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    /** Jobs started but not finished (stopped, or interrupted by a crash), oldest first. */
+    public static List<Job> unfinished() {
+        return query(SELECT_JOB_SQL + " WHERE status = 'RUNNING' ORDER BY job_id", null);
+    }
+
+    /** Give up on an unfinished job; chunks already committed stay applied. */
+    public static boolean cancel(int jobId) {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "UPDATE salary_adjustment_jobs SET status = 'CANCELLED', finished_at = ? " +
+                 "WHERE job_id = ? AND status = 'RUNNING'")) {
+            ps.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            ps.setInt(2, jobId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error cancelling salary adjustment job: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Run (or resume) a job until it is done or {@code stop} returns true
+     * (checked between chunks). Stopping leaves the job resumable.
+     * @param progress told the job's state after each committed chunk, on
+     *                 this thread; may be null
+     * @return the job's state when it stopped, or null on error (including
+     *         the job being run concurrently from elsewhere)
+     */
+    public static Job run(int jobId, Consumer<Job> progress, BooleanSupplier stop) {
+        Job job = get(jobId);
+        if (job == null || !"RUNNING".equals(job.status)) return job;
+        long start = System.nanoTime();
+        long updated = 0;
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            Map<Integer, Double> oldSalaries = new LinkedHashMap<>();
+            while (!job.isDone() && !stop.getAsBoolean()) {
+                int n;
+                int hi;
+                oldSalaries.clear();
+                try {
+                    if (!claim(conn, job)) {
+                        conn.rollback();
+                        System.err.println("Salary adjustment job " + jobId
+                                           + " was advanced elsewhere; stopping.");
+                        return null;
+                    }
+                    hi = chunkEnd(conn, job);
+                    if (AuditLog.enabled()) readSalaries(conn, job, hi, oldSalaries);
+                    n = adjust(conn, job, hi);
+                    advance(conn, job, hi, n);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+                EmployeeCache.invalidateSalaryRange(job.lastEmpid + 1, hi, job.minSalary, job.maxSalary);
+                for (Map.Entry<Integer, Double> e : oldSalaries.entrySet()) {
+                    AuditLog.record("BULK_SALARY", e.getKey(), "Salary",
+                                    e.getValue(), e.getValue() * factor(job));
+                }
+                job = job.advancedTo(hi, n);
+                if (progress != null) progress.accept(job);
+                updated += n;
+                if (!throttle(start, updated)) break;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error running salary adjustment job: " + e.getMessage());
+            return null;
+        }
+        return job;
+    }
+
+    /** Lock the job row and check nobody else has moved it on since {@code job} was read. */
+    private static boolean claim(Connection conn, Job job) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(LOCK_JOB_SQL)) {
+            ps.setInt(1, job.jobId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next()
+                    && rs.getInt("last_empid") == job.lastEmpid
+                    && "RUNNING".equals(rs.getString("status"));
+            }
+        }
+    }
+
+    /** Last empid of the next chunk: BATCH_SIZE employees on, capped at the job's end. */
+    private static int chunkEnd(Connection conn, Job job) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(CHUNK_END_SQL)) {
+            ps.setInt(1, job.lastEmpid);
+            ps.setInt(2, job.endEmpid);
+            ps.setInt(3, BATCH_SIZE - 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : job.endEmpid;
+            }
+        }
+    }
+
+    /** Lock the chunk's matching rows and collect their current salaries. */
+    private static void readSalaries(Connection conn, Job job, int hi,
+                                     Map<Integer, Double> into) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(AUDIT_CHUNK_SQL)) {
+            ps.setInt(1, job.lastEmpid);
+            ps.setInt(2, hi);
+            ps.setDouble(3, job.minSalary);
+            ps.setDouble(4, job.maxSalary);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) into.put(rs.getInt(1), rs.getDouble(2));
+            }
+        }
+    }
+
+    /** Salary multiplier; bound as a parameter, not ?/100 in SQL (H2 would divide as integers). */
+    private static double factor(Job job) {
+        return 1 + job.pct / 100;
+    }
+
+    private static int adjust(Connection conn, Job job, int hi) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(ADJUST_SQL)) {
+            ps.setDouble(1, factor(job));
+            ps.setInt(2, job.lastEmpid);
+            ps.setInt(3, hi);
+            ps.setDouble(4, job.minSalary);
+            ps.setDouble(5, job.maxSalary);
+            return ps.executeUpdate();
+        }
+    }
+
+    private static void advance(Connection conn, Job job, int hi, int updated) throws SQLException {
+        boolean done = hi >= job.endEmpid;
+        try (PreparedStatement ps = conn.prepareStatement(ADVANCE_SQL)) {
+            ps.setInt(1, hi);
+            ps.setInt(2, updated);
+            ps.setString(3, done ? "DONE" : "RUNNING");
+            ps.setTimestamp(4, done ? new Timestamp(System.currentTimeMillis()) : null);
+            ps.setInt(5, job.jobId);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Sleep until {@code updated} rows are within MAX_ROWS_PER_SEC of the
+     * time since {@code start}. @return false if interrupted
+     */
+    private static boolean throttle(long start, long updated) {
+        if (MAX_ROWS_PER_SEC <= 0) return true;
+        long dueNanos = updated * 1_000_000_000L / MAX_ROWS_PER_SEC;
+        long aheadMs = (dueNanos - (System.nanoTime() - start)) / 1_000_000L;
+        if (aheadMs <= 0) return true;
+        try {
+            Thread.sleep(aheadMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static List<Job> query(String sql, Integer jobId) {
+        List<Job> jobs = new ArrayList<>();
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (jobId != null) ps.setInt(1, jobId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    jobs.add(new Job(rs.getInt("job_id"), rs.getDouble("min_salary"),
+                        rs.getDouble("max_salary"), rs.getDouble("pct"), rs.getInt("end_empid"),
+                        rs.getInt("last_empid"), rs.getInt("rows_updated"), rs.getString("status")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading salary adjustment jobs: " + e.getMessage());
+        }
+        return jobs;
+    }
+}
@@ -0,0 +1,108 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies the numbered SQL scripts under {@code db/migrations/} (on the
+ * classpath) that have not been applied yet, recording each one in the
+ * schema_migrations table. The base schema ({@code db/schema.sql}, as in
+ * the README) is assumed to exist already.
+ *
+ * Runs at application startup; can also be run on its own:
+ * {@code java SchemaMigrations}
+ */
+public class SchemaMigrations {
+    /** Applied in this order. Never edit or reorder a script once shipped. */
+    private static final List<String> SCRIPTS = List.of(
+        "001_payroll_pay_date_covering_index.sql",
+        "002_payroll_monthly_rollup.sql",
+        "003_employees_ssn_index.sql",
+        "004_row_versions.sql",
+        "005_salary_adjustment_jobs.sql",
+        "006_audit_log.sql"
+    );
+
+    /**
+     * Apply pending migrations. Prints nothing; command-line entry points
+     * report the result.
+     * @return the scripts applied, in order (empty if none were pending),
+     *         or null if migration failed
+     */
+    public static List<String> migrate() {
+        try (Connection conn = Database.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                           "version VARCHAR(100) PRIMARY KEY, " +
+                           "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            }
+            Set<String> applied = new HashSet<>();
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT version FROM schema_migrations")) {
+                while (rs.next()) applied.add(rs.getString(1));
+            }
+
+            List<String> done = new ArrayList<>();
+            for (String script : SCRIPTS) {
+                if (applied.contains(script)) continue;
+                runScript(conn, "/db/migrations/" + script);
+                try (PreparedStatement ps = conn.prepareStatement(
+                         "INSERT INTO schema_migrations(version) VALUES (?)")) {
+                    ps.setString(1, script);
+                    ps.executeUpdate();
+                }
+                done.add(script);
+            }
+            return done;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error applying schema migrations: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Execute every statement of a classpath SQL script on {@code conn},
+     * e.g. {@code runScript(conn, "/db/schema.sql")} for an empty database.
+     */
+    public static void runScript(Connection conn, String path) throws SQLException, IOException {
+        String script;
+        try (InputStream in = SchemaMigrations.class.getResourceAsStream(path)) {
+            if (in == null) throw new IOException("Script not on classpath: " + path);
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        for (String sql : statements(script)) {
+            try (Statement st = conn.createStatement()) {
+                st.execute(sql);
+            }
+        }
+    }
+
+    /** Split a script on ';' at end of line, dropping "--" comment lines. */
+    static List<String> statements(String script) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        for (String line : script.split("\r?\n")) {
+            String t = line.trim();
+            if (t.isEmpty() || t.startsWith("--")) continue;
+            cur.append(line).append('\n');
+            if (t.endsWith(";")) {
+                String sql = cur.toString().trim();
+                out.add(sql.substring(0, sql.length() - 1));
+                cur.setLength(0);
+            }
+        }
+        if (!cur.toString().isBlank()) out.add(cur.toString().trim());
+        return out;
+    }
+
+    public static void main(String[] args) {
+        List<String> applied = migrate();
+        if (applied != null) applied.forEach(s -> System.out.println("Applied migration " + s));
+        System.out.println(applied == null ? "Migration failed." : applied.size() + " migration(s) applied.");
+        Database.shutdown();
+    }
+}
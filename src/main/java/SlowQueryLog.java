@@ -0,0 +1,295 @@
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Log of statements slower than SLOW_QUERY_MS (0 = off, the default): the
+ * SQL, its bound parameters (SSNs masked), elapsed time, rows, and with
+ * SLOW_QUERY_EXPLAIN=true the database's plan for a slow SELECT.
+ *
+ * While on, ConnectionPool hands out every statement wrapped by
+ * {@link #wrap}. A query's time is executeQuery plus the next() calls that
+ * read its rows (not the caller's work in between), logged when its
+ * ResultSet is closed, or else when its statement is closed or runs
+ * another query; updates are logged as they return.
+ *
+ * Entries go to SLOW_QUERY_LOG (default logs/slow-query.%g.log, %g being
+ * the generation) through a java.util.logging FileHandler, which rotates
+ * at SLOW_QUERY_LOG_MAX_BYTES (default 10 MB) and keeps
+ * SLOW_QUERY_LOG_FILES files (default 5).
+ */
+public class SlowQueryLog {
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+        Math.max(0, Database.getConfigLong("SLOW_QUERY_MS", 0)));
+    private static final boolean EXPLAIN =
+        Boolean.parseBoolean(Database.getConfig("SLOW_QUERY_EXPLAIN", "false"));
+    private static final int MAX_PARAM_LENGTH = 200;
+    private static final Pattern FULL_SSN = Pattern.compile("\\b\\d{3}-\\d{2}-(\\d{4})\\b");
+
+    private static final Logger LOG = THRESHOLD_NANOS > 0 ? openLog() : null;
+    /** True when slow statements are being logged. */
+    static final boolean ENABLED = LOG != null;
+
+    private static Logger openLog() {
+        String pattern = Database.getConfig("SLOW_QUERY_LOG", "logs/slow-query.%g.log");
+        long maxBytes = Database.getConfigLong("SLOW_QUERY_LOG_MAX_BYTES", 10L << 20);
+        int files = (int) Math.max(1, Database.getConfigLong("SLOW_QUERY_LOG_FILES", 5));
+        try {
+            File dir = new File(pattern).getAbsoluteFile().getParentFile();
+            if (dir != null) dir.mkdirs();
+            FileHandler handler = new FileHandler(pattern, (int) Math.min(Integer.MAX_VALUE, maxBytes),
+                                                  files, true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord r) {
+                    return Instant.ofEpochMilli(r.getMillis()) + " " + r.getMessage()
+                           + System.lineSeparator();
+                }
+            });
+            Logger log = Logger.getLogger("penicillin.slowquery");
+            log.setUseParentHandlers(false);
+            log.addHandler(handler);
+            log.setLevel(Level.INFO);
+            return log;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Slow query log disabled; cannot open " + pattern + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * {@code stmt}, timed and logged when slow.
+     * @param sql  the text it was prepared with, or null for a plain Statement
+     * @param conn the physical connection it belongs to, for EXPLAIN
+     */
+    static Statement wrap(Statement stmt, String sql, Connection conn) {
+        return wrap(stmt, sql, conn, THRESHOLD_NANOS, EXPLAIN, LOG);
+    }
+
+    /** As above, with the threshold, EXPLAIN setting and log given (tests). */
+    static Statement wrap(Statement stmt, String sql, Connection conn,
+                          long thresholdNanos, boolean explain, Logger log) {
+        Class<?> type = stmt instanceof CallableStatement ? CallableStatement.class
+                      : stmt instanceof PreparedStatement ? PreparedStatement.class
+                      : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+            new Class<?>[]{ type }, new Timed(stmt, sql, conn, thresholdNanos, explain, log));
+    }
+
+    /** Tracks one statement's parameters and times its executions. */
+    private static final class Timed implements InvocationHandler {
+        private final Statement stmt;
+        private final String sql;
+        private final Connection conn;
+        private final long thresholdNanos;
+        private final boolean explain;
+        private final Logger log;
+        /** Parameter index -> value, as last set. */
+        private final Map<Integer, Object> params = new TreeMap<>();
+        private int batched;
+        /** The last query's rows, until they are logged. */
+        private Rows open;
+
+        Timed(Statement stmt, String sql, Connection conn, long thresholdNanos, boolean explain, Logger log) {
+            this.stmt = stmt;
+            this.sql = sql;
+            this.conn = conn;
+            this.thresholdNanos = thresholdNanos;
+            this.explain = explain;
+            this.log = log;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            String name = m.getName();
+            switch (name) {
+                case "executeQuery" -> {
+                    finishRows();  // running again closes the previous ResultSet
+                    String text = args != null ? (String) args[0] : sql;
+                    Map<Integer, Object> bound = new TreeMap<>(params);
+                    long start = System.nanoTime();
+                    ResultSet rs = (ResultSet) call(stmt, m, args);
+                    open = new Rows(rs, text, bound, System.nanoTime() - start);
+                    return Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                        new Class<?>[]{ ResultSet.class }, open);
+                }
+                case "executeUpdate", "executeLargeUpdate", "execute" -> {
+                    finishRows();
+                    long start = System.nanoTime();
+                    Object result = call(stmt, m, args);
+                    long elapsed = System.nanoTime() - start;
+                    if (elapsed >= thresholdNanos) {
+                        long rows = result instanceof Number ? ((Number) result).longValue()
+                                                             : stmt.getUpdateCount();
+                        log(log, args != null ? (String) args[0] : sql, params, elapsed, rows, 0, null);
+                    }
+                    return result;
+                }
+                case "executeBatch", "executeLargeBatch" -> {
+                    int batch = batched;
+                    batched = 0;
+                    long start = System.nanoTime();
+                    Object result = call(stmt, m, args);
+                    long elapsed = System.nanoTime() - start;
+                    if (elapsed >= thresholdNanos) {
+                        long rows = 0;
+                        if (result instanceof int[]) for (int n : (int[]) result) rows += Math.max(0, n);
+                        else for (long n : (long[]) result) rows += Math.max(0, n);
+                        log(log, sql, params, elapsed, rows, batch, null);
+                    }
+                    return result;
+                }
+                case "close" -> finishRows();
+                case "addBatch" -> batched++;
+                case "clearBatch" -> batched = 0;
+                case "clearParameters" -> params.clear();
+                default -> {
+                    if (name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer
+                            && m.getDeclaringClass() != Statement.class) {
+                        params.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+                    }
+                }
+            }
+            return call(stmt, m, args);
+        }
+
+        /** Log the last query if its ResultSet was never closed itself. */
+        private void finishRows() {
+            if (open != null) open.finish();
+            open = null;
+        }
+
+        /** A query's ResultSet, counting rows and read time until it is finished. */
+        private final class Rows implements InvocationHandler {
+            private final ResultSet rs;
+            private final String text;
+            private final Map<Integer, Object> bound;
+            private long nanos;
+            private long rows;
+            private boolean finished;
+
+            Rows(ResultSet rs, String text, Map<Integer, Object> bound, long execNanos) {
+                this.rs = rs;
+                this.text = text;
+                this.bound = bound;
+                this.nanos = execNanos;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                if ("next".equals(m.getName())) {
+                    long start = System.nanoTime();
+                    Object more = call(rs, m, args);
+                    nanos += System.nanoTime() - start;
+                    if ((Boolean) more) rows++;
+                    return more;
+                }
+                if ("close".equals(m.getName())) {
+                    call(rs, m, args);
+                    finish();
+                    return null;
+                }
+                return call(rs, m, args);
+            }
+
+            /** Log once, when slow; EXPLAIN runs before the statement itself is closed. */
+            void finish() {
+                if (finished) return;
+                finished = true;
+                if (nanos >= thresholdNanos) {
+                    log(log, text, bound, nanos, rows, 0, explain ? explain(text, bound) : null);
+                }
+            }
+        }
+
+        private static Object call(Object target, Method m, Object[] args) throws Throwable {
+            try {
+                return m.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /** The database's plan for a SELECT, indented, a line per row; or why there is none. */
+        private String explain(String text, Map<Integer, Object> bound) {
+            if (text == null || !text.stripLeading().regionMatches(true, 0, "SELECT", 0, 6)) return null;
+            try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + text)) {
+                for (Map.Entry<Integer, Object> p : bound.entrySet()) ps.setObject(p.getKey(), p.getValue());
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    ResultSetMetaData md = rs.getMetaData();
+                    StringJoiner header = new StringJoiner(" | ");
+                    for (int i = 1; i <= md.getColumnCount(); i++) header.add(md.getColumnLabel(i));
+                    plan.append("    ").append(header);
+                    while (rs.next()) {
+                        StringJoiner row = new StringJoiner(" | ");
+                        for (int i = 1; i <= md.getColumnCount(); i++) {
+                            row.add(String.valueOf(rs.getObject(i)).replace("\n", "\n    "));
+                        }
+                        plan.append(System.lineSeparator()).append("    ").append(row);
+                    }
+                }
+                return plan.toString();
+            } catch (SQLException e) {
+                return "    EXPLAIN failed: " + e.getMessage();
+            }
+        }
+    }
+
+    private static void log(Logger log, String sql, Map<Integer, Object> params, long nanos, long rows,
+                            int batch, String plan) {
+        String nl = System.lineSeparator();
+        String name = sql == null ? null : StatementRegistry.nameOf(sql);
+        StringBuilder sb = new StringBuilder(String.format("%.1f ms, %d rows%s%s on %s",
+            nanos / 1e6, rows, batch > 0 ? ", batch of " + batch : "",
+            name != null ? " [" + name + "]" : "", Thread.currentThread().getName()));
+        sb.append(nl).append("  ").append(sql);
+        if (!params.isEmpty()) {
+            boolean ssn = sql != null && sql.toUpperCase().contains("SSN");
+            StringJoiner values = new StringJoiner(", ", "[", "]");
+            for (Object v : params.values()) values.add(show(v, ssn));
+            sb.append(nl).append("  params").append(batch > 0 ? " (last row): " : ": ").append(values);
+        }
+        if (plan != null) sb.append(nl).append("  plan:").append(nl).append(plan);
+        log.info(sb.toString());
+    }
+
+    /**
+     * A parameter as logged. Whole SSNs keep only their last four digits;
+     * when the statement mentions SSN, a number or LIKE prefix that could
+     * be part of one is starred out.
+     */
+    static String show(Object v, boolean ssnStatement) {
+        if (v == null) return "NULL";
+        if (!(v instanceof String)) return String.valueOf(v);
+        String s = FULL_SSN.matcher((String) v).replaceAll("***-**-$1");
+        if (ssnStatement && s.matches("[0-9-]+%?")) {
+            boolean whole = !s.endsWith("%") && s.replaceAll("[^0-9]", "").length() == 9;
+            s = whole ? AuditLog.maskSsn(s) : s.replaceAll("[0-9]", "*");
+        }
+        if (s.length() > MAX_PARAM_LENGTH) s = s.substring(0, MAX_PARAM_LENGTH) + "...";
+        return "'" + s + "'";
+    }
+}
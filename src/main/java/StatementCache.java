@@ -0,0 +1,271 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PreparedStatements kept open on one pooled connection, keyed by SQL text
+ * (and prepareStatement options), least recently used evicted first.
+ *
+ * The application gets a proxy whose close() clears the parameters and
+ * parks the statement for the next prepareStatement of the same SQL on this
+ * connection, so repeated DAO calls skip the parse/prepare round trip.
+ * Only used by {@link ConnectionPool}, which owns one per physical
+ * connection; like the connection, it is used by one thread at a time.
+ */
+public class StatementCache {
+    /** Hit/miss counters, for a whole pool and per SQL text. */
+    public static final class Stats {
+        /** Per-SQL counters are kept for this many distinct statements at most. */
+        private static final int MAX_TRACKED_SQL = 512;
+
+        private final LongAdder hits      = new LongAdder();
+        private final LongAdder misses    = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final Map<String, Stats> bySql;
+
+        public Stats() { this(true); }
+
+        private Stats(boolean root) {
+            bySql = root ? new ConcurrentHashMap<>() : null;
+        }
+
+        public long hits()      { return hits.sum(); }
+        public long misses()    { return misses.sum(); }
+        public long evictions() { return evictions.sum(); }
+
+        /** hits / lookups; 0 before the first lookup. */
+        public double hitRate() {
+            long h = hits(), total = h + misses();
+            return total == 0 ? 0 : (double) h / total;
+        }
+
+        /** Counters for one SQL text, or null if it was never prepared (or not tracked). */
+        public Stats forSql(String sql) {
+            return bySql == null ? null : bySql.get(sql);
+        }
+
+        private void record(String sql, boolean hit) {
+            (hit ? hits : misses).increment();
+            Stats s = tracked(sql);
+            if (s != null) (hit ? s.hits : s.misses).increment();
+        }
+
+        private void recordEviction(String sql) {
+            evictions.increment();
+            Stats s = tracked(sql);
+            if (s != null) s.evictions.increment();
+        }
+
+        private Stats tracked(String sql) {
+            if (bySql.size() >= MAX_TRACKED_SQL && !bySql.containsKey(sql)) return null;
+            return bySql.computeIfAbsent(sql, k -> new Stats(false));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hits / %d lookups (%.1f%%), %d evictions",
+                hits(), hits() + misses(), hitRate() * 100, evictions());
+        }
+    }
+
+    /**
+     * Statement settings put back to their defaults when a statement is
+     * parked; calling any other Statement setter makes it uncacheable.
+     */
+    private static final Set<String> RESETTABLE = Set.of("setFetchSize", "setMaxRows", "setQueryTimeout");
+
+    private static class Entry {
+        final String sql;
+        final PreparedStatement raw;
+        boolean inUse;
+        /** Evicted while in use: close for real when the application closes it. */
+        boolean evicted;
+
+        Entry(String sql, PreparedStatement raw) {
+            this.sql = sql;
+            this.raw = raw;
+        }
+    }
+
+    private final int capacity;
+    private final Stats stats;
+    private final Map<List<Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(int capacity, Stats stats) {
+        this.capacity = capacity;
+        this.stats = stats;
+    }
+
+    /**
+     * Whether a Connection call can be served from the cache: the
+     * prepareStatement overloads taking only a SQL string and int options
+     * (not column-index or column-name arrays).
+     */
+    static boolean handles(Method m, Object[] args) {
+        if (!"prepareStatement".equals(m.getName())) return false;
+        for (int i = 1; i < args.length; i++) {
+            if (!(args[i] instanceof Integer)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The cached statement for this call, else a newly prepared one (cached
+     * unless the cached copy is still open elsewhere in the same method).
+     * @param m     the prepareStatement overload called on {@code owner}
+     * @param owner the pooled connection proxy handed to the application
+     */
+    PreparedStatement prepare(Connection raw, Method m, Object[] args, Connection owner) throws Throwable {
+        String sql = (String) args[0];
+        List<Object> key = Arrays.asList(args);
+        Entry e = entries.get(key);
+        if (e != null && !e.inUse) {
+            stats.record(sql, true);
+        } else {
+            stats.record(sql, false);
+            PreparedStatement ps = (PreparedStatement) invoke(m, raw, args);
+            if (e != null) return ps;  // same SQL already open: plain, uncached statement
+            e = new Entry(sql, ps);
+            entries.put(key, e);
+            evictOverflow();
+        }
+        e.inUse = true;
+        return wrap(e, owner);
+    }
+
+    /**
+     * Called as the connection goes back to the pool: statements the
+     * application never closed are dropped rather than handed to the next
+     * borrower.
+     */
+    void releaseAll() {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry e = it.next();
+            if (e.inUse) {
+                it.remove();
+                e.evicted = true;
+                closeQuietly(e.raw);
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();  // least recently used first
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            stats.recordEviction(eldest.sql);
+            if (eldest.inUse) eldest.evicted = true;
+            else closeQuietly(eldest.raw);
+        }
+    }
+
+    /** Ready {@code e} for its next user; false if it has to be thrown away instead. */
+    private static boolean reset(Entry e, boolean tuned) {
+        try {
+            ResultSet rs = e.raw.getResultSet();
+            if (rs != null) rs.close();
+            e.raw.clearParameters();
+            e.raw.clearBatch();
+            e.raw.clearWarnings();
+            if (tuned) {
+                e.raw.setFetchSize(0);
+                e.raw.setMaxRows(0);
+                e.raw.setQueryTimeout(0);
+            }
+            return true;
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private PreparedStatement wrap(Entry e, Connection owner) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+            /** A RESETTABLE setting was changed. */
+            private boolean tuned;
+            /** Some other statement setting was changed. */
+            private boolean unsafe;
+
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                switch (m.getName()) {
+                    case "close" -> {
+                        if (!closed) {
+                            closed = true;
+                            park(e, tuned, unsafe);
+                        }
+                        return null;
+                    }
+                    case "isClosed" -> {
+                        return closed || e.raw.isClosed();
+                    }
+                    case "getConnection" -> {
+                        return owner;
+                    }
+                    case "unwrap" -> {
+                        if (((Class<?>) args[0]).isInstance(e.raw)) return e.raw;
+                    }
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    case "toString" -> {
+                        return "Cached[" + e.raw + "]";
+                    }
+                    case "closeOnCompletion" -> unsafe = true;
+                    default -> {
+                        if (m.getDeclaringClass() == Statement.class && m.getName().startsWith("set")) {
+                            if (RESETTABLE.contains(m.getName())) tuned = true;
+                            else unsafe = true;
+                        }
+                    }
+                }
+                if (closed) throw new SQLException("Statement is closed");
+                return StatementCache.invoke(m, e.raw, args);
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(), new Class<?>[]{ PreparedStatement.class }, handler);
+    }
+
+    /** The application closed its proxy: keep the statement for reuse if possible. */
+    private void park(Entry e, boolean tuned, boolean unsafe) {
+        e.inUse = false;
+        if (e.evicted) {
+            closeQuietly(e.raw);
+        } else if (unsafe || !reset(e, tuned)) {
+            entries.values().remove(e);
+            closeQuietly(e.raw);
+        }
+    }
+
+    private static Object invoke(Method m, Object target, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static void closeQuietly(Statement s) {
+        try { s.close(); }
+        catch (SQLException ignored) {}
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Names for the SQL EmployeeDAO prepares over and over. Each text is built
+ * once, so every call prepares byte-identical SQL and hits the statement
+ * caches (pool and driver), and the names label per-statement hit rates in
+ * {@link #report()}. Statements built per call (IN-lists, chosen columns)
+ * are still cached but not listed.
+ */
+public class StatementRegistry {
+    /** name -> SQL, in registration order. Filled during class initialisation. */
+    private static final Map<String, String> SQL = new LinkedHashMap<>();
+    /** SQL -> name, for labelling statements seen only by their text. */
+    private static final Map<String, String> NAMES = new HashMap<>();
+
+    /** Register {@code sql} under {@code name}; returns {@code sql}. */
+    static synchronized String register(String name, String sql) {
+        String prev = SQL.putIfAbsent(name, sql);
+        if (prev != null && !prev.equals(sql)) {
+            throw new IllegalStateException("Statement name already registered: " + name);
+        }
+        NAMES.putIfAbsent(sql, name);
+        return sql;
+    }
+
+    /** The SQL registered under {@code name}, or null. */
+    public static synchronized String sql(String name) {
+        return SQL.get(name);
+    }
+
+    /** The name {@code sql} was registered under, or null. */
+    public static synchronized String nameOf(String sql) {
+        return NAMES.get(sql);
+    }
+
+    /** Registered names, in registration order. */
+    public static synchronized Map<String, String> all() {
+        return new LinkedHashMap<>(SQL);
+    }
+
+    /** One line per registered statement that has been prepared, then the pool total. */
+    public static String report() {
+        StatementCache.Stats stats = Database.statementCacheStats();
+        StringBuilder sb = new StringBuilder("Prepared statement cache\n");
+        for (Map.Entry<String, String> e : all().entrySet()) {
+            StatementCache.Stats s = stats.forSql(e.getValue());
+            if (s != null) {
+                sb.append(String.format("  %-28s %s%n", e.getKey(), s));
+            }
+        }
+        sb.append(String.format("  %-28s %s%n", "(all statements)", stats));
+        return sb.toString();
+    }
+}
@@ -33,6 +33,17 @@ public class City {
         return nameOfCity;
     }
 
+    /** Equal when the city_id matches; the name is not compared. */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof City && ((City) o).cityId == cityId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(cityId);
+    }
+
     /**
      * Returns the city's name when this object is printed.
      * @return nameOfCity
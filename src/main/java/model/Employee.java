@@ -2,6 +2,8 @@ package model;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 
 /**
  * Represents an employee record, including personal details,
@@ -24,10 +26,10 @@ public class Employee {
     private String race;
     /** Social Security Number. */
     private String ssn;
-    /** Date of birth (YYYY-MM-DD). */
-    private String DOB;
-    /** Hire date (YYYY-MM-DD). */
-    private String HireDate;
+    /** Date of birth. */
+    private LocalDate DOB;
+    /** Hire date. */
+    private LocalDate HireDate;
     /** Current salary. */
     private double Salary;
     /** Job title (from job_titles table). */
@@ -42,6 +44,10 @@ public class Employee {
     private int state_id;
     /** ZIP code. */
     private String zip;
+    /** Version of the employees row as loaded; bumped by every write. */
+    private int version;
+    /** Version of the address row as loaded, or -1 if there was none. */
+    private int addressVersion = -1;
 
     /**
      * Constructs an Employee with all fields.
@@ -54,8 +60,8 @@ public class Employee {
      * @param gender         Gender.
      * @param race           Race/ethnicity.
      * @param ssn            Social Security Number.
-     * @param DOB            Date of birth.
-     * @param HireDate       Hire date.
+     * @param DOB            Date of birth (YYYY-MM-DD; null or anything else = none).
+     * @param HireDate       Hire date (YYYY-MM-DD; null or anything else = none).
      * @param Salary         Salary.
      * @param job_title      Job title.
      * @param divisionName   Division name.
@@ -89,8 +95,8 @@ public class Employee {
         this.gender        = gender;
         this.race          = race;
         this.ssn           = ssn;
-        this.DOB           = DOB;
-        this.HireDate      = HireDate;
+        this.DOB           = parseDateOrNull(DOB);
+        this.HireDate      = parseDateOrNull(HireDate);
         this.Salary        = Salary;
         this.job_title     = job_title;
         this.divisionName  = divisionName;
@@ -100,6 +106,22 @@ public class Employee {
         this.zip           = zip;
     }
 
+    /**
+     * Copy constructor, used to keep a pristine copy of a loaded record
+     * alongside the one being edited.
+     * @param other employee to copy
+     */
+    public Employee(Employee other) {
+        this(other.empid, other.Fname, other.Lname, other.email, other.phone_number,
+             other.gender, other.race, other.ssn, null, null, other.Salary,
+             other.job_title, other.divisionName, other.street, other.city_id,
+             other.state_id, other.zip);
+        this.DOB            = other.DOB;
+        this.HireDate       = other.HireDate;
+        this.version        = other.version;
+        this.addressVersion = other.addressVersion;
+    }
+
     // ── Getters & setters ─────────────────────────────────────────────────────────
 
     /** @return employee ID. */
@@ -140,15 +162,23 @@ public class Employee {
     /** @param ssn new Social Security Number. */
     public void setSsn(String ssn) { this.ssn = ssn; }
 
-    /** @return date of birth. */
-    public String getDOB() { return DOB; }
-    /** @param DOB new date of birth. */
-    public void setDOB(String DOB) { this.DOB = DOB; }
+    /** @return date of birth as YYYY-MM-DD, or null. */
+    public String getDOB() { return DOB == null ? null : DOB.toString(); }
+    /** @param DOB new date of birth, YYYY-MM-DD (blank = none); other text throws DateTimeParseException. */
+    public void setDOB(String DOB) { this.DOB = parseDate(DOB); }
+    /** @return date of birth, or null. */
+    public LocalDate getDateOfBirth() { return DOB; }
+    /** @param dob new date of birth. */
+    public void setDateOfBirth(LocalDate dob) { this.DOB = dob; }
 
-    /** @return hire date. */
-    public String getHireDate() { return HireDate; }
+    /** @return hire date as YYYY-MM-DD, or null. */
+    public String getHireDate() { return HireDate == null ? null : HireDate.toString(); }
+    /** @param hireDate new hire date, YYYY-MM-DD (blank = none); other text throws DateTimeParseException. */
+    public void setHireDate(String hireDate) { this.HireDate = parseDate(hireDate); }
+    /** @return hire date, or null. */
+    public LocalDate getDateHired() { return HireDate; }
     /** @param hireDate new hire date. */
-    public void setHireDate(String hireDate) { this.HireDate = hireDate; }
+    public void setDateHired(LocalDate hireDate) { this.HireDate = hireDate; }
 
     /** @return salary. */
     public double getSalary() { return Salary; }
@@ -180,6 +210,16 @@ public class Employee {
     /** @param zip new ZIP code. */
     public void setZip(String zip) { this.zip = zip; }
 
+    /** @return employees row version this copy was loaded at. */
+    public int getVersion() { return version; }
+    /** @param version employees row version. */
+    public void setVersion(int version) { this.version = version; }
+
+    /** @return address row version this copy was loaded at (-1 = no address row). */
+    public int getAddressVersion() { return addressVersion; }
+    /** @param addressVersion address row version (-1 = no address row). */
+    public void setAddressVersion(int addressVersion) { this.addressVersion = addressVersion; }
+
     // ── toString ────────────────────────────────────────────────────────────────
 
     /**
@@ -212,29 +252,27 @@ public class Employee {
 
     /**
      * Creates an Employee instance from the current row of a ResultSet.
+     * Resolves the columns anew on every call; to map many rows, create
+     * one {@link EmployeeRowMapper} for the ResultSet instead.
      * @param rs JDBC ResultSet positioned at a valid row
      * @return a populated Employee object
-     * @throws SQLException if any column is missing or type mismatches
+     * @throws SQLException if the empid column is missing or a type mismatches
      */
     public static Employee fromResultSet(ResultSet rs) throws SQLException {
-        return new Employee(
-            rs.getInt("empid"),
-            rs.getString("Fname"),
-            rs.getString("Lname"),
-            rs.getString("email"),
-            rs.getString("phone_number"),
-            rs.getString("gender"),
-            rs.getString("race"),
-            rs.getString("SSN"),
-            rs.getString("DOB"),
-            rs.getString("HireDate"),
-            rs.getDouble("Salary"),
-            rs.getString("job_title"),
-            rs.getString("division_name"),
-            rs.getString("street"),
-            rs.getInt("city_id"),
-            rs.getInt("state_id"),
-            rs.getString("zip")
-        );
+        return EmployeeRowMapper.forResultSet(rs).map(rs);
+    }
+
+    /** YYYY-MM-DD to a date; null or blank to null. */
+    private static LocalDate parseDate(String s) {
+        return s == null || s.isBlank() ? null : LocalDate.parse(s.trim());
+    }
+
+    /** As {@link #parseDate}, but text that is not a date is also null. */
+    private static LocalDate parseDateOrNull(String s) {
+        try {
+            return parseDate(s);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The editable columns of an employee record, with the table each one
+ * lives in and how to read/write it on an {@link Employee}.
+ */
+public enum EmployeeField {
+    FNAME       ("employees", "Fname",        Employee::getFname,        (e, v) -> e.setFname((String) v)),
+    LNAME       ("employees", "Lname",        Employee::getLname,        (e, v) -> e.setLname((String) v)),
+    EMAIL       ("employees", "email",        Employee::getEmail,        (e, v) -> e.setEmail((String) v)),
+    PHONE_NUMBER("employees", "phone_number", Employee::getPhone_number, (e, v) -> e.setPhone_number((String) v)),
+    GENDER      ("employees", "gender",       Employee::getGender,       (e, v) -> e.setGender((String) v)),
+    RACE        ("employees", "race",         Employee::getRace,         (e, v) -> e.setRace((String) v)),
+    SSN         ("employees", "SSN",          Employee::getSsn,          (e, v) -> e.setSsn((String) v)),
+    DOB         ("employees", "DOB",          Employee::getDOB,          (e, v) -> e.setDOB((String) v)),
+    HIRE_DATE   ("employees", "HireDate",     Employee::getHireDate,     (e, v) -> e.setHireDate((String) v)),
+    SALARY      ("employees", "Salary",       Employee::getSalary,       (e, v) -> e.setSalary((Double) v)),
+    STREET      ("address",   "street",       Employee::getStreet,       (e, v) -> e.setStreet((String) v)),
+    CITY_ID     ("address",   "city_id",      Employee::getCity_id,      (e, v) -> e.setCity_id((Integer) v)),
+    STATE_ID    ("address",   "state_id",     Employee::getState_id,     (e, v) -> e.setState_id((Integer) v)),
+    ZIP         ("address",   "zip",          Employee::getZip,          (e, v) -> e.setZip((String) v));
+
+    /** Table name: "employees" or "address". */
+    private final String table;
+    /** Column name within that table. */
+    private final String column;
+    private final Function<Employee, Object> getter;
+    private final BiConsumer<Employee, Object> setter;
+
+    EmployeeField(String table, String column,
+                  Function<Employee, Object> getter,
+                  BiConsumer<Employee, Object> setter) {
+        this.table  = table;
+        this.column = column;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /** @return the table holding this field. */
+    public String getTable() { return table; }
+
+    /** @return the column name of this field. */
+    public String getColumn() { return column; }
+
+    /** @return this field's value on {@code e} (boxed). */
+    public Object get(Employee e) { return getter.apply(e); }
+
+    /** Set this field on {@code e}; {@code value} must match the getter's type. */
+    public void set(Employee e, Object value) { setter.accept(e, value); }
+
+    /**
+     * Fields whose values differ between two copies of the same employee.
+     * @param before the copy as loaded, or null to treat every field as changed
+     * @param after  the edited copy
+     * @return changed fields in declaration order
+     */
+    public static List<EmployeeField> changed(Employee before, Employee after) {
+        List<EmployeeField> dirty = new ArrayList<>();
+        for (EmployeeField f : values()) {
+            if (before == null || !Objects.equals(f.get(before), f.get(after))) {
+                dirty.add(f);
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Three-way merge of two edits made to the same loaded record.
+     * The result starts as a copy of {@code theirs} (so it carries their row
+     * versions) and takes every field {@code mine} changed from {@code base}.
+     * @param conflicts receives the fields both sides changed to different
+     *                  values; the result holds {@code mine}'s value for them
+     * @return the merged copy
+     */
+    public static Employee merge(Employee base, Employee mine, Employee theirs,
+                                 List<EmployeeField> conflicts) {
+        Employee merged = new Employee(theirs);
+        for (EmployeeField f : changed(base, mine)) {
+            Object ours = f.get(mine);
+            if (!Objects.equals(f.get(base), f.get(theirs)) && !Objects.equals(ours, f.get(theirs))) {
+                conflicts.add(f);
+            }
+            f.set(merged, ours);
+        }
+        return merged;
+    }
+}
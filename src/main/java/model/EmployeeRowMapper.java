@@ -0,0 +1,91 @@
+package model;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Maps rows of one ResultSet to {@link Employee} or {@link EmployeeSummary}.
+ *
+ * Column labels are resolved to indexes once, when the mapper is created,
+ * so mapping a row is plain indexed getters rather than a label lookup
+ * per column per row. Dates are read as LocalDate, skipping the driver's
+ * date-to-String formatting. Create one per ResultSet, before the loop.
+ */
+public final class EmployeeRowMapper {
+    // Column indexes; 0 = not in this result
+    private final int empid, fname, lname, email, phone, gender, race, ssn, dob, hireDate, salary;
+    private final int jobTitle, divisionName, street, cityId, stateId, zip, version, addressVersion;
+
+    /** Labels recognised, in the order of the index fields. */
+    private static final String[] COLUMNS = {
+        "empid", "Fname", "Lname", "email", "phone_number", "gender", "race", "SSN",
+        "DOB", "HireDate", "Salary", "job_title", "division_name",
+        "street", "city_id", "state_id", "zip", "version", "address_version"
+    };
+
+    private EmployeeRowMapper(ResultSetMetaData md) throws SQLException {
+        int[] idx = new int[COLUMNS.length];
+        for (int i = 1; i <= md.getColumnCount(); i++) {
+            String label = md.getColumnLabel(i);
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (idx[c] == 0 && COLUMNS[c].equalsIgnoreCase(label)) {
+                    idx[c] = i;
+                    break;
+                }
+            }
+        }
+        empid = idx[0];   fname = idx[1];    lname = idx[2];    email = idx[3];
+        phone = idx[4];   gender = idx[5];   race = idx[6];     ssn = idx[7];
+        dob = idx[8];     hireDate = idx[9]; salary = idx[10];  jobTitle = idx[11];
+        divisionName = idx[12]; street = idx[13]; cityId = idx[14]; stateId = idx[15];
+        zip = idx[16];    version = idx[17]; addressVersion = idx[18];
+        if (empid == 0) throw new SQLException("Result has no empid column");
+    }
+
+    /** A mapper for {@code rs}'s columns; any of them but empid may be absent. */
+    public static EmployeeRowMapper forResultSet(ResultSet rs) throws SQLException {
+        return new EmployeeRowMapper(rs.getMetaData());
+    }
+
+    /** The current row as a full Employee; absent columns are left null / 0. */
+    public Employee map(ResultSet rs) throws SQLException {
+        Employee emp = new Employee(
+            rs.getInt(empid),
+            string(rs, fname), string(rs, lname), string(rs, email), string(rs, phone),
+            string(rs, gender), string(rs, race), string(rs, ssn),
+            null, null,
+            salary == 0 ? 0 : rs.getDouble(salary),
+            string(rs, jobTitle), string(rs, divisionName), string(rs, street),
+            cityId == 0 ? 0 : rs.getInt(cityId),
+            stateId == 0 ? 0 : rs.getInt(stateId),
+            string(rs, zip));
+        emp.setDateOfBirth(date(rs, dob));
+        emp.setDateHired(date(rs, hireDate));
+        if (version != 0) emp.setVersion(rs.getInt(version));
+        if (addressVersion != 0) {
+            int v = rs.getInt(addressVersion);
+            emp.setAddressVersion(rs.wasNull() ? -1 : v);
+        }
+        return emp;
+    }
+
+    /** The current row as a list-screen {@link EmployeeSummary}. */
+    public EmployeeSummary mapSummary(ResultSet rs) throws SQLException {
+        return new EmployeeSummary(
+            rs.getInt(empid),
+            string(rs, fname), string(rs, lname), string(rs, email), string(rs, phone),
+            date(rs, dob), date(rs, hireDate),
+            salary == 0 ? 0 : rs.getDouble(salary),
+            string(rs, jobTitle), string(rs, divisionName));
+    }
+
+    private static String string(ResultSet rs, int col) throws SQLException {
+        return col == 0 ? null : rs.getString(col);
+    }
+
+    private static LocalDate date(ResultSet rs, int col) throws SQLException {
+        return col == 0 ? null : rs.getObject(col, LocalDate.class);
+    }
+}
@@ -0,0 +1,62 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only subset of an employee for list screens: the columns the
+ * search results table shows, without SSN, demographics, address or row
+ * versions. Loaded by a query that skips the address join, and about half
+ * the size of a full {@link Employee}; load the full record to edit.
+ */
+public final class EmployeeSummary {
+    private final int empid;
+    private final String Fname;
+    private final String Lname;
+    private final String email;
+    private final String phone_number;
+    private final LocalDate DOB;
+    private final LocalDate HireDate;
+    private final double Salary;
+    private final String job_title;
+    private final String divisionName;
+
+    public EmployeeSummary(int empid, String Fname, String Lname, String email, String phone_number,
+                           LocalDate DOB, LocalDate HireDate, double Salary,
+                           String job_title, String divisionName) {
+        this.empid        = empid;
+        this.Fname        = Fname;
+        this.Lname        = Lname;
+        this.email        = email;
+        this.phone_number = phone_number;
+        this.DOB          = DOB;
+        this.HireDate     = HireDate;
+        this.Salary       = Salary;
+        this.job_title    = job_title;
+        this.divisionName = divisionName;
+    }
+
+    /** The list-screen fields of a full record. */
+    public static EmployeeSummary of(Employee e) {
+        return new EmployeeSummary(e.getEmpid(), e.getFname(), e.getLname(), e.getEmail(),
+            e.getPhone_number(), e.getDateOfBirth(), e.getDateHired(), e.getSalary(),
+            e.getJob_title(), e.getDivisionName());
+    }
+
+    public int getEmpid() { return empid; }
+    public String getFname() { return Fname; }
+    public String getLname() { return Lname; }
+    public String getEmail() { return email; }
+    public String getPhone_number() { return phone_number; }
+    /** @return date of birth, or null. */
+    public LocalDate getDateOfBirth() { return DOB; }
+    /** @return hire date, or null. */
+    public LocalDate getDateHired() { return HireDate; }
+    public double getSalary() { return Salary; }
+    public String getJob_title() { return job_title; }
+    public String getDivisionName() { return divisionName; }
+
+    @Override
+    public String toString() {
+        return String.format("%d %s %s (%s)", empid, Fname, Lname, job_title);
+    }
+}
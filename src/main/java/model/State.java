@@ -33,6 +33,17 @@ public class State {
         return nameOfState;
     }
 
+    /** Same state_id, same state (the reference cache may hand out a reloaded copy). */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof State && ((State) o).stateId == stateId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(stateId);
+    }
+
     /**
      * Returns the state's name when this object is printed.
      * @return nameOfState
@@ -0,0 +1,5 @@
+-- Period reports filter payroll on a pay_date range and then need only
+-- empid (to join job title / division) and earnings (to sum). With all
+-- three in one index the reports become an index range scan that never
+-- touches the table rows.
+CREATE INDEX idx_payroll_date_emp_earnings ON payroll (pay_date, empid, earnings);
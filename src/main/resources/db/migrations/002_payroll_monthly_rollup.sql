@@ -0,0 +1,23 @@
+-- Pre-aggregated payroll per month and (job title, division), so the
+-- By Job / By Div reports for closed months read a handful of group rows
+-- instead of re-summing raw payroll. 0 stands for "no job title/division".
+-- Kept current by EmployeeDAO writes; rebuild with `java PayrollRollup`.
+CREATE TABLE payroll_monthly_rollup (
+  pay_year     INT    NOT NULL,
+  pay_month    INT    NOT NULL,
+  job_title_id INT    NOT NULL,
+  div_id       INT    NOT NULL,
+  total        DOUBLE NOT NULL,
+  row_count    INT    NOT NULL,
+  PRIMARY KEY (pay_year, pay_month, job_title_id, div_id)
+);
+
+INSERT INTO payroll_monthly_rollup (pay_year, pay_month, job_title_id, div_id, total, row_count)
+SELECT YEAR(p.pay_date), MONTH(p.pay_date),
+       COALESCE(ejt.job_title_id, 0), COALESCE(ed.div_ID, 0),
+       SUM(p.earnings), COUNT(*)
+FROM payroll p
+LEFT JOIN employee_job_titles ejt ON p.empid = ejt.empid
+LEFT JOIN employee_division ed ON p.empid = ed.empid
+GROUP BY YEAR(p.pay_date), MONTH(p.pay_date),
+         COALESCE(ejt.job_title_id, 0), COALESCE(ed.div_ID, 0);
@@ -0,0 +1,3 @@
+-- SSN lookups (exact and typeahead prefix) were full scans of employees.
+-- LIKE '123-4%' is a range scan on this index.
+CREATE INDEX idx_employees_ssn ON employees (SSN);
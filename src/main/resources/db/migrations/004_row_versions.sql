@@ -0,0 +1,4 @@
+-- Optimistic locking: every write bumps version, and EmployeeDAO.saveEmployee
+-- only updates a row still at the version it was loaded at.
+ALTER TABLE employees ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE address ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- Progress of chunked bulk salary adjustments (SalaryAdjustmentJob).
+-- last_empid is advanced in the same transaction as each chunk's UPDATE,
+-- so a job resumed after a crash never raises a salary twice.
+-- Employees hired after the job started (empid > end_empid) are left alone.
+CREATE TABLE salary_adjustment_jobs (
+  job_id       INT AUTO_INCREMENT PRIMARY KEY,
+  min_salary   DOUBLE      NOT NULL,
+  max_salary   DOUBLE      NOT NULL,
+  pct          DOUBLE      NOT NULL,
+  end_empid    INT         NOT NULL,
+  last_empid   INT         NOT NULL DEFAULT 0,
+  rows_updated INT         NOT NULL DEFAULT 0,
+  status       VARCHAR(10) NOT NULL DEFAULT 'RUNNING',
+  started_at   TIMESTAMP   DEFAULT CURRENT_TIMESTAMP,
+  finished_at  TIMESTAMP   NULL
+);
@@ -0,0 +1,17 @@
+-- Who changed what: one row per field written through EmployeeDAO
+-- (and per employee raised by a bulk salary job). Appended by AuditLog's
+-- background writer; SSNs are stored masked to their last four digits.
+-- old_value is NULL where the caller did not load the row first.
+CREATE TABLE audit_log (
+  audit_id    BIGINT AUTO_INCREMENT PRIMARY KEY,
+  occurred_at TIMESTAMP(3) NOT NULL,
+  actor_role  VARCHAR(10)  NOT NULL,
+  actor_id    INT          NOT NULL,
+  action      VARCHAR(12)  NOT NULL,
+  empid       INT          NOT NULL,
+  field       VARCHAR(30)  NULL,
+  old_value   VARCHAR(255) NULL,
+  new_value   VARCHAR(255) NULL
+);
+
+CREATE INDEX idx_audit_log_empid ON audit_log (empid, occurred_at);
@@ -0,0 +1,69 @@
+-- Base schema (same tables as the README), in dependency order.
+-- Later changes live in db/migrations/ and are applied by SchemaMigrations.
+
+CREATE TABLE city (
+  city_id       INT AUTO_INCREMENT PRIMARY KEY,
+  name_of_city  VARCHAR(100)
+);
+
+CREATE TABLE state (
+  state_id       INT AUTO_INCREMENT PRIMARY KEY,
+  name_of_state  VARCHAR(100)
+);
+
+CREATE TABLE employees (
+  empid         INT AUTO_INCREMENT PRIMARY KEY,
+  Fname         VARCHAR(50),
+  Lname         VARCHAR(50),
+  email         VARCHAR(100),
+  phone_number  VARCHAR(20),
+  gender        VARCHAR(10),
+  race          VARCHAR(20),
+  SSN           VARCHAR(11),
+  DOB           DATE,
+  HireDate      DATE,
+  Salary        DOUBLE
+);
+
+CREATE TABLE address (
+  empid    INT PRIMARY KEY,
+  street   VARCHAR(100),
+  city_id  INT,
+  state_id INT,
+  zip      VARCHAR(10),
+  FOREIGN KEY(empid)    REFERENCES employees(empid),
+  FOREIGN KEY(city_id)  REFERENCES city(city_id),
+  FOREIGN KEY(state_id) REFERENCES state(state_id)
+);
+
+CREATE TABLE job_titles (
+  job_title_id INT AUTO_INCREMENT PRIMARY KEY,
+  job_title    VARCHAR(100)
+);
+
+CREATE TABLE employee_job_titles (
+  empid         INT PRIMARY KEY,
+  job_title_id  INT,
+  FOREIGN KEY(empid)        REFERENCES employees(empid),
+  FOREIGN KEY(job_title_id) REFERENCES job_titles(job_title_id)
+);
+
+CREATE TABLE division (
+  ID   INT AUTO_INCREMENT PRIMARY KEY,
+  Name VARCHAR(100)
+);
+
+CREATE TABLE employee_division (
+  empid  INT PRIMARY KEY,
+  div_ID INT,
+  FOREIGN KEY(empid)  REFERENCES employees(empid),
+  FOREIGN KEY(div_ID) REFERENCES division(ID)
+);
+
+CREATE TABLE payroll (
+  pay_id   INT AUTO_INCREMENT PRIMARY KEY,
+  empid    INT,
+  pay_date DATE,
+  earnings DOUBLE,
+  FOREIGN KEY(empid) REFERENCES employees(empid)
+);
@@ -0,0 +1,31 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks DaoMetrics' latency buckets: every value lands in a bucket whose
+ * range holds it, and bucket bounds stay within 12.5% of the value.
+ */
+public class DaoMetricsTest {
+
+    @Test
+    void testBucketsBracketTheirValues() {
+        long[] samples = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456, 999_999_999L, Long.MAX_VALUE / 3};
+        for (long v : samples) {
+            int b = DaoMetrics.Histogram.bucket(v);
+            assertTrue(b >= 0 && b < DaoMetrics.Histogram.BUCKETS, "bucket of " + v);
+            long upper = DaoMetrics.Histogram.upperBound(b);
+            assertTrue(upper >= v, v + " above its bucket's bound " + upper);
+            assertTrue(b == 0 || DaoMetrics.Histogram.upperBound(b - 1) < v, v + " belongs lower");
+            assertTrue(upper - v <= v / 8, v + " reported as " + upper);
+        }
+    }
+
+    @Test
+    void testBucketBoundsIncrease() {
+        for (int i = 1; i < DaoMetrics.Histogram.BUCKETS; i++) {
+            long bound = DaoMetrics.Histogram.upperBound(i);
+            assertTrue(bound > DaoMetrics.Histogram.upperBound(i - 1), "bucket " + i);
+            assertEquals(i, DaoMetrics.Histogram.bucket(bound));
+        }
+    }
+}
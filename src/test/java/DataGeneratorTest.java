@@ -0,0 +1,110 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks DataGenerator's LOAD DATA files (no database needed): one row per
+ * employee in every per-employee table, payroll only between hire date and
+ * the end of the period, and the same seed giving the same data. Then loads
+ * a few hundred employees into a fresh test database.
+ */
+public class DataGeneratorTest {
+
+    @Test
+    void testFilesAreConsistent(@TempDir Path dir) throws Exception {
+        YearMonth through = YearMonth.of(2024, 12);
+        DataGenerator.Summary summary = new DataGenerator(500, 2, 1, through).writeFiles(dir);
+        assertEquals(500, summary.getEmployees());
+
+        List<String> employees = Files.readAllLines(dir.resolve("employees.tsv"));
+        assertEquals(500, employees.size());
+        for (String table : List.of("address", "employee_job_titles", "employee_division")) {
+            assertEquals(500, Files.readAllLines(dir.resolve(table + ".tsv")).size(), table);
+        }
+        Map<Integer, LocalDate> hired = new HashMap<>();
+        for (String line : employees) {
+            String[] f = line.split("\t");
+            assertTrue(f[7].matches("\\d{3}-\\d{2}-\\d{4}"), "SSN " + f[7]);
+            hired.put(Integer.parseInt(f[0]), LocalDate.parse(f[9]));
+        }
+
+        List<String> payroll = Files.readAllLines(dir.resolve("payroll.tsv"));
+        assertEquals(summary.getPayrollRows(), payroll.size());
+        LocalDate first = through.minusMonths(23).atDay(1);
+        for (String line : payroll) {
+            String[] f = line.split("\t");
+            LocalDate paid = LocalDate.parse(f[1]);
+            assertFalse(paid.isBefore(first) || paid.isAfter(through.atEndOfMonth()), line);
+            assertFalse(YearMonth.from(paid).isBefore(YearMonth.from(hired.get(Integer.parseInt(f[0])))), line);
+        }
+        assertTrue(Files.readString(dir.resolve("load.sql")).contains("INTO TABLE payroll"));
+
+        Path again = Files.createDirectory(dir.resolve("again"));
+        new DataGenerator(500, 2, 1, through).writeFiles(again);
+        assertEquals(employees, Files.readAllLines(again.resolve("employees.tsv")));
+    }
+
+    @Test
+    void testLoadIntoDatabase() throws Exception {
+        TestDatabase.reset();
+        long seedPayroll = count("SELECT COUNT(*) FROM payroll");
+        YearMonth through = YearMonth.of(2024, 12);
+
+        DataGenerator.Summary summary = new DataGenerator(300, 2, 7, through).load();
+        assertEquals(300, summary.getEmployees());
+        assertEquals(21, summary.getFirstEmpid());  // after the 20 seed employees
+        for (String table : List.of("employees", "address", "employee_job_titles", "employee_division")) {
+            assertEquals(320, count("SELECT COUNT(*) FROM " + table), table);
+        }
+        assertEquals(seedPayroll + summary.getPayrollRows(), count("SELECT COUNT(*) FROM payroll"));
+
+        // Every generated row points at rows that exist
+        assertEquals(0, count("SELECT COUNT(*) FROM payroll p LEFT JOIN employees e ON p.empid = e.empid "
+                              + "WHERE e.empid IS NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM address a LEFT JOIN city c ON a.city_id = c.city_id "
+                              + "LEFT JOIN state s ON a.state_id = s.state_id "
+                              + "WHERE c.city_id IS NULL OR s.state_id IS NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM employee_job_titles ej "
+                              + "LEFT JOIN job_titles jt ON ej.job_title_id = jt.job_title_id "
+                              + "WHERE jt.job_title_id IS NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM employee_division ed LEFT JOIN division d ON ed.div_ID = d.ID "
+                              + "WHERE d.ID IS NULL"));
+
+        // The rebuilt rollup serves the same totals as summing payroll directly
+        assertTrue(PayrollRollup.rebuildAll() > 0);
+        Map<String, Double> expected = new HashMap<>();
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(
+                 "SELECT d.Name, SUM(p.earnings) FROM payroll p "
+                 + "JOIN employee_division ed ON p.empid = ed.empid JOIN division d ON ed.div_ID = d.ID "
+                 + "WHERE p.pay_date >= '2024-06-01' AND p.pay_date < '2024-07-01' GROUP BY d.Name")) {
+            while (rs.next()) expected.put(rs.getString(1), rs.getDouble(2));
+        }
+        assertFalse(expected.isEmpty());
+        Map<String, Double> report = EmployeeDAO.getTotalPayByDivision(2024, 6);
+        assertEquals(expected.keySet(), report.keySet());
+        expected.forEach((d, total) -> assertEquals(total, report.get(d), 0.01, d));
+    }
+
+    private static long count(String sql) throws SQLException {
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -2,12 +2,29 @@ import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import model.City;
+import model.Employee;
+import model.EmployeeField;
+import model.EmployeeSummary;
 import model.PayStatement;
 import model.State;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.Period;
 import java.util.*;
 
 public class EmployeeDAOTest {
 
+    @BeforeEach
+    void freshDatabase() throws Exception {
+        TestDatabase.reset();
+    }
+
     @Test
     void testAuthenticateAdmin() {
         assertEquals("admin|0",
@@ -52,18 +69,294 @@ public class EmployeeDAOTest {
         assertNotNull(single);
     }
 
+    @Test
+    void testPayStatementPagesMatchFullHistory() {
+        List<PayStatement> all = EmployeeDAO.getPayStatementHistory(0);
+        List<PayStatement> paged = new ArrayList<>();
+        List<PayStatement> page = EmployeeDAO.getPayStatementPage(0, null, 7);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            page = EmployeeDAO.getPayStatementPage(0, page.get(page.size() - 1), 7);
+        }
+        assertEquals(all.size(), paged.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getEmployeeId(), paged.get(i).getEmployeeId());
+            assertEquals(all.get(i).getPayDate(), paged.get(i).getPayDate());
+        }
+    }
+
+    @Test
+    void testNameSearchPagesMatchFullSearch() {
+        List<Employee> all = EmployeeDAO.searchByName("a");
+        List<Integer> paged = new ArrayList<>();
+        List<Employee> page = EmployeeDAO.searchByName("a", 0, 3);
+        while (!page.isEmpty()) {
+            page.forEach(e -> paged.add(e.getEmpid()));
+            page = EmployeeDAO.searchByName("a", page.get(page.size() - 1).getEmpid(), 3);
+        }
+        List<Integer> expected = new ArrayList<>();
+        all.forEach(e -> expected.add(e.getEmpid()));
+        expected.sort(null);
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void testNameSearchFollowsRename() {
+        Employee before = EmployeeDAO.getEmployee(1);
+        assertNotNull(before);
+        Employee after = new Employee(before);
+        after.setFname("Zebulon");
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(before, after));
+        List<Employee> hits = EmployeeDAO.searchByName("zebulon " + before.getLname(), 5);
+        assertFalse(hits.isEmpty());
+        assertEquals(1, hits.get(0).getEmpid());
+
+        Employee renamedBack = EmployeeDAO.getEmployee(1);
+        renamedBack.setFname(before.getFname());
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(EmployeeDAO.getEmployee(1), renamedBack));
+        assertTrue(EmployeeDAO.searchByName("Zebulon").isEmpty());
+    }
+
+    @Test
+    void testSqlNameMatchAgreesWithIndex() throws SQLException {
+        Employee e = EmployeeDAO.getEmployee(3);
+        e.setFname("Car_los%");
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(EmployeeDAO.getEmployee(3), e));
+        for (String q : List.of("%", "_", "r_l", "car_LOS%", "l%", "JOHN SM", "!")) {
+            List<Integer> sql = new ArrayList<>();
+            try (Connection conn = Database.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(
+                     "SELECT empid FROM employees e WHERE LOWER(CONCAT(e.Fname,' ',e.Lname)) LIKE ? ESCAPE '!' "
+                     + "ORDER BY empid")) {
+                ps.setString(1, EmployeeDAO.nameContains(q));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) sql.add(rs.getInt(1));
+                }
+            }
+            List<Integer> index = EmployeeDAO.searchByName(q, 0, 100).stream().map(Employee::getEmpid).toList();
+            assertEquals(sql, index, q);
+        }
+        assertEquals(List.of(3), EmployeeDAO.searchByName("_los%", 0, 100).stream().map(Employee::getEmpid).toList());
+    }
+
+    @Test
+    void testGetEmployeeIsCachedUntilWritten() {
+        Employee first = EmployeeDAO.getEmployee(1);
+        assertNotNull(first);
+        long misses = EmployeeCache.misses();
+        Employee second = EmployeeDAO.getEmployee(1);
+        assertEquals(misses, EmployeeCache.misses());
+        assertNotSame(first, second);
+        second.setEmail("changed-in-memory@example.com");
+        assertEquals(first.getEmail(), EmployeeDAO.getEmployee(1).getEmail());
+
+        Employee edited = new Employee(first);
+        edited.setPhone_number("555-0199");
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(first, edited));
+        assertEquals("555-0199", EmployeeDAO.getEmployee(1).getPhone_number());
+        assertEquals(misses + 1, EmployeeCache.misses());
+    }
+
+    @Test
+    void testGetEmployeesBatch() {
+        Map<Integer, Employee> map = EmployeeDAO.getEmployees(List.of(2, 1, 2, 999999));
+        assertEquals(List.of(2, 1), new ArrayList<>(map.keySet()));
+        assertEquals(EmployeeDAO.getEmployee(1).getSsn(), map.get(1).getSsn());
+        assertTrue(EmployeeDAO.getEmployees(List.of()).isEmpty());
+    }
+
+    @Test
+    void testSummariesMatchFullRecords() {
+        List<Employee> full = EmployeeDAO.searchByName("a", 0, 5);
+        List<EmployeeSummary> summaries = EmployeeDAO.searchSummariesByName("a", 0, 5);
+        assertEquals(full.size(), summaries.size());
+        for (int i = 0; i < full.size(); i++) {
+            Employee e = full.get(i);
+            EmployeeSummary s = summaries.get(i);
+            assertEquals(e.getEmpid(), s.getEmpid());
+            assertEquals(e.getDateOfBirth(), s.getDateOfBirth());
+            assertEquals(e.getDateHired(), s.getDateHired());
+            assertEquals(e.getJob_title(), s.getJob_title());
+        }
+        Employee one = EmployeeDAO.getEmployee(1);
+        assertEquals(one.getDOB(), one.getDateOfBirth().toString());
+        assertEquals(List.of(one.getEmpid()),
+            EmployeeDAO.searchSummariesByDOB(one.getDOB(), 0, 50).stream()
+                .map(EmployeeSummary::getEmpid).filter(id -> id == 1).toList());
+    }
+
+    @Test
+    void testPrefixSearches() {
+        Employee emp = EmployeeDAO.getEmployee(1);
+        assertNotNull(emp);
+        List<Employee> byId = EmployeeDAO.searchByIdPrefix("1", 25);
+        assertFalse(byId.isEmpty());
+        assertEquals(1, byId.get(0).getEmpid());
+        assertTrue(byId.stream().allMatch(e -> String.valueOf(e.getEmpid()).startsWith("1")));
+        assertTrue(EmployeeDAO.searchByIdPrefix("0", 25).isEmpty());
+        assertTrue(EmployeeDAO.searchByIdPrefix("9999999999", 25).isEmpty());
+        assertTrue(EmployeeDAO.searchByIdPrefix("12345678901", 25).isEmpty());
+
+        String digits = emp.getSsn().replace("-", "").substring(0, 4);
+        List<Employee> bySsn = EmployeeDAO.searchBySsnPrefix(digits, 25);
+        assertTrue(bySsn.stream().anyMatch(e -> e.getEmpid() == 1));
+    }
+
+    @Test
+    void testRepeatedQueryReusesPreparedStatement() {
+        assertNotNull(EmployeeDAO.getEmployee(1));
+        EmployeeCache.invalidate(1);  // make the second call go to the database
+        assertNotNull(EmployeeDAO.getEmployee(1));
+        StatementCache.Stats stats =
+            Database.statementCacheStats().forSql(StatementRegistry.sql("getEmployee"));
+        assertNotNull(stats);
+        assertTrue(stats.hits() >= 1);
+    }
+
+    @Test
+    void testYearPivotMatchesMonthlyReports() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        PayrollPivot pivot = PayrollPivot.byJobTitle(from, from.plusYears(1));
+        assertNotNull(pivot);
+        assertEquals(12, pivot.periodCount());
+        assertEquals("2025-03", pivot.periodLabel(2));
+        double march = EmployeeDAO.getTotalPayByJobTitle(2025, 3).values().stream()
+            .mapToDouble(Double::doubleValue).sum();
+        assertEquals(march, pivot.periodTotal(2), 0.01);
+    }
+
+    @Test
+    void testPivotFailsWhenAMonthFails() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> PayrollPivot.build(from, from.plusMonths(6), Period.ofMonths(1), (start, end) -> {
+                if (start.getMonthValue() == 4) throw new SQLException("Timed out waiting for a connection");
+                return EmployeeDAO.totalPayByDivision(start, end);
+            }));
+        assertTrue(e.getMessage().contains("2025-04-01"), e.getMessage());
+    }
+
     @Test
     void testUpdateSalariesInRange() {
         int updated = EmployeeDAO.updateSalariesInRange(50000, 60000, 1.0);
         assertTrue(updated >= 0);
     }
 
+    @Test
+    void testSalaryJobStopsAndResumes() throws SQLException {
+        // Surefire sets SALARY_JOB_BATCH_SIZE=5: the 20 seed employees take four chunks
+        Map<Integer, Double> before = salaries();
+        int jobId = SalaryAdjustmentJob.create(70000, 90000, 5.0);
+        assertTrue(jobId > 0);
+
+        int[] chunks = {0};
+        SalaryAdjustmentJob.Job stopped = SalaryAdjustmentJob.run(jobId, null, () -> chunks[0]++ >= 1);
+        assertNotNull(stopped);
+        assertFalse(stopped.isDone());
+        assertEquals(5, stopped.lastEmpid);
+        assertEquals(2, stopped.rowsUpdated);  // employees 1 and 2
+        assertTrue(SalaryAdjustmentJob.unfinished().stream().anyMatch(j -> j.jobId == jobId));
+
+        SalaryAdjustmentJob.Job done = SalaryAdjustmentJob.run(jobId, null, () -> false);
+        assertNotNull(done);
+        assertTrue(done.isDone());
+        assertEquals(done.rowsUpdated, SalaryAdjustmentJob.run(jobId, null, () -> false).rowsUpdated);
+
+        // Raised exactly once, even those still inside the band after the first raise
+        Map<Integer, Double> after = salaries();
+        int raised = 0;
+        for (Map.Entry<Integer, Double> e : before.entrySet()) {
+            double old = e.getValue();
+            boolean inBand = old >= 70000 && old <= 90000;
+            if (inBand) raised++;
+            assertEquals(inBand ? old * 1.05 : old, after.get(e.getKey()), 0.01, "empid " + e.getKey());
+        }
+        assertEquals(raised, done.rowsUpdated);
+    }
+
+    private static Map<Integer, Double> salaries() throws SQLException {
+        Map<Integer, Double> map = new TreeMap<>();
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT empid, Salary FROM employees")) {
+            while (rs.next()) map.put(rs.getInt(1), rs.getDouble(2));
+        }
+        return map;
+    }
+
     @Test
     void testUpdateSingleField() {
         boolean ok = EmployeeDAO.updateEmployee(1, "email", "new.email@example.com");
         assertTrue(ok);
     }
 
+    @Test
+    void testSalaryAndSsnChangesAreAudited() {
+        assertNotNull(EmployeeDAO.authenticateUser("admin", "admin123"));
+        Employee before = EmployeeDAO.getEmployee(1);
+        assertNotNull(before);
+        Employee after = new Employee(before);
+        after.setSalary(before.getSalary() + 1);
+        after.setSsn("987-65-4321");
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(before, after));
+        assertTrue(AuditLog.flush(5000));
+
+        List<AuditLog.Event> events = AuditLog.history(1, 2);
+        assertEquals(2, events.size());
+        for (AuditLog.Event e : events) {
+            assertEquals("admin", e.actorRole);
+            assertEquals("UPDATE", e.action);
+            if ("SSN".equals(e.field)) assertEquals("***-**-4321", e.newValue);
+            else assertEquals("Salary", e.field);
+        }
+    }
+
+    @Test
+    void testFailedSignInStopsAttributingChangesToThePreviousUser() {
+        assertNotNull(EmployeeDAO.authenticateUser("admin", "admin123"));
+        assertNull(EmployeeDAO.authenticateUser("admin", "wrong"));
+        Employee before = EmployeeDAO.getEmployee(2);
+        Employee after = new Employee(before);
+        after.setPhone_number("555-0142");
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(before, after));
+        assertTrue(AuditLog.flush(5000));
+        assertEquals("system", AuditLog.history(2, 1).get(0).actorRole);
+    }
+
+    @Test
+    void testSaveEmployeeWritesOnlyChangedFields() {
+        Employee before = EmployeeDAO.getEmployee(1);
+        assertNotNull(before);
+        Employee after = new Employee(before);
+        after.setEmail("saved.email@example.com");
+        assertEquals(List.of(EmployeeField.EMAIL), EmployeeField.changed(before, after));
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(before, after));
+        assertEquals("saved.email@example.com", EmployeeDAO.getEmployee(1).getEmail());
+    }
+
+    @Test
+    void testStaleSaveIsRejectedAndMerges() {
+        Employee base = EmployeeDAO.getEmployee(1);
+        assertNotNull(base);
+        Employee first = new Employee(base);
+        first.setPhone_number("555-0101");
+        Employee second = new Employee(base);
+        second.setEmail("second.admin@example.com");
+
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(base, first));
+        assertEquals(EmployeeDAO.SaveResult.CONFLICT, EmployeeDAO.saveEmployee(base, second));
+
+        Employee theirs = EmployeeDAO.getEmployee(1);
+        List<EmployeeField> conflicts = new ArrayList<>();
+        Employee merged = EmployeeField.merge(base, second, theirs, conflicts);
+        assertTrue(conflicts.isEmpty());
+        assertEquals(EmployeeDAO.SaveResult.SAVED, EmployeeDAO.saveEmployee(theirs, merged));
+        Employee saved = EmployeeDAO.getEmployee(1);
+        assertEquals("555-0101", saved.getPhone_number());
+        assertEquals("second.admin@example.com", saved.getEmail());
+        assertEquals(base.getVersion() + 2, saved.getVersion());
+    }
+
     @Test
     void testGetTotalPayByJobTitle() {
         Map<String, Double> map = EmployeeDAO.getTotalPayByJobTitle(2025, 1);
@@ -76,6 +369,37 @@ public class EmployeeDAOTest {
         assertNotNull(map);
     }
 
+    @Test
+    void testMonthOutOfRangeGivesEmptyTotals() {
+        assertTrue(EmployeeDAO.getTotalPayByJobTitle(2025, 13).isEmpty());
+        assertTrue(EmployeeDAO.getTotalPayByDivision(2025, 0).isEmpty());
+    }
+
+    @Test
+    void testRollupReportMatchesRebuild() throws SQLException {
+        Map<String, Double> expected = new HashMap<>();
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(
+                 "SELECT d.Name, SUM(p.earnings) FROM payroll p "
+                 + "JOIN employee_division ed ON p.empid = ed.empid "
+                 + "JOIN division d ON ed.div_ID = d.ID "
+                 + "WHERE p.pay_date >= '2025-03-01' AND p.pay_date < '2025-04-01' "
+                 + "GROUP BY d.Name")) {
+            while (rs.next()) expected.put(rs.getString(1), rs.getDouble(2));
+        }
+        assertFalse(expected.isEmpty());
+
+        assertTotalsEqual(expected, EmployeeDAO.getTotalPayByDivision(2025, 3));
+        assertTrue(PayrollRollup.rebuildAll() >= 0);
+        assertTotalsEqual(expected, EmployeeDAO.getTotalPayByDivision(2025, 3));
+    }
+
+    private static void assertTotalsEqual(Map<String, Double> expected, Map<String, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((k, v) -> assertEquals(v, actual.get(k), 0.005, k));
+    }
+
     @Test
     void testGetJobTitlesDivisionsCitiesStates() {
         assertNotNull(EmployeeDAO.getJobTitles());
@@ -84,6 +408,56 @@ public class EmployeeDAOTest {
         assertNotNull(EmployeeDAO.getStates());
     }
 
+    @Test
+    void testReferenceDataIsServedFromCache() {
+        List<City> cities = EmployeeDAO.getCities();
+        assertFalse(cities.isEmpty());
+        long misses = ReferenceDataCache.misses();
+        City first = cities.get(0);
+        assertEquals(first, EmployeeDAO.getCity(first.getCityId()));
+        assertEquals(cities, EmployeeDAO.getCities());
+        assertEquals(misses, ReferenceDataCache.misses(), "repeat lookups must not reload");
+    }
+
+    @Test
+    void testBulkImportRejectsOnlyBadRows() {
+        Map<String, String> good = new HashMap<>(Map.of(
+            "Fname", "Bulk", "Lname", "Hire", "Salary", "50000",
+            "job_title_id", "1", "div_ID", "1", "city_id", "1", "state_id", "1",
+            "DOB", "1999-09-09"));
+        Map<String, String> bad = new HashMap<>(good);
+        bad.put("Salary", "lots");
+
+        EmployeeImporter.Report report =
+            new EmployeeImporter(10).importRecords(List.of(good, bad, good));
+        assertEquals(2, report.getImported());
+        assertEquals(Set.of(2), report.getErrors().keySet());
+        for (int id : report.getNewIds()) {
+            assertTrue(EmployeeDAO.deleteEmployee(id));
+        }
+    }
+
+    @Test
+    void testBulkImportRejectsBrokenJsonEscapes() throws Exception {
+        for (String json : List.of("[{\"Fname\": \"A\\u00", "[{\"Fname\": \"A\\")) {
+            Path file = Files.createTempFile("hires", ".json");
+            try {
+                Files.writeString(file, json);
+                assertThrows(IllegalArgumentException.class, () -> EmployeeImporter.readJson(file), json);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void testEmployeeConstructorIgnoresUnparseableDates() {
+        Employee e = new Employee(0, "A", "B", null, null, null, null, null,
+                                  "04/23/1985", "2015-08-01", 0, null, null, null, 0, 0, null);
+        assertNull(e.getDOB());
+        assertEquals("2015-08-01", e.getHireDate());
+    }
+
     @Test
     void testInsertAndDelete() {
         int id = EmployeeDAO.insertEmployee(
@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks PayrollAnalytics' in-memory aggregation against totals computed
+ * row by row. Snapshots are built from arrays, so no database is needed.
+ */
+public class PayrollAnalyticsTest {
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+
+    private static PayrollAnalytics snapshot(int[][] rows, Map<Integer, Integer> jobOf) {
+        int[] empid = new int[rows.length];
+        int[] day = new int[rows.length];
+        double[] earnings = new double[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            empid[i] = rows[i][0];
+            day[i] = (int) JAN_1.plusDays(rows[i][1]).toEpochDay();
+            earnings[i] = rows[i][2];
+        }
+        return new PayrollAnalytics(empid, day, earnings, rows.length, jobOf, Map.of());
+    }
+
+    @Test
+    void testGroupsAndDateRange() {
+        // {empid, days after Jan 1, earnings}, deliberately out of date order
+        PayrollAnalytics a = snapshot(new int[][]{
+            {1, 40, 100}, {2, 0, 200}, {1, 0, 300}, {3, 31, 400}, {2, 59, 500}
+        }, Map.of(1, 10, 2, 20));
+
+        assertEquals(5, a.rowCount());
+        assertEquals(Map.of(202501, 500.0, 202502, 500.0, 202503, 500.0),
+            a.totalsById(PayrollAnalytics.GroupBy.MONTH, JAN_1, JAN_1.plusYears(1)));
+        // Employee 3 has no job title, so is left out; the range excludes March
+        assertEquals(Map.of(10, 400.0, 20, 200.0),
+            a.totalsById(PayrollAnalytics.GroupBy.JOB_TITLE, JAN_1, LocalDate.of(2025, 3, 1)));
+        assertEquals(List.of("2025-01", "2025-02"),
+            List.copyOf(a.yearToDate(PayrollAnalytics.GroupBy.MONTH, LocalDate.of(2025, 2, 28)).keySet()));
+        assertTrue(a.totalsById(PayrollAnalytics.GroupBy.EMPLOYEE, JAN_1.minusYears(1), JAN_1).isEmpty());
+    }
+
+    @Test
+    void testTopEmployees() {
+        PayrollAnalytics a = snapshot(new int[][]{
+            {1, 0, 100}, {2, 0, 700}, {3, 0, 300}, {1, 1, 500}, {4, 1, 50}
+        }, Map.of());
+        Map<Integer, Double> top = a.top(PayrollAnalytics.GroupBy.EMPLOYEE, JAN_1, JAN_1.plusDays(2), 2);
+        assertEquals(List.of(2, 1), List.copyOf(top.keySet()));
+        assertEquals(600.0, top.get(1));
+    }
+
+    @Test
+    void testParallelScanMatchesRowByRow() {
+        Random rnd = new Random(42);
+        int[][] rows = new int[300_000][];
+        Map<Integer, Double> expected = new HashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new int[]{ rnd.nextInt(500), rnd.nextInt(365), rnd.nextInt(5000) };
+            if (rows[i][1] >= 30) expected.merge(rows[i][0], (double) rows[i][2], Double::sum);
+        }
+        PayrollAnalytics a = snapshot(rows, Map.of());
+        // Whole-number earnings sum exactly whatever the chunking
+        assertEquals(expected,
+            a.totalsById(PayrollAnalytics.GroupBy.EMPLOYEE, JAN_1.plusDays(30), JAN_1.plusYears(1)));
+    }
+}
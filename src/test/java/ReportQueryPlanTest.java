@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.*;
+import java.time.LocalDate;
+
+/**
+ * Guards the period reports against regressing to a full payroll scan.
+ * Runs EXPLAIN on the report SQL and checks how the database accesses
+ * payroll: on MySQL the access type and key, on the embedded H2 test
+ * database that the plan reads payroll through the pay_date index.
+ */
+public class ReportQueryPlanTest {
+    private static final String PAY_DATE_INDEX = "idx_payroll_date_emp_earnings";
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void totalPayByJobTitleUsesPayDateRange() throws SQLException {
+        assertPayrollNotFullyScanned(EmployeeDAO.TOTAL_PAY_BY_JOB_TITLE_SQL);
+    }
+
+    @Test
+    void totalPayByDivisionUsesPayDateRange() throws SQLException {
+        assertPayrollNotFullyScanned(EmployeeDAO.TOTAL_PAY_BY_DIVISION_SQL);
+    }
+
+    private static void assertPayrollNotFullyScanned(String sql) throws SQLException {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            String product = conn.getMetaData().getDatabaseProductName().toLowerCase();
+            assumeTrue(product.contains("mysql") || product.contains("h2"),
+                "no EXPLAIN check for " + product);
+            stmt.setDate(1, Date.valueOf(LocalDate.of(2025, 3, 1)));
+            stmt.setDate(2, Date.valueOf(LocalDate.of(2025, 4, 1)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (product.contains("h2")) assertH2Plan(rs, sql);
+                else assertMySqlPlan(rs, sql);
+            }
+        }
+    }
+
+    private static void assertMySqlPlan(ResultSet rs, String sql) throws SQLException {
+        boolean sawPayroll = false;
+        while (rs.next()) {
+            if (!"p".equals(rs.getString("table"))) continue;
+            sawPayroll = true;
+            assertNotEquals("ALL", rs.getString("type"), "payroll is fully scanned: " + sql);
+            assertNotNull(rs.getString("key"), "payroll access uses no index: " + sql);
+        }
+        assertTrue(sawPayroll, "EXPLAIN output has no row for payroll");
+    }
+
+    /** H2 returns the plan as one annotated query; each table read names its index in a comment. */
+    private static void assertH2Plan(ResultSet rs, String sql) throws SQLException {
+        assertTrue(rs.next(), "EXPLAIN returned no plan");
+        String plan = rs.getString(1).toLowerCase();
+        assertTrue(plan.contains(PAY_DATE_INDEX), "payroll is not read through " + PAY_DATE_INDEX + ":\n" + plan);
+        assertFalse(plan.contains("payroll.tablescan"), "payroll is fully scanned:\n" + plan);
+    }
+}
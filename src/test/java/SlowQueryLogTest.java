@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Checks that SlowQueryLog never writes an SSN: whole ones keep their last
+ * four digits, and partial ones bound to an SSN query are starred out. Also
+ * drives queries through a 0 ms threshold and checks what gets logged.
+ */
+public class SlowQueryLogTest {
+    private static final String SQL = "SELECT empid, SSN FROM employees WHERE SSN LIKE ? ORDER BY empid";
+
+    private final List<String> lines = new ArrayList<>();
+    private Logger log;
+
+    @BeforeEach
+    void captureLog() throws Exception {
+        TestDatabase.reset();
+        log = Logger.getAnonymousLogger();
+        log.setUseParentHandlers(false);
+        log.addHandler(new Handler() {
+            @Override public void publish(LogRecord r) { lines.add(r.getMessage()); }
+            @Override public void flush() { }
+            @Override public void close() { }
+        });
+    }
+
+    @Test
+    void testSsnParametersAreMasked() {
+        assertEquals("'***-**-6789'", SlowQueryLog.show("123-45-6789", false));
+        assertEquals("'***-**-6789'", SlowQueryLog.show("123456789", true));
+        assertEquals("'***-**%'", SlowQueryLog.show("123-45%", true));
+        assertEquals("'1990'", SlowQueryLog.show("1990", false));
+        assertEquals("42", SlowQueryLog.show(42, true));
+        assertEquals("NULL", SlowQueryLog.show(null, true));
+    }
+
+    @Test
+    void testQueryIsLoggedWithPlanWhenItsResultSetCloses() throws Exception {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = wrap(conn)) {
+            ps.setString(1, "123-45%");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) { }
+            }
+            assertEquals(1, lines.size());
+        }
+        assertEquals(1, lines.size(), "closing the statement logged the query again");
+
+        String entry = lines.get(0);
+        assertTrue(entry.matches("(?s)\\d+\\.\\d ms, 2 rows on .*"), entry);
+        assertTrue(entry.contains(SQL), entry);
+        assertTrue(entry.contains("params: ['***-**%']"), entry);
+        assertTrue(entry.contains("plan:"), entry);
+        assertTrue(entry.toLowerCase().contains("idx_employees_ssn"), entry);
+    }
+
+    @Test
+    void testQueryIsLoggedWhenOnlyItsStatementCloses() throws Exception {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = wrap(conn)) {
+            ps.setString(1, "%");
+            ResultSet rs = ps.executeQuery();
+            assertTrue(rs.next());
+            assertTrue(lines.isEmpty());
+        }
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains(", 1 rows on "), lines.get(0));
+    }
+
+    private PreparedStatement wrap(Connection conn) throws Exception {
+        return (PreparedStatement) SlowQueryLog.wrap(conn.prepareStatement(SQL), SQL, conn, 0, true, log);
+    }
+}
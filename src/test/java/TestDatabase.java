@@ -0,0 +1,48 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbcx.JdbcDataSource;
+
+/**
+ * Points {@link Database} at a fresh in-memory H2 database in MySQL mode,
+ * holding the base schema, every migration and the README's sample data
+ * (db/seed.sql). Call {@link #reset} before each test so no test sees
+ * another's writes; each test JVM has its own databases, so test classes
+ * can run in parallel forks without a MySQL server.
+ *
+ * Run with {@code -DTEST_DB=env} to test the database configured in .env
+ * instead; it must already hold the README data, and is not reset.
+ */
+final class TestDatabase {
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static JdbcDataSource current;
+
+    private TestDatabase() { }
+
+    /** Switch to a newly loaded database and drop the previous one. */
+    static synchronized void reset() throws Exception {
+        if ("env".equals(System.getProperty("TEST_DB"))) return;
+
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:employeeData" + COUNTER.incrementAndGet() + ";MODE=MySQL;"
+                  + "DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        ds.setPassword("");
+        Database.setDataSource(ds);  // flushes audit events into, and closes, the old pool
+        if (current != null) {
+            try (Connection conn = current.getConnection(); Statement st = conn.createStatement()) {
+                st.execute("SHUTDOWN");
+            } catch (SQLException ignored) {
+                // already gone
+            }
+        }
+        current = ds;
+
+        try (Connection conn = Database.getConnection()) {
+            SchemaMigrations.runScript(conn, "/db/schema.sql");
+            SchemaMigrations.runScript(conn, "/db/seed.sql");
+        }
+        if (SchemaMigrations.migrate() == null) throw new IllegalStateException("Test schema migration failed");
+    }
+}